@@ -0,0 +1,184 @@
+package org.trustify.operator.benchmarks.jmh;
+
+import io.fabric8.kubernetes.api.model.LocalObjectReference;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.SecretKeySelector;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.api.reconciler.dependent.managed.DefaultManagedDependentResourceContext;
+import org.trustify.operator.Stubs;
+import org.trustify.operator.TrustifyConfig;
+import org.trustify.operator.TrustifyImagesConfig;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.cdrs.v2alpha1.TrustifySpec;
+import org.trustify.operator.services.ClusterService;
+import org.trustify.operator.services.VanillaCluster;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Trustify CRs and the CDI collaborators the benchmarks need, wired by hand since there is no container.
+ */
+public class BenchmarkFixtures {
+
+    public enum Variant {
+        MINIMAL,
+        OIDC,
+        S3
+    }
+
+    private static final Map<String, Object> CONFIG = Map.ofEntries(
+            Map.entry("defaultPvcSize", "10Gi"),
+            Map.entry("defaultRequestedCpu", "50m"),
+            Map.entry("defaultRequestedMemory", "64Mi"),
+            Map.entry("defaultLimitCpu", "250m"),
+            Map.entry("defaultLimitMemory", "256Mi"),
+            Map.entry("maxConnections", 100),
+            Map.entry("reservedConnections", 10),
+            Map.entry("uiImage", "ghcr.io/trustification/trustify-ui:latest"),
+            Map.entry("serverImage", "ghcr.io/trustification/trustd:latest"),
+            Map.entry("dbImage", "quay.io/sclorg/postgresql-15-c9s:latest"),
+            Map.entry("keycloak", "quay.io/keycloak/keycloak:latest"),
+            Map.entry("imagePullPolicy", "Always")
+    );
+
+    public static Trustify trustify(Variant variant) {
+        Trustify cr = new Trustify();
+        cr.setMetadata(new ObjectMetaBuilder()
+                .withName("trustify-" + variant.name().toLowerCase())
+                .withNamespace("benchmark")
+                .withUid("00000000-0000-0000-0000-00000000000" + variant.ordinal())
+                .withResourceVersion("1")
+                .withGeneration(1L)
+                .build()
+        );
+        cr.setSpec(switch (variant) {
+            case MINIMAL -> new TrustifySpec();
+            case OIDC -> new TrustifySpec(
+                    null,
+                    null,
+                    null,
+                    "IfNotPresent",
+                    List.of(new LocalObjectReference("registry-credentials")),
+                    2,
+                    3,
+                    2,
+                    "20Gi",
+                    new TrustifySpec.HttpSpec("server-tls"),
+                    new TrustifySpec.DatabaseSpec(
+                            true,
+                            new TrustifySpec.ExternalDatabaseSpec(
+                                    new SecretKeySelector("username", "db-credentials", false),
+                                    new SecretKeySelector("password", "db-credentials", false),
+                                    "postgresql.database.svc",
+                                    "5432",
+                                    "trustify",
+                                    5,
+                                    20,
+                                    "require"
+                            ),
+                            null,
+                            null,
+                            null
+                    ),
+                    new TrustifySpec.HostnameSpec("trustify.example.com"),
+                    new TrustifySpec.OidcSpec(
+                            true,
+                            true,
+                            new TrustifySpec.ExternalOidcSpec(
+                                    "https://sso.example.com/realms/trustify",
+                                    "frontend",
+                                    "oidc-tls"
+                            ),
+                            null
+                    ),
+                    null,
+                    new TrustifySpec.ResourcesLimitSpec("100m", "500m", "128Mi", "512Mi"),
+                    new TrustifySpec.ResourcesLimitSpec("500m", "2", "1Gi", "4Gi"),
+                    new TrustifySpec.ResourcesLimitSpec("250m", "1", "512Mi", "2Gi"),
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null
+            );
+            case S3 -> new TrustifySpec(
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    new TrustifySpec.StorageSpec(
+                            TrustifySpec.StorageCompressionType.ZSTD,
+                            TrustifySpec.StorageStrategyType.S3,
+                            null,
+                            new TrustifySpec.S3StorageSpec("eu-west-1", "trustify", "access-key", "secret-key")
+                    ),
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null
+            );
+        });
+        return cr;
+    }
+
+    public static TrustifyConfig trustifyConfig() {
+        return config(TrustifyConfig.class);
+    }
+
+    public static TrustifyImagesConfig trustifyImagesConfig() {
+        return config(TrustifyImagesConfig.class);
+    }
+
+    /**
+     * Without a {@link org.trustify.operator.controllers.ReconcileCache} in the context every configurator call
+     * renders again, which is what the benchmarks measure.
+     */
+    public static Context<Trustify> context() {
+        return Stubs.context(Map.of("managedDependentResourceContext", new DefaultManagedDependentResourceContext()));
+    }
+
+    public static ClusterService clusterService() {
+        ClusterService clusterService = new ClusterService();
+        inject(clusterService, "cluster", new VanillaCluster(null));
+        return clusterService;
+    }
+
+    public static <T> T inject(T bean, String fieldName, Object value) {
+        for (Class<?> type = bean.getClass(); type != null; type = type.getSuperclass()) {
+            try {
+                Field field = type.getDeclaredField(fieldName);
+                field.setAccessible(true);
+                field.set(bean, value);
+                return bean;
+            } catch (NoSuchFieldException e) {
+                // Declared by a superclass
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        throw new IllegalArgumentException("No field " + fieldName + " in " + bean.getClass().getName());
+    }
+
+    private static <T> T config(Class<T> type) {
+        return Stubs.stub(type, name -> name.equals("database") ? config(TrustifyConfig.DatabaseConfig.class) : CONFIG.get(name));
+    }
+}
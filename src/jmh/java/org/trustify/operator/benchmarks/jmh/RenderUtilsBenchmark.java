@@ -0,0 +1,58 @@
+package org.trustify.operator.benchmarks.jmh;
+
+import io.fabric8.kubernetes.api.model.EnvVar;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.trustify.operator.Constants;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.cdrs.v2alpha1.TrustifySpec;
+import org.trustify.operator.cdrs.v2alpha1.server.deployment.ServerDeployment;
+import org.trustify.operator.utils.CRDUtils;
+import org.trustify.operator.utils.OptionMapper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Helpers every dependent goes through while rendering or matching its desired state.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RenderUtilsBenchmark {
+
+    @Param({"MINIMAL", "OIDC", "S3"})
+    BenchmarkFixtures.Variant variant;
+
+    Trustify cr;
+
+    @Setup
+    public void setup() {
+        cr = BenchmarkFixtures.trustify(variant);
+    }
+
+    @Benchmark
+    public List<EnvVar> mapOption() {
+        return new OptionMapper<>(cr.getSpec())
+                .mapOption("TRUSTD_IMAGE_PULL_POLICY", TrustifySpec::imagePullPolicy)
+                .mapOption("TRUSTD_SERVER_INSTANCES", TrustifySpec::serverInstances)
+                .mapOption("TRUSTD_IMPORTER_INSTANCES", TrustifySpec::importerInstances)
+                .mapOption("TRUSTD_WORKDIR_SIZE", TrustifySpec::importerWorkdirPvcSize)
+                .mapOption("RUST_LOG", "info")
+                .getEnvVars();
+    }
+
+    @Benchmark
+    public ObjectMetaBuilder metadataBuilder() {
+        return Constants.metadataBuilder.apply(new Constants.Resource(ServerDeployment.getDeploymentName(cr), ServerDeployment.LABEL_SELECTOR, cr));
+    }
+
+    @Benchmark
+    public Map<String, String> getLabelsFromString() {
+        return CRDUtils.getLabelsFromString(ServerDeployment.LABEL_SELECTOR);
+    }
+}
@@ -0,0 +1,47 @@
+package org.trustify.operator.cdrs.v2alpha1;
+
+import org.openjdk.jmh.annotations.*;
+import org.trustify.operator.benchmarks.jmh.BenchmarkFixtures;
+import org.trustify.operator.controllers.ResourceConfigurator;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TrustifyConfigurationBenchmark {
+
+    @Param({"MINIMAL", "OIDC", "S3"})
+    BenchmarkFixtures.Variant variant;
+
+    Trustify cr;
+    TrustifyConfiguration configuration;
+
+    @Setup
+    public void setup() {
+        cr = BenchmarkFixtures.trustify(variant);
+        configuration = new TrustifyConfiguration();
+    }
+
+    @Benchmark
+    public ResourceConfigurator.Config configureDatabase() {
+        ResourceConfigurator.Config config = newConfig();
+        configuration.configureDatabase(config, cr);
+        return config;
+    }
+
+    @Benchmark
+    public ResourceConfigurator.Config configureStorage() {
+        ResourceConfigurator.Config config = newConfig();
+        configuration.configureStorage(config, cr);
+        return config;
+    }
+
+    private static ResourceConfigurator.Config newConfig() {
+        return new ResourceConfigurator.Config("image", "Always", new ArrayList<>(), null, new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+    }
+}
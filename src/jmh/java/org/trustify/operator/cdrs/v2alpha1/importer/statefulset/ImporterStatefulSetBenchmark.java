@@ -0,0 +1,63 @@
+package org.trustify.operator.cdrs.v2alpha1.importer.statefulset;
+
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.dependent.Matcher;
+import org.openjdk.jmh.annotations.*;
+import org.trustify.operator.benchmarks.jmh.BenchmarkFixtures;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.controllers.PodTemplateHashCache;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImporterStatefulSetBenchmark {
+
+    @Param({"MINIMAL", "OIDC", "S3"})
+    BenchmarkFixtures.Variant variant;
+
+    Trustify cr;
+    Context<Trustify> context;
+    ImporterStatefulSet importerStatefulSet;
+    StatefulSet actual;
+
+    @Setup
+    public void setup() {
+        cr = BenchmarkFixtures.trustify(variant);
+        context = BenchmarkFixtures.context();
+
+        ImporterStatefulSetConfigurator configurator = new ImporterStatefulSetConfigurator();
+        configurator.trustifyConfig = BenchmarkFixtures.trustifyConfig();
+        configurator.trustifyImagesConfig = BenchmarkFixtures.trustifyImagesConfig();
+
+        importerStatefulSet = new ImporterStatefulSet();
+        importerStatefulSet.trustifyConfig = BenchmarkFixtures.trustifyConfig();
+        importerStatefulSet.importerConfigurator = configurator;
+        importerStatefulSet.podTemplateHashCache = new PodTemplateHashCache();
+
+        actual = importerStatefulSet.desired(cr, context);
+        // The live template is compared once per resourceVersion
+        actual.getMetadata().setResourceVersion("1");
+    }
+
+    @Benchmark
+    public StatefulSet desired() {
+        return importerStatefulSet.desired(cr, context);
+    }
+
+    @Benchmark
+    public Matcher.Result<StatefulSet> matchCached() {
+        return importerStatefulSet.match(actual, cr, context);
+    }
+
+    @Benchmark
+    public Matcher.Result<StatefulSet> matchUncached() {
+        importerStatefulSet.podTemplateHashCache.evict(cr);
+        return importerStatefulSet.match(actual, cr, context);
+    }
+}
@@ -0,0 +1,76 @@
+package org.trustify.operator.cdrs.v2alpha1.server.deployment;
+
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.dependent.Matcher;
+import org.openjdk.jmh.annotations.*;
+import org.trustify.operator.benchmarks.jmh.BenchmarkFixtures;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.cdrs.v2alpha1.server.utils.ServerUtils;
+import org.trustify.operator.controllers.PodTemplateHashCache;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering the server Deployment, and matching it against an up-to-date Deployment with the desired hash cached
+ * (the steady state) and evicted (after an operator restart or a spec change).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServerDeploymentBenchmark {
+
+    @Param({"MINIMAL", "OIDC", "S3"})
+    BenchmarkFixtures.Variant variant;
+
+    Trustify cr;
+    Context<Trustify> context;
+    ServerDeployment serverDeployment;
+    Deployment actual;
+
+    @Setup
+    public void setup() {
+        cr = BenchmarkFixtures.trustify(variant);
+        context = BenchmarkFixtures.context();
+
+        ServerUtils serverUtils = BenchmarkFixtures.inject(new ServerUtils(), "clusterService", BenchmarkFixtures.clusterService());
+
+        ServerDeploymentConfigurator configurator = new ServerDeploymentConfigurator();
+        configurator.trustifyConfig = BenchmarkFixtures.trustifyConfig();
+        configurator.trustifyImagesConfig = BenchmarkFixtures.trustifyImagesConfig();
+        configurator.serverUtils = serverUtils;
+
+        serverDeployment = new ServerDeployment();
+        serverDeployment.distConfigurator = configurator;
+        serverDeployment.serverUtils = serverUtils;
+        serverDeployment.podTemplateHashCache = new PodTemplateHashCache();
+
+        actual = serverDeployment.desired(cr, context);
+        // The live template is compared once per resourceVersion
+        actual.getMetadata().setResourceVersion("1");
+    }
+
+    @Benchmark
+    public Deployment desired() {
+        return serverDeployment.desired(cr, context);
+    }
+
+    @Benchmark
+    public Matcher.Result<Deployment> matchCached() {
+        return serverDeployment.match(actual, cr, context);
+    }
+
+    @Benchmark
+    public Matcher.Result<Deployment> matchUncached() {
+        serverDeployment.podTemplateHashCache.evict(cr);
+        return serverDeployment.match(actual, cr, context);
+    }
+
+    @Benchmark
+    public String computeHash() {
+        return PodTemplateHashCache.computeHash(actual.getSpec().getTemplate());
+    }
+}
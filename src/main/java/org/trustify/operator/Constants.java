@@ -2,10 +2,12 @@ package org.trustify.operator;
 
 import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
 import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.services.ShardingService;
 import org.trustify.operator.utils.CRDUtils;
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
 public class Constants {
@@ -13,11 +15,14 @@ public class Constants {
     public static final String CRDS_VERSION = "v1alpha1";
 
     public static final String CLUSTER_SERVICE = "kubernetesCluster";
-    public static final String CONTEXT_KEYCLOAK_SERVER_SERVICE_KEY = "keycloakServerService";
-    public static final String CONTEXT_KEYCLOAK_REALM_SERVICE_KEY = "keycloakRealmService";
 
-    public static final String KEYCLOAK = "keycloak";
-    public static final String KEYCLOAK_REALM_IMPORT = "keycloakRealmImport";
+    public static final String RECONCILE_CACHE = "reconcileCache";
+
+    public static final String FIELD_MANAGER = "trustify-operator";
+    public static final String MANAGED_BY_LABEL_SELECTOR = "app.kubernetes.io/managed-by=trustify-operator";
+    // Put by the operator on the secrets it does not manage but that the CRs reference by name, e.g. TLS secrets
+    public static final String REFERENCED_LABEL = "trustify-operator/referenced";
+    public static final String REFERENCED_LABEL_SELECTOR = REFERENCED_LABEL + "=true";
 
     public record Resource(String name, String labelSelector, Trustify cr) {
     }
@@ -29,6 +34,11 @@ public class Constants {
                 "trustify-operator/cluster", Constants.TRUSTI_NAME
         );
         Map<String, String> labelSelector = CRDUtils.getLabelsFromString(resource.labelSelector);
+        // Keeps the resources in the informers of the replica watching the shard of the CR
+        Map<String, String> shardLabel = Optional.ofNullable(resource.cr.getMetadata().getLabels())
+                .map(crLabels -> crLabels.get(ShardingService.SHARD_LABEL))
+                .map(shard -> Map.of(ShardingService.SHARD_LABEL, shard))
+                .orElse(Map.of());
 
         return new ObjectMetaBuilder()
                 .withName(resource.name)
@@ -36,6 +46,7 @@ public class Constants {
                 .withAnnotations(Collections.emptyMap())
                 .addToLabels(labels)
                 .addToLabels(labelSelector)
+                .addToLabels(shardLabel)
                 .withOwnerReferences(CRDUtils.getOwnerReference(resource.cr));
     };
 
@@ -45,6 +56,7 @@ public class Constants {
     public static final String TRUSTI_SERVER_NAME = "trustify-server";
     public static final String TRUSTI_IMPORTER_NAME = "trustify-importer";
     public static final String TRUSTI_DB_NAME = "trustify-db";
+    public static final String TRUSTI_DB_POOLER_NAME = "trustify-db-pooler";
 
     public static final String KEYCLOAK_NAME = "keycloak";
     public static final String KEYCLOAK_DB_NAME = KEYCLOAK_NAME + "-db";
@@ -58,15 +70,23 @@ public class Constants {
     public static final String DB_DEPLOYMENT_SUFFIX = "-" + TRUSTI_DB_NAME + "-deployment";
     public static final String DB_SERVICE_SUFFIX = "-" + TRUSTI_DB_NAME + "-service";
 
+    public static final String DB_POOLER_DEPLOYMENT_SUFFIX = "-" + TRUSTI_DB_POOLER_NAME + "-deployment";
+    public static final String DB_POOLER_SERVICE_SUFFIX = "-" + TRUSTI_DB_POOLER_NAME + "-service";
+
     public static final String UI_DEPLOYMENT_SUFFIX = "-" + TRUSTI_UI_NAME + "-deployment";
     public static final String UI_SERVICE_SUFFIX = "-" + TRUSTI_UI_NAME + "-service";
+    public static final String UI_POD_DISRUPTION_BUDGET_SUFFIX = "-" + TRUSTI_UI_NAME + "-pdb";
 
     public static final String SERVER_CONFIG_MAP_SUFFIX = "-" + TRUSTI_SERVER_NAME + "-configmap";
     public static final String SERVER_PVC_SUFFIX = "-" + TRUSTI_SERVER_NAME + "-pvc";
     public static final String SERVER_DEPLOYMENT_SUFFIX = "-" + TRUSTI_SERVER_NAME + "-deployment";
     public static final String SERVER_SERVICE_SUFFIX = "-" + TRUSTI_SERVER_NAME + "-service";
+    public static final String SERVER_AUTOSCALER_SUFFIX = "-" + TRUSTI_SERVER_NAME + "-autoscaler";
+    public static final String SERVER_POD_DISRUPTION_BUDGET_SUFFIX = "-" + TRUSTI_SERVER_NAME + "-pdb";
+    public static final String SERVER_MIGRATION_JOB_SUFFIX = "-" + TRUSTI_SERVER_NAME + "-migration";
 
     public static final String IMPORTER_STATEFUL_SET_SUFFIX = "-" + TRUSTI_IMPORTER_NAME + "-statefulset";
+    public static final String IMPORTER_POD_DISRUPTION_BUDGET_SUFFIX = "-" + TRUSTI_IMPORTER_NAME + "-pdb";
 
     public static final String OIDC_DB_PVC_SUFFIX = "-" + KEYCLOAK_DB_NAME + "-pvc";
     public static final String OIDC_DB_SECRET_SUFFIX = "-" + KEYCLOAK_DB_NAME + "-secret";
@@ -75,9 +95,14 @@ public class Constants {
 
     public static final String INGRESS_SUFFIX = "-" + TRUSTI_NAME + "-ingress";
 
+    public static final String KEYCLOAK_SUFFIX = "-" + KEYCLOAK_NAME;
+    public static final String KEYCLOAK_REALM_IMPORT_SUFFIX = "-realm-import";
+
     //
     public static final String DB_SECRET_USERNAME = "username";
     public static final String DB_SECRET_PASSWORD = "password";
     public static final String DB_NAME = "trustify";
     public static final Integer DB_PORT = 5432;
+    public static final Integer DB_POOLER_PORT = 6432;
+    public static final Integer DB_POOLER_METRICS_PORT = 9127;
 }
@@ -3,6 +3,7 @@ package org.trustify.operator;
 import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithName;
 
+import java.time.Duration;
 import java.util.Optional;
 
 @ConfigMapping(prefix = "trustify")
@@ -23,12 +24,107 @@ public interface TrustifyConfig {
     @WithName("default-limit-memory")
     String defaultLimitMemory();
 
+    @WithName("server-side-apply")
+    boolean serverSideApply();
+
+    @WithName("sharding")
+    ShardingConfig sharding();
+
+    @WithName("reconcile-executor")
+    ReconcileExecutorConfig reconcileExecutor();
+
+    @WithName("backoff")
+    BackoffConfig backoff();
+
+    @WithName("capabilities")
+    CapabilitiesConfig capabilities();
+
+    @WithName("database")
+    DatabaseConfig database();
+
     @WithName("keycloak-operator.subscription")
     Optional<KeycloakSubscriptionConfig> keycloakSubscriptionConfig();
 
     @WithName("keycloak-operator.resources")
     Optional<KeycloakResources> keycloakResources();
 
+    interface ShardingConfig {
+        @WithName("enabled")
+        boolean enabled();
+
+        @WithName("member-id")
+        Optional<String> memberId();
+
+        @WithName("lease-duration")
+        Duration leaseDuration();
+
+        @WithName("virtual-nodes")
+        int virtualNodes();
+
+        /**
+         * Without a shard, every replica caches all the CRs and secondary resources of the watched namespaces and only
+         * drops the events of the CRs of other replicas, so the memory of each replica grows with the whole fleet. With
+         * a shard, the replica only watches the CRs labelled with it and the secondary resources they own.
+         */
+        @WithName("shard")
+        Optional<String> shard();
+    }
+
+    interface ReconcileExecutorConfig {
+        enum Mode {
+            PLATFORM,
+            VIRTUAL
+        }
+
+        @WithName("mode")
+        Mode mode();
+
+        /**
+         * Size of the platform thread pool, the JOSDK pool is kept when not set. Ignored for virtual threads.
+         */
+        @WithName("threads")
+        Optional<Integer> threads();
+    }
+
+    interface BackoffConfig {
+        @WithName("initial-delay")
+        Duration initialDelay();
+
+        @WithName("max-delay")
+        Duration maxDelay();
+
+        @WithName("multiplier")
+        double multiplier();
+
+        /**
+         * Fraction of the delay that is randomized, so that CRs waiting on the same thing do not retry in waves.
+         */
+        @WithName("jitter")
+        double jitter();
+    }
+
+    interface CapabilitiesConfig {
+        /**
+         * How often the optional APIs served by the cluster are discovered again.
+         */
+        @WithName("refresh-interval")
+        Duration refreshInterval();
+    }
+
+    interface DatabaseConfig {
+        /**
+         * max_connections of the databases whose spec does not set it.
+         */
+        @WithName("max-connections")
+        int maxConnections();
+
+        /**
+         * Connections kept out of the pools, for the superusers, the migration Job and the probes.
+         */
+        @WithName("reserved-connections")
+        int reservedConnections();
+    }
+
     interface KeycloakSubscriptionConfig {
         @WithName("namespace")
         String namespace();
@@ -15,6 +15,12 @@ public interface TrustifyImagesConfig {
     @WithName("db")
     String dbImage();
 
+    @WithName("db-pooler")
+    String dbPoolerImage();
+
+    @WithName("db-pooler-exporter")
+    String dbPoolerExporterImage();
+
     @WithName("keycloak")
     String keycloak();
 
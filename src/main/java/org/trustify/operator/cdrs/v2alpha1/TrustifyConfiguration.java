@@ -1,22 +1,109 @@
 package org.trustify.operator.cdrs.v2alpha1;
 
 import io.fabric8.kubernetes.api.model.*;
+import org.trustify.operator.Constants;
+import org.trustify.operator.cdrs.v2alpha1.server.db.DBConnectionBudget;
 import org.trustify.operator.cdrs.v2alpha1.server.db.deployment.DBDeployment;
+import org.trustify.operator.cdrs.v2alpha1.server.db.pooler.deployment.DBPoolerDeployment;
+import org.trustify.operator.cdrs.v2alpha1.server.db.pooler.service.DBPoolerService;
 import org.trustify.operator.cdrs.v2alpha1.server.db.secret.DBSecret;
 import org.trustify.operator.cdrs.v2alpha1.server.db.service.DBService;
 import org.trustify.operator.cdrs.v2alpha1.server.pvc.ServerStoragePersistentVolumeClaim;
 import org.trustify.operator.controllers.ResourceConfigurator;
+import org.trustify.operator.utils.CRDUtils;
 import org.trustify.operator.utils.OptionMapper;
 
+import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 public class TrustifyConfiguration {
 
+    public static final String DB_MIN_CONN_ENV = "TRUSTD_DB_MIN_CONN";
+    public static final String DB_MAX_CONN_ENV = "TRUSTD_DB_MAX_CONN";
+    public static final String WORKER_THREADS_ENV = "TOKIO_WORKER_THREADS";
+
+    public static final int DB_CONNECTIONS_PER_WORKER_THREAD = 4;
+
+    private static final Set<String> POOLER_ENV_VARS = Set.of("TRUSTD_DB_HOST", "TRUSTD_DB_PORT", "TRUSTD_DB_SSLMODE");
+
+    /**
+     * trustd sizes its runtime from the cores of the node, not from the CPU limit of its container. Explicit values of
+     * the runtime spec win over the pool sizes of the external database, which win over the values derived from the CPU
+     * and capped by the share of the pod in the connection budget.
+     */
+    protected void configureRuntime(ResourceConfigurator.Config config, Trustify cr, TrustifySpec.RuntimeSpec runtimeSpec, DBConnectionBudget connectionBudget) {
+        int workerThreads = getWorkerThreads(config.resourceRequirements(), runtimeSpec);
+
+        Optional<TrustifySpec.ExternalDatabaseSpec> externalDatabaseSpec = Optional.ofNullable(cr.getSpec().databaseSpec())
+                .filter(TrustifySpec.DatabaseSpec::externalDatabase)
+                .map(TrustifySpec.DatabaseSpec::externalDatabaseSpec);
+        int dbPoolMinSize = CRDUtils.getValueFromSubSpec(runtimeSpec, TrustifySpec.RuntimeSpec::dbPoolMinSize)
+                .or(() -> externalDatabaseSpec.map(TrustifySpec.ExternalDatabaseSpec::poolMinSize))
+                .orElse(workerThreads);
+        int dbPoolMaxSize = CRDUtils.getValueFromSubSpec(runtimeSpec, TrustifySpec.RuntimeSpec::dbPoolMaxSize)
+                .or(() -> externalDatabaseSpec.map(TrustifySpec.ExternalDatabaseSpec::poolMaxSize))
+                .orElse(Math.min(workerThreads * DB_CONNECTIONS_PER_WORKER_THREAD, connectionBudget.getPoolMaxSizeLimit()));
+
+        config.allEnvVars().add(new EnvVarBuilder()
+                .withName(WORKER_THREADS_ENV)
+                .withValue(String.valueOf(workerThreads))
+                .build()
+        );
+        config.allEnvVars().add(new EnvVarBuilder()
+                .withName(DB_MIN_CONN_ENV)
+                .withValue(String.valueOf(Math.min(dbPoolMinSize, dbPoolMaxSize)))
+                .build()
+        );
+        config.allEnvVars().add(new EnvVarBuilder()
+                .withName(DB_MAX_CONN_ENV)
+                .withValue(String.valueOf(dbPoolMaxSize))
+                .build()
+        );
+    }
+
+    public static Optional<Integer> getDbPoolMaxSize(ResourceConfigurator.Config config) {
+        return config.allEnvVars().stream()
+                .filter(envVar -> DB_MAX_CONN_ENV.equals(envVar.getName()))
+                .findFirst()
+                .map(envVar -> Integer.valueOf(envVar.getValue()));
+    }
+
+    public static int getWorkerThreads(ResourceRequirements resourceRequirements, TrustifySpec.RuntimeSpec runtimeSpec) {
+        return CRDUtils.getValueFromSubSpec(runtimeSpec, TrustifySpec.RuntimeSpec::workerThreads)
+                .orElseGet(() -> getAvailableCpus(resourceRequirements));
+    }
+
+    /**
+     * The CPU limit, or the request when there is no limit, rounded up to whole cores.
+     */
+    public static int getAvailableCpus(ResourceRequirements resourceRequirements) {
+        return Optional.ofNullable(resourceRequirements.getLimits())
+                .map(limits -> limits.get("cpu"))
+                .or(() -> Optional.ofNullable(resourceRequirements.getRequests()).map(requests -> requests.get("cpu")))
+                .map(cpu -> cpu.getNumericalAmount().setScale(0, RoundingMode.CEILING).intValue())
+                .map(cpus -> Math.max(1, cpus))
+                .orElse(1);
+    }
+
     protected void configureDatabase(ResourceConfigurator.Config config, Trustify cr) {
-        List<EnvVar> envVars = Optional.ofNullable(cr.getSpec().databaseSpec())
+        List<EnvVar> envVars = getDatabaseEnvVars(cr);
+        if (DBPoolerDeployment.isPoolerEnabled(cr)) {
+            envVars = getPooledDatabaseEnvVars(cr, envVars);
+        }
+
+        config.allEnvVars().addAll(envVars);
+    }
+
+    /**
+     * The settings to connect to the database itself, also used by the pooler and the migration Job.
+     */
+    public static List<EnvVar> getDatabaseEnvVars(Trustify cr) {
+        return Optional.ofNullable(cr.getSpec().databaseSpec())
                 .flatMap(databaseSpec -> {
                     if (databaseSpec.externalDatabase()) {
                         List<EnvVar> envs = new OptionMapper<>(databaseSpec.externalDatabaseSpec())
@@ -25,8 +112,6 @@ public class TrustifyConfiguration {
                                 .mapOption("TRUSTD_DB_NAME", TrustifySpec.ExternalDatabaseSpec::name)
                                 .mapOption("TRUSTD_DB_HOST", TrustifySpec.ExternalDatabaseSpec::host)
                                 .mapOption("TRUSTD_DB_PORT", TrustifySpec.ExternalDatabaseSpec::port)
-                                .mapOption("TRUSTD_DB_MIN_CONN", TrustifySpec.ExternalDatabaseSpec::poolMinSize)
-                                .mapOption("TRUSTD_DB_MAX_CONN", TrustifySpec.ExternalDatabaseSpec::poolMaxSize)
                                 .mapOption("TRUSTD_DB_SSLMODE", TrustifySpec.ExternalDatabaseSpec::sslMode)
                                 .getEnvVars();
                         return Optional.of(envs);
@@ -42,8 +127,21 @@ public class TrustifyConfiguration {
                         .mapOption("TRUSTD_DB_PORT", spec -> DBDeployment.getDatabasePort(cr))
                         .getEnvVars()
                 );
+    }
 
-        config.allEnvVars().addAll(envVars);
+    /**
+     * The pooler does not serve TLS, it is used between the pooler and the database only.
+     */
+    private static List<EnvVar> getPooledDatabaseEnvVars(Trustify cr, List<EnvVar> envVars) {
+        List<EnvVar> pooledEnvVars = envVars.stream()
+                .filter(envVar -> !POOLER_ENV_VARS.contains(envVar.getName()))
+                .collect(Collectors.toList());
+        pooledEnvVars.addAll(new OptionMapper<>(cr.getSpec())
+                .mapOption("TRUSTD_DB_HOST", spec -> DBPoolerService.getServiceHost(cr))
+                .mapOption("TRUSTD_DB_PORT", spec -> Constants.DB_POOLER_PORT)
+                .getEnvVars()
+        );
+        return pooledEnvVars;
     }
 
     protected void configureStorage(ResourceConfigurator.Config config, Trustify cr) {
@@ -66,7 +66,35 @@ public record TrustifySpec(
 
         @JsonProperty("importerResources")
         @JsonPropertyDescription("In this section you can configure resource limits settings for the Importer.")
-        ResourcesLimitSpec importerResourceLimitSpec
+        ResourcesLimitSpec importerResourceLimitSpec,
+
+        @JsonProperty("serverAutoscaling")
+        @JsonPropertyDescription("In this section you can configure a HorizontalPodAutoscaler for the Server. serverInstances is ignored while it is enabled.")
+        AutoscalingSpec serverAutoscalingSpec,
+
+        @JsonProperty("serverRollingUpdate")
+        @JsonPropertyDescription("In this section you can configure the rolling updates of the Server. With filesystem storage the Server is recreated instead, its ReadWriteOnce volume cannot be mounted by the old and the new instances at once.")
+        RollingUpdateSpec serverRollingUpdateSpec,
+
+        @JsonProperty("serverRuntime")
+        @JsonPropertyDescription("In this section you can override the thread and DB connection counts of the Server, derived from its CPU by default.")
+        RuntimeSpec serverRuntimeSpec,
+
+        @JsonProperty("importerRuntime")
+        @JsonPropertyDescription("In this section you can override the thread and DB connection counts of the Importer, derived from its CPU by default.")
+        RuntimeSpec importerRuntimeSpec,
+
+        @JsonProperty("serverAvailability")
+        @JsonPropertyDescription("In this section you can configure how the Server instances are spread across the cluster and protected from voluntary disruptions.")
+        AvailabilitySpec serverAvailabilitySpec,
+
+        @JsonProperty("uiAvailability")
+        @JsonPropertyDescription("In this section you can configure how the UI instances are spread across the cluster and protected from voluntary disruptions.")
+        AvailabilitySpec uiAvailabilitySpec,
+
+        @JsonProperty("importerAvailability")
+        @JsonPropertyDescription("In this section you can configure how the Importer instances are spread across the cluster and protected from voluntary disruptions.")
+        AvailabilitySpec importerAvailabilitySpec
 ) {
 
     public TrustifySpec() {
@@ -87,6 +115,13 @@ public record TrustifySpec(
                 null,
                 null,
                 null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
                 null
         );
     }
@@ -136,7 +171,33 @@ public record TrustifySpec(
             ExternalDatabaseSpec externalDatabaseSpec,
 
             @JsonProperty("embedded")
-            EmbeddedDatabaseSpec embeddedDatabaseSpec
+            EmbeddedDatabaseSpec embeddedDatabaseSpec,
+
+            @JsonProperty("pooler")
+            @JsonPropertyDescription("In this section you can put a PgBouncer connection pooler between the Server and Importer instances and the database.")
+            DatabasePoolerSpec databasePoolerSpec,
+
+            @JsonPropertyDescription("The max_connections of the database, shared by the connection pools of every Server and Importer instance. The embedded database is configured with it, it must match the configuration of an external database. Default is 100.")
+            Integer maxConnections
+    ) {
+    }
+
+    public record DatabasePoolerSpec(
+            @JsonPropertyDescription("Connect the Server and the Importer to the database through the pooler.")
+            boolean enabled,
+
+            @JsonPropertyDescription("Number of pooler instances. Default is 1.")
+            Integer instances,
+
+            @JsonPropertyDescription("Number of connections every pooler instance opens to the database. Default is its share of max_connections.")
+            Integer poolSize,
+
+            @JsonPropertyDescription("Number of client connections every pooler instance accepts. Default is 1000.")
+            Integer maxClientConnections,
+
+            @JsonProperty("resources")
+            @JsonPropertyDescription("In this section you can configure resource limits settings.")
+            ResourcesLimitSpec resourceLimits
     ) {
     }
 
@@ -261,6 +322,21 @@ public record TrustifySpec(
         }
     }
 
+    public enum PodAntiAffinityType {
+        NONE("none"),
+        SOFT("soft"),
+        HARD("hard");
+        private final String value;
+
+        PodAntiAffinityType(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+    }
+
     public record StorageSpec(
             @JsonPropertyDescription("Storage compression.")
             StorageCompressionType compression,
@@ -291,6 +367,72 @@ public record TrustifySpec(
     ) {
     }
 
+    public record AutoscalingSpec(
+            @JsonPropertyDescription("Enable the HorizontalPodAutoscaler.")
+            boolean enabled,
+
+            @JsonPropertyDescription("Minimum number of instances. Default is 1.")
+            Integer minReplicas,
+
+            @JsonPropertyDescription("Maximum number of instances. Default is twice the minimum.")
+            Integer maxReplicas,
+
+            @JsonPropertyDescription("Average CPU utilization of the instances, in percent of the requested CPU. Default is 80 when no other target is set.")
+            Integer targetCpuUtilization,
+
+            @JsonPropertyDescription("Average memory utilization of the instances, in percent of the requested memory.")
+            Integer targetMemoryUtilization,
+
+            @JsonPropertyDescription("Custom metrics of the instances, e.g. the request rate scraped from the infrastructure port. They must be served by a custom metrics adapter.")
+            List<PodsMetricSpec> podsMetrics
+    ) {
+    }
+
+    public record RollingUpdateSpec(
+            @JsonPropertyDescription("Number or percentage of instances created above the desired number during an update. Default is 25%.")
+            String maxSurge,
+
+            @JsonPropertyDescription("Number or percentage of instances that can be unavailable during an update. Default is 0.")
+            String maxUnavailable
+    ) {
+    }
+
+    public record PodsMetricSpec(
+            @JsonPropertyDescription("Name of the metric.")
+            String name,
+
+            @JsonPropertyDescription("Target average value of the metric across the instances, as a quantity. E.g. '100' or '500m'.")
+            String averageValue
+    ) {
+    }
+
+    public record RuntimeSpec(
+            @JsonPropertyDescription("Number of async worker threads, and of HTTP workers for the Server. Default is the CPU limit rounded up.")
+            Integer workerThreads,
+
+            @JsonPropertyDescription("The minimal size of the connection pool. Default is the number of worker threads.")
+            Integer dbPoolMinSize,
+
+            @JsonPropertyDescription("The maximum size of the connection pool. Default is four per worker thread.")
+            Integer dbPoolMaxSize
+    ) {
+    }
+
+    public record AvailabilitySpec(
+            @JsonPropertyDescription("Spread the instances evenly across zones and nodes, as long as they can be scheduled. Default is true with more than one instance.")
+            Boolean topologySpread,
+
+            @JsonPropertyDescription("Keep the instances on different nodes: SOFT prefers it, HARD requires it and leaves extra instances pending. Default is SOFT with more than one instance, NONE otherwise.")
+            PodAntiAffinityType podAntiAffinity,
+
+            @JsonPropertyDescription("Create a PodDisruptionBudget, so draining nodes evicts the instances one at a time. Default is true with more than one instance.")
+            Boolean podDisruptionBudget,
+
+            @JsonPropertyDescription("Number or percentage of instances the PodDisruptionBudget lets be evicted at once. Default is 1.")
+            String maxUnavailable
+    ) {
+    }
+
     public record ResourcesLimitSpec(
             @JsonPropertyDescription("Requested CPU.")
             String cpuRequest,
@@ -2,18 +2,34 @@ package org.trustify.operator.cdrs.v2alpha1;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 public class TrustifyStatus {
+    private Long observedGeneration;
     private List<TrustifyStatusCondition> conditions;
+    private String retryReason;
+    private Integer retryAttempts;
+    private String retryDelay;
+    private TrustifyStatusDatabaseConnections databaseConnections;
 
     public TrustifyStatus() {
         conditions = new ArrayList<>();
     }
 
+    public Long getObservedGeneration() {
+        return observedGeneration;
+    }
+
+    public void setObservedGeneration(Long observedGeneration) {
+        this.observedGeneration = observedGeneration;
+    }
+
     public List<TrustifyStatusCondition> getConditions() {
         return conditions;
     }
@@ -22,8 +38,46 @@ public class TrustifyStatus {
         this.conditions = conditions;
     }
 
+    public String getRetryReason() {
+        return retryReason;
+    }
+
+    public void setRetryReason(String retryReason) {
+        this.retryReason = retryReason;
+    }
+
+    public Integer getRetryAttempts() {
+        return retryAttempts;
+    }
+
+    public void setRetryAttempts(Integer retryAttempts) {
+        this.retryAttempts = retryAttempts;
+    }
+
+    public String getRetryDelay() {
+        return retryDelay;
+    }
+
+    public void setRetryDelay(String retryDelay) {
+        this.retryDelay = retryDelay;
+    }
+
+    public TrustifyStatusDatabaseConnections getDatabaseConnections() {
+        return databaseConnections;
+    }
+
+    public void setDatabaseConnections(TrustifyStatusDatabaseConnections databaseConnections) {
+        this.databaseConnections = databaseConnections;
+    }
+
     @JsonIgnore
     public void setCondition(TrustifyStatusCondition condition) {
+        Optional<String> lastTransitionTime = this.conditions.stream()
+                .filter(item -> item.getType().equals(condition.getType()) && Objects.equals(item.getStatus(), condition.getStatus()))
+                .findFirst()
+                .map(TrustifyStatusCondition::getLastTransitionTime);
+        condition.setLastTransitionTime(lastTransitionTime.orElseGet(() -> Instant.now().truncatedTo(ChronoUnit.SECONDS).toString()));
+
         List<TrustifyStatusCondition> conditions = this.conditions.stream()
                 .filter(item -> !item.getType().equals(condition.getType()))
                 .collect(Collectors.toList());
@@ -31,6 +85,11 @@ public class TrustifyStatus {
         this.conditions = conditions;
     }
 
+    @JsonIgnore
+    public boolean hasCondition(TrustifyStatusCondition condition) {
+        return this.conditions.stream().anyMatch(condition::equals);
+    }
+
     @JsonIgnore
     public boolean isAvailable() {
         return this.conditions.stream()
@@ -42,11 +101,16 @@ public class TrustifyStatus {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         TrustifyStatus status = (TrustifyStatus) o;
-        return Objects.equals(getConditions(), status.getConditions());
+        return Objects.equals(getObservedGeneration(), status.getObservedGeneration()) &&
+                Objects.equals(getConditions(), status.getConditions()) &&
+                Objects.equals(getRetryReason(), status.getRetryReason()) &&
+                Objects.equals(getRetryAttempts(), status.getRetryAttempts()) &&
+                Objects.equals(getRetryDelay(), status.getRetryDelay()) &&
+                Objects.equals(getDatabaseConnections(), status.getDatabaseConnections());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(getConditions());
+        return Objects.hash(getObservedGeneration(), getConditions(), getRetryReason(), getRetryAttempts(), getRetryDelay(), getDatabaseConnections());
     }
 }
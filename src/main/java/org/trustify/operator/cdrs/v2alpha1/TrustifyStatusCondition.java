@@ -10,6 +10,8 @@ public class TrustifyStatusCondition {
     public static final String SUCCESSFUL = "Successful";
     public static final String PROCESSING = "Processing";
     public static final String DEGRADED = "Degraded";
+    public static final String MIGRATION_FAILED = "MigrationFailed";
+    public static final String REALM_OUTDATED = "RealmOutdated";
 
     public enum Status {
         True,
@@ -19,6 +21,7 @@ public class TrustifyStatusCondition {
 
     private String type;
     private String status = Status.Unknown.name();
+    private String lastTransitionTime;
 
     @JsonProperty("type")
     public String getType() {
@@ -40,6 +43,16 @@ public class TrustifyStatusCondition {
         this.status = status;
     }
 
+    @JsonProperty("lastTransitionTime")
+    public String getLastTransitionTime() {
+        return lastTransitionTime;
+    }
+
+    @JsonProperty("lastTransitionTime")
+    public void setLastTransitionTime(String lastTransitionTime) {
+        this.lastTransitionTime = lastTransitionTime;
+    }
+
     public Boolean getStatus() {
         if (status == null || Status.Unknown.name().equals(status)) {
             return null;
@@ -75,6 +88,7 @@ public class TrustifyStatusCondition {
         return getClass().getSimpleName() + "{" +
                 "type='" + type + '\'' +
                 ", status=" + status +
+                ", lastTransitionTime=" + lastTransitionTime +
                 '}';
     }
 }
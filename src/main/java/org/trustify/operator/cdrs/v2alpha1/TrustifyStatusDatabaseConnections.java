@@ -0,0 +1,108 @@
+package org.trustify.operator.cdrs.v2alpha1;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Objects;
+
+/**
+ * How the connections of the database are shared by the connection pools of the Server and Importer instances.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TrustifyStatusDatabaseConnections {
+    private Integer maxConnections;
+    private Integer reservedConnections;
+    private Integer clientConnections;
+    private Integer serverReplicas;
+    private Integer serverPoolMaxSize;
+    private Integer importerReplicas;
+    private Integer importerPoolMaxSize;
+    private Integer allocatedConnections;
+
+    public Integer getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(Integer maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public Integer getReservedConnections() {
+        return reservedConnections;
+    }
+
+    public void setReservedConnections(Integer reservedConnections) {
+        this.reservedConnections = reservedConnections;
+    }
+
+    /**
+     * Connections the pools of the pods can open, those of the pooler when it is enabled.
+     */
+    public Integer getClientConnections() {
+        return clientConnections;
+    }
+
+    public void setClientConnections(Integer clientConnections) {
+        this.clientConnections = clientConnections;
+    }
+
+    public Integer getServerReplicas() {
+        return serverReplicas;
+    }
+
+    public void setServerReplicas(Integer serverReplicas) {
+        this.serverReplicas = serverReplicas;
+    }
+
+    public Integer getServerPoolMaxSize() {
+        return serverPoolMaxSize;
+    }
+
+    public void setServerPoolMaxSize(Integer serverPoolMaxSize) {
+        this.serverPoolMaxSize = serverPoolMaxSize;
+    }
+
+    public Integer getImporterReplicas() {
+        return importerReplicas;
+    }
+
+    public void setImporterReplicas(Integer importerReplicas) {
+        this.importerReplicas = importerReplicas;
+    }
+
+    public Integer getImporterPoolMaxSize() {
+        return importerPoolMaxSize;
+    }
+
+    public void setImporterPoolMaxSize(Integer importerPoolMaxSize) {
+        this.importerPoolMaxSize = importerPoolMaxSize;
+    }
+
+    public Integer getAllocatedConnections() {
+        return allocatedConnections;
+    }
+
+    public void setAllocatedConnections(Integer allocatedConnections) {
+        this.allocatedConnections = allocatedConnections;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TrustifyStatusDatabaseConnections that = (TrustifyStatusDatabaseConnections) o;
+        return Objects.equals(getMaxConnections(), that.getMaxConnections()) &&
+                Objects.equals(getReservedConnections(), that.getReservedConnections()) &&
+                Objects.equals(getClientConnections(), that.getClientConnections()) &&
+                Objects.equals(getServerReplicas(), that.getServerReplicas()) &&
+                Objects.equals(getServerPoolMaxSize(), that.getServerPoolMaxSize()) &&
+                Objects.equals(getImporterReplicas(), that.getImporterReplicas()) &&
+                Objects.equals(getImporterPoolMaxSize(), that.getImporterPoolMaxSize()) &&
+                Objects.equals(getAllocatedConnections(), that.getAllocatedConnections());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getMaxConnections(), getReservedConnections(), getClientConnections(), getServerReplicas(), getServerPoolMaxSize(),
+                getImporterReplicas(), getImporterPoolMaxSize(), getAllocatedConnections());
+    }
+}
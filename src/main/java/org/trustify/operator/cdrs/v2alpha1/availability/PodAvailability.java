@@ -0,0 +1,163 @@
+package org.trustify.operator.cdrs.v2alpha1.availability;
+
+import io.fabric8.kubernetes.api.model.Affinity;
+import io.fabric8.kubernetes.api.model.AffinityBuilder;
+import io.fabric8.kubernetes.api.model.IntOrString;
+import io.fabric8.kubernetes.api.model.LabelSelector;
+import io.fabric8.kubernetes.api.model.LabelSelectorBuilder;
+import io.fabric8.kubernetes.api.model.PodAffinityTerm;
+import io.fabric8.kubernetes.api.model.PodAffinityTermBuilder;
+import io.fabric8.kubernetes.api.model.TopologySpreadConstraint;
+import io.fabric8.kubernetes.api.model.TopologySpreadConstraintBuilder;
+import io.fabric8.kubernetes.api.model.policy.v1.PodDisruptionBudgetSpec;
+import io.fabric8.kubernetes.api.model.policy.v1.PodDisruptionBudgetSpecBuilder;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.cdrs.v2alpha1.TrustifySpec;
+import org.trustify.operator.cdrs.v2alpha1.importer.statefulset.ImporterStatefulSet;
+import org.trustify.operator.cdrs.v2alpha1.server.autoscaler.ServerHorizontalPodAutoscaler;
+import org.trustify.operator.cdrs.v2alpha1.server.deployment.ServerDeployment;
+import org.trustify.operator.cdrs.v2alpha1.ui.deployment.UIDeployment;
+import org.trustify.operator.utils.CRDUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Placement and disruption budget of the instances of a component. Everything is enabled by default once the component
+ * runs more than one instance, so scaling out adds capacity on other nodes and zones and draining a node never evicts
+ * every instance at once. A single instance keeps a pod template without affinity nor spread constraints.
+ */
+public record PodAvailability(
+        TrustifySpec.AvailabilitySpec availabilitySpec,
+        int instances,
+        Map<String, String> podSelectorLabels
+) {
+
+    public static final String ZONE_TOPOLOGY_KEY = "topology.kubernetes.io/zone";
+    public static final String HOSTNAME_TOPOLOGY_KEY = "kubernetes.io/hostname";
+
+    public static final String DEFAULT_MAX_UNAVAILABLE = "1";
+
+    public static final String INSTANCE_LABEL = "app.kubernetes.io/instance";
+
+    /**
+     * The Server is counted at its maximum number of replicas when autoscaled, the autoscaler scales it out between
+     * two reconciliations.
+     */
+    public static PodAvailability server(Trustify cr) {
+        int instances = ServerHorizontalPodAutoscaler.isAutoscalingEnabled(cr) ?
+                ServerHorizontalPodAutoscaler.getMaxReplicas(cr) :
+                Optional.ofNullable(cr.getSpec().serverInstances()).orElse(1);
+        return new PodAvailability(cr.getSpec().serverAvailabilitySpec(), instances, getPodLabels(cr, ServerDeployment.getPodSelectorLabels(cr)));
+    }
+
+    public static PodAvailability ui(Trustify cr) {
+        int instances = Optional.ofNullable(cr.getSpec().uiInstances()).orElse(1);
+        return new PodAvailability(cr.getSpec().uiAvailabilitySpec(), instances, getPodLabels(cr, UIDeployment.getPodSelectorLabels(cr)));
+    }
+
+    public static PodAvailability importer(Trustify cr) {
+        int instances = Optional.ofNullable(cr.getSpec().importerInstances()).orElse(1);
+        return new PodAvailability(cr.getSpec().importerAvailabilitySpec(), instances, getPodLabels(cr, ImporterStatefulSet.getPodSelectorLabels(cr)));
+    }
+
+    /**
+     * The selector of a workload is immutable and shared by the workloads of every CR in the namespace, the disruption
+     * budget and the placement also select the pods by the CR they belong to.
+     */
+    public static Map<String, String> getPodLabels(Trustify cr, Map<String, String> podSelectorLabels) {
+        Map<String, String> labels = new HashMap<>(podSelectorLabels);
+        labels.put(INSTANCE_LABEL, cr.getMetadata().getName());
+        return labels;
+    }
+
+    private boolean isReplicated() {
+        return instances > 1;
+    }
+
+    public boolean isTopologySpreadEnabled() {
+        return Optional.ofNullable(availabilitySpec)
+                .map(TrustifySpec.AvailabilitySpec::topologySpread)
+                .orElse(isReplicated());
+    }
+
+    public TrustifySpec.PodAntiAffinityType getPodAntiAffinity() {
+        return Optional.ofNullable(availabilitySpec)
+                .map(TrustifySpec.AvailabilitySpec::podAntiAffinity)
+                .orElse(isReplicated() ? TrustifySpec.PodAntiAffinityType.SOFT : TrustifySpec.PodAntiAffinityType.NONE);
+    }
+
+    public boolean isPodDisruptionBudgetEnabled() {
+        return Optional.ofNullable(availabilitySpec)
+                .map(TrustifySpec.AvailabilitySpec::podDisruptionBudget)
+                .orElse(isReplicated());
+    }
+
+    public IntOrString getMaxUnavailable() {
+        return Optional.ofNullable(availabilitySpec)
+                .map(TrustifySpec.AvailabilitySpec::maxUnavailable)
+                .map(CRDUtils::getIntOrString)
+                .orElse(CRDUtils.getIntOrString(DEFAULT_MAX_UNAVAILABLE));
+    }
+
+    /**
+     * Unsatisfiable spreads never leave instances pending, a cluster with a single zone or node still runs them all.
+     */
+    public List<TopologySpreadConstraint> getTopologySpreadConstraints() {
+        if (!isTopologySpreadEnabled()) {
+            return null;
+        }
+        return List.of(
+                topologySpreadConstraint(ZONE_TOPOLOGY_KEY),
+                topologySpreadConstraint(HOSTNAME_TOPOLOGY_KEY)
+        );
+    }
+
+    public Affinity getAffinity() {
+        PodAffinityTerm podAffinityTerm = new PodAffinityTermBuilder()
+                .withLabelSelector(getLabelSelector())
+                .withTopologyKey(HOSTNAME_TOPOLOGY_KEY)
+                .build();
+
+        return switch (getPodAntiAffinity()) {
+            case NONE -> null;
+            case SOFT -> new AffinityBuilder()
+                    .withNewPodAntiAffinity()
+                    .addNewPreferredDuringSchedulingIgnoredDuringExecution()
+                    .withWeight(100)
+                    .withPodAffinityTerm(podAffinityTerm)
+                    .endPreferredDuringSchedulingIgnoredDuringExecution()
+                    .endPodAntiAffinity()
+                    .build();
+            case HARD -> new AffinityBuilder()
+                    .withNewPodAntiAffinity()
+                    .withRequiredDuringSchedulingIgnoredDuringExecution(podAffinityTerm)
+                    .endPodAntiAffinity()
+                    .build();
+        };
+    }
+
+    public PodDisruptionBudgetSpec getPodDisruptionBudgetSpec() {
+        return new PodDisruptionBudgetSpecBuilder()
+                .withMaxUnavailable(getMaxUnavailable())
+                .withSelector(getLabelSelector())
+                .build();
+    }
+
+    private TopologySpreadConstraint topologySpreadConstraint(String topologyKey) {
+        return new TopologySpreadConstraintBuilder()
+                .withMaxSkew(1)
+                .withTopologyKey(topologyKey)
+                .withWhenUnsatisfiable("ScheduleAnyway")
+                .withLabelSelector(getLabelSelector())
+                .build();
+    }
+
+    private LabelSelector getLabelSelector() {
+        return new LabelSelectorBuilder()
+                .withMatchLabels(podSelectorLabels)
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package org.trustify.operator.cdrs.v2alpha1.importer.disruptionbudget;
+
+import io.fabric8.kubernetes.api.model.policy.v1.PodDisruptionBudget;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.api.reconciler.ResourceDiscriminator;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.javaoperatorsdk.operator.processing.event.source.informer.InformerEventSource;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.controllers.TrustifyReconciler;
+
+import java.util.Optional;
+
+public class ImporterPodDisruptionBudgetDiscriminator implements ResourceDiscriminator<PodDisruptionBudget, Trustify> {
+    @Override
+    public Optional<PodDisruptionBudget> distinguish(Class<PodDisruptionBudget> resource, Trustify cr, Context<Trustify> context) {
+        String podDisruptionBudgetName = ImporterPodDisruptionBudget.getPodDisruptionBudgetName(cr);
+        ResourceID resourceID = new ResourceID(podDisruptionBudgetName, cr.getMetadata().getNamespace());
+        var informerEventSource = (InformerEventSource<PodDisruptionBudget, Trustify>) context.eventSourceRetriever().getResourceEventSourceFor(PodDisruptionBudget.class, TrustifyReconciler.POD_DISRUPTION_BUDGET_EVENT_SOURCE);
+        return informerEventSource.get(resourceID);
+    }
+}
@@ -4,23 +4,26 @@ import io.fabric8.kubernetes.api.model.*;
 import io.fabric8.kubernetes.api.model.apps.*;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
 import io.javaoperatorsdk.operator.processing.dependent.Matcher;
-import io.javaoperatorsdk.operator.processing.dependent.kubernetes.CRUDKubernetesDependentResource;
 import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.trustify.operator.Constants;
 import org.trustify.operator.TrustifyConfig;
 import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.cdrs.v2alpha1.availability.PodAvailability;
 import org.trustify.operator.cdrs.v2alpha1.server.db.deployment.DBDeployment;
 import org.trustify.operator.cdrs.v2alpha1.server.deployment.ServerDeploymentConfigurator;
-import org.trustify.operator.controllers.ResourceConfigurator;
+import org.trustify.operator.controllers.PodTemplateHashCache;
+import org.trustify.operator.controllers.ReconcileCache;
+import org.trustify.operator.controllers.TrustifyDependentResource;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 @KubernetesDependent(labelSelector = ImporterStatefulSet.LABEL_SELECTOR, resourceDiscriminator = ImporterStatefulSetDiscriminator.class)
 @ApplicationScoped
-public class ImporterStatefulSet extends CRUDKubernetesDependentResource<StatefulSet, Trustify>
+public class ImporterStatefulSet extends TrustifyDependentResource<StatefulSet>
         implements Matcher<StatefulSet, Trustify> {
 
     public static final String LABEL_SELECTOR = "app.kubernetes.io/managed-by=trustify-operator,component=importer";
@@ -31,13 +34,21 @@ public class ImporterStatefulSet extends CRUDKubernetesDependentResource<Statefu
     @Inject
     ImporterStatefulSetConfigurator importerConfigurator;
 
+    @Inject
+    PodTemplateHashCache podTemplateHashCache;
+
     public ImporterStatefulSet() {
         super(StatefulSet.class);
     }
 
     @Override
     protected StatefulSet desired(Trustify cr, Context<Trustify> context) {
-        return newStatefulSet(cr, context);
+        StatefulSet statefulSet = newStatefulSet(cr, context);
+
+        String hash = podTemplateHashCache.store(getStatefulSetName(cr), cr, List.of(), statefulSet.getSpec().getTemplate());
+        statefulSet.getMetadata().getAnnotations().put(PodTemplateHashCache.DESIRED_STATE_HASH_ANNOTATION, hash);
+
+        return statefulSet;
     }
 
     @Override
@@ -47,8 +58,7 @@ public class ImporterStatefulSet extends CRUDKubernetesDependentResource<Statefu
             return Result.nonComputed(false);
         }
 
-        ResourceConfigurator.Config config = importerConfigurator.configureDeployment(cr, context);
-        boolean match = config.match(actual.getSpec().getTemplate().getSpec());
+        boolean match = podTemplateHashCache.matches(getStatefulSetName(cr), cr, List.of(), () -> desired(cr, context), actual, actual.getSpec().getTemplate());
         return Result.nonComputed(match);
     }
 
@@ -72,7 +82,7 @@ public class ImporterStatefulSet extends CRUDKubernetesDependentResource<Statefu
     }
 
     private StatefulSetSpec getStatefulSetSpec(Trustify cr, Context<Trustify> context) {
-        ServerDeploymentConfigurator.Config config = importerConfigurator.configureDeployment(cr, context);
+        ServerDeploymentConfigurator.Config config = ReconcileCache.get(context).config(importerConfigurator, cr, context);
 
         String pvcStorageSize = Optional.ofNullable(cr.getSpec().importerWorkdirPvcSize())
                 .orElse(trustifyConfig.defaultPvcSize());
@@ -111,12 +121,14 @@ public class ImporterStatefulSet extends CRUDKubernetesDependentResource<Statefu
                 )
                 .withTemplate(new PodTemplateSpecBuilder()
                         .withNewMetadata()
-                        .addToLabels(getPodSelectorLabels(cr))
+                        .withLabels(PodAvailability.getPodLabels(cr, getPodSelectorLabels(cr)))
                         .endMetadata()
                         .withSpec(new PodSpecBuilder()
                                 .withRestartPolicy("Always")
                                 .withTerminationGracePeriodSeconds(70L)
                                 .withImagePullSecrets(cr.getSpec().imagePullSecrets())
+                                .withAffinity(PodAvailability.importer(cr).getAffinity())
+                                .withTopologySpreadConstraints(PodAvailability.importer(cr).getTopologySpreadConstraints())
                                 .withContainers(new ContainerBuilder()
                                         .withName("importer")
                                         .withImage(config.image())
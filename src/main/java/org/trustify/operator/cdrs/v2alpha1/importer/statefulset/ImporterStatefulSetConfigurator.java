@@ -11,6 +11,7 @@ import org.trustify.operator.TrustifyImagesConfig;
 import org.trustify.operator.cdrs.v2alpha1.Trustify;
 import org.trustify.operator.cdrs.v2alpha1.TrustifyConfiguration;
 import org.trustify.operator.cdrs.v2alpha1.TrustifySpec;
+import org.trustify.operator.cdrs.v2alpha1.server.db.DBConnectionBudget;
 import org.trustify.operator.controllers.ResourceConfigurator;
 import org.trustify.operator.utils.CRDUtils;
 
@@ -50,6 +51,7 @@ public class ImporterStatefulSetConfigurator extends TrustifyConfiguration imple
 
         configureGeneral(config, cr);
         configureDatabase(config, cr);
+        configureRuntime(config, cr, cr.getSpec().importerRuntimeSpec(), DBConnectionBudget.of(cr, trustifyConfig));
         configureStorage(config, cr);
 
         return config;
@@ -2,20 +2,21 @@ package org.trustify.operator.cdrs.v2alpha1.ingress;
 
 import io.fabric8.kubernetes.api.model.networking.v1.*;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
-import io.javaoperatorsdk.operator.processing.dependent.kubernetes.CRUDKubernetesDependentResource;
 import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
 import jakarta.enterprise.context.ApplicationScoped;
 import org.trustify.operator.Constants;
 import org.trustify.operator.cdrs.v2alpha1.Trustify;
 import org.trustify.operator.cdrs.v2alpha1.TrustifySpec;
 import org.trustify.operator.cdrs.v2alpha1.ui.service.UIService;
+import org.trustify.operator.controllers.ReconcileCache;
+import org.trustify.operator.controllers.TrustifyDependentResource;
 import org.trustify.operator.services.ClusterService;
 
 import java.util.*;
 
 @KubernetesDependent(labelSelector = AppIngress.LABEL_SELECTOR, resourceDiscriminator = AppIngressDiscriminator.class)
 @ApplicationScoped
-public class AppIngress extends CRUDKubernetesDependentResource<Ingress, Trustify> {
+public class AppIngress extends TrustifyDependentResource<Ingress> {
 
     public static final String LABEL_SELECTOR = "app.kubernetes.io/managed-by=trustify-operator,component=ui,component-variant=https";
 
@@ -53,13 +54,13 @@ public class AppIngress extends CRUDKubernetesDependentResource<Ingress, Trustif
     }
 
     private String getHostname(Trustify cr, Context<Trustify> context) {
-        return Optional.ofNullable(cr.getSpec().hostnameSpec())
+        return ReconcileCache.get(context).computeIfAbsent(cr, ReconcileCache.HOSTNAME, () -> Optional.ofNullable(cr.getSpec().hostnameSpec())
                 .flatMap(hostnameSpec -> Optional.ofNullable(hostnameSpec.hostname()))
                 .or(() -> {
                     final var clusterService = context.managedDependentResourceContext().getMandatory(Constants.CLUSTER_SERVICE, ClusterService.class);
                     return clusterService.getCluster().getAutoGeneratedIngressHost(cr);
                 })
-                .orElse(null);
+        ).orElse(null);
     }
 
     protected Ingress newIngress(Trustify cr, Context<Trustify> context) {
@@ -0,0 +1,34 @@
+package org.trustify.operator.cdrs.v2alpha1.keycloak;
+
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.cdrs.v2alpha1.keycloak.utils.KeycloakUtils;
+import org.trustify.operator.controllers.WaitsFor;
+import org.trustify.operator.services.KeycloakServerService;
+
+import java.util.Set;
+
+/**
+ * Gate of the dependents rendering the issuer URL of the embedded Keycloak. Every other dependent makes progress while
+ * the reconciler bootstraps Keycloak.
+ */
+public abstract class KeycloakReadyPreCondition implements WaitsFor {
+
+    // Component reported by the reconciler once the Keycloak server and its realm are ready
+    public static final String KEYCLOAK = "Keycloak";
+
+    public boolean isMet(Trustify cr, Context<Trustify> context) {
+        boolean isKcRequired = KeycloakUtils.isKeycloakRequired(cr);
+        if (isKcRequired) {
+            return KeycloakServerService.getReadyInstance(cr, context).isPresent();
+        }
+
+        return true;
+    }
+
+    @Override
+    public Set<String> waitsFor() {
+        return Set.of(KEYCLOAK);
+    }
+
+}
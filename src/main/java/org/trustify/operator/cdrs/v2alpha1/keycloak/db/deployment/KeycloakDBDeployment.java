@@ -3,39 +3,49 @@ package org.trustify.operator.cdrs.v2alpha1.keycloak.db.deployment;
 import io.fabric8.kubernetes.api.model.*;
 import io.fabric8.kubernetes.api.model.apps.*;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
-import io.javaoperatorsdk.operator.processing.dependent.kubernetes.CRUDKubernetesDependentResource;
 import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.trustify.operator.Constants;
 import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.controllers.PodTemplateHashCache;
+import org.trustify.operator.controllers.ReconcileCache;
 import org.trustify.operator.controllers.ResourceConfigurator;
+import org.trustify.operator.controllers.TrustifyDependentResource;
 import org.trustify.operator.services.KeycloakServerService;
 
+import java.util.List;
 import java.util.Map;
 
 @KubernetesDependent(labelSelector = KeycloakDBDeployment.LABEL_SELECTOR, resourceDiscriminator = KeycloakDBDeploymentDiscriminator.class)
 @ApplicationScoped
-public class KeycloakDBDeployment extends CRUDKubernetesDependentResource<Deployment, Trustify> {
+public class KeycloakDBDeployment extends TrustifyDependentResource<Deployment> {
 
     public static final String LABEL_SELECTOR = "app.kubernetes.io/managed-by=trustify-operator,component=keycloak";
 
     @Inject
     KeycloakDBDeploymentConfigurator keycloakDBDeploymentConfigurator;
 
+    @Inject
+    PodTemplateHashCache podTemplateHashCache;
+
     public KeycloakDBDeployment() {
         super(Deployment.class);
     }
 
     @Override
     protected Deployment desired(Trustify cr, Context<Trustify> context) {
-        return newDeployment(cr, context);
+        Deployment deployment = newDeployment(cr, context);
+
+        String hash = podTemplateHashCache.store(getDeploymentName(cr), cr, List.of(), deployment.getSpec().getTemplate());
+        deployment.getMetadata().getAnnotations().put(PodTemplateHashCache.DESIRED_STATE_HASH_ANNOTATION, hash);
+
+        return deployment;
     }
 
     @Override
     public Result<Deployment> match(Deployment actual, Trustify cr, Context<Trustify> context) {
-        ResourceConfigurator.Config config = keycloakDBDeploymentConfigurator.configureDeployment(cr, context);
-        boolean match = config.match(actual.getSpec().getTemplate().getSpec());
+        boolean match = podTemplateHashCache.matches(getDeploymentName(cr), cr, List.of(), () -> desired(cr, context), actual, actual.getSpec().getTemplate());
         return Result.nonComputed(match);
     }
 
@@ -55,7 +65,7 @@ public class KeycloakDBDeployment extends CRUDKubernetesDependentResource<Deploy
     }
 
     private DeploymentSpec getDeploymentSpec(Trustify cr, Context<Trustify> context) {
-        ResourceConfigurator.Config config = keycloakDBDeploymentConfigurator.configureDeployment(cr, context);
+        ResourceConfigurator.Config config = ReconcileCache.get(context).config(keycloakDBDeploymentConfigurator, cr, context);
 
         return new DeploymentSpecBuilder()
                 .withStrategy(new DeploymentStrategyBuilder()
@@ -3,7 +3,6 @@ package org.trustify.operator.cdrs.v2alpha1.keycloak.db.pvc;
 import io.fabric8.kubernetes.api.model.*;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
 import io.javaoperatorsdk.operator.processing.dependent.Creator;
-import io.javaoperatorsdk.operator.processing.dependent.kubernetes.CRUDKubernetesDependentResource;
 import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -11,13 +10,14 @@ import org.trustify.operator.Constants;
 import org.trustify.operator.TrustifyConfig;
 import org.trustify.operator.cdrs.v2alpha1.Trustify;
 import org.trustify.operator.cdrs.v2alpha1.TrustifySpec;
+import org.trustify.operator.controllers.TrustifyDependentResource;
 
 import java.util.Map;
 import java.util.Optional;
 
 @KubernetesDependent(labelSelector = KeycloakDBPersistentVolumeClaim.LABEL_SELECTOR, resourceDiscriminator = KeycloakDBPersistentVolumeClaimDiscriminator.class)
 @ApplicationScoped
-public class KeycloakDBPersistentVolumeClaim extends CRUDKubernetesDependentResource<PersistentVolumeClaim, Trustify>
+public class KeycloakDBPersistentVolumeClaim extends TrustifyDependentResource<PersistentVolumeClaim>
         implements Creator<PersistentVolumeClaim, Trustify> {
 
     public static final String LABEL_SELECTOR = "app.kubernetes.io/managed-by=trustify-operator,component=keycloak";
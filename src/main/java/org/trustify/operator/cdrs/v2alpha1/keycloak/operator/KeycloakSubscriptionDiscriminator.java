@@ -0,0 +1,21 @@
+package org.trustify.operator.cdrs.v2alpha1.keycloak.operator;
+
+import io.fabric8.openshift.api.model.operatorhub.v1alpha1.Subscription;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.api.reconciler.ResourceDiscriminator;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.controllers.TrustifyReconciler;
+import org.trustify.operator.services.KeycloakOperatorService;
+import org.trustify.operator.utils.InformerUtils;
+
+import java.util.Optional;
+
+public class KeycloakSubscriptionDiscriminator implements ResourceDiscriminator<Subscription, Trustify> {
+    @Override
+    public Optional<Subscription> distinguish(Class<Subscription> resource, Trustify cr, Context<Trustify> context) {
+        ResourceID resourceID = new ResourceID(KeycloakOperatorService.SUBSCRIPTION_NAME, cr.getMetadata().getNamespace());
+        return InformerUtils.getInformerEventSource(context, Subscription.class, TrustifyReconciler.SUBSCRIPTION_EVENT_SOURCE)
+                .flatMap(informerEventSource -> informerEventSource.get(resourceID));
+    }
+}
@@ -0,0 +1,22 @@
+package org.trustify.operator.cdrs.v2alpha1.keycloak.realmimport;
+
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.api.reconciler.ResourceDiscriminator;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import org.keycloak.k8s.v2alpha1.KeycloakRealmImport;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.controllers.TrustifyReconciler;
+import org.trustify.operator.services.KeycloakRealmService;
+import org.trustify.operator.utils.InformerUtils;
+
+import java.util.Optional;
+
+public class KeycloakRealmImportDiscriminator implements ResourceDiscriminator<KeycloakRealmImport, Trustify> {
+    @Override
+    public Optional<KeycloakRealmImport> distinguish(Class<KeycloakRealmImport> resource, Trustify cr, Context<Trustify> context) {
+        String realmImportName = KeycloakRealmService.getKeycloakRealmImportName(cr);
+        ResourceID resourceID = new ResourceID(realmImportName, cr.getMetadata().getNamespace());
+        return InformerUtils.getInformerEventSource(context, KeycloakRealmImport.class, TrustifyReconciler.KEYCLOAK_REALM_IMPORT_EVENT_SOURCE)
+                .flatMap(informerEventSource -> informerEventSource.get(resourceID));
+    }
+}
@@ -0,0 +1,22 @@
+package org.trustify.operator.cdrs.v2alpha1.keycloak.server;
+
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.api.reconciler.ResourceDiscriminator;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import org.keycloak.k8s.v2alpha1.Keycloak;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.controllers.TrustifyReconciler;
+import org.trustify.operator.services.KeycloakServerService;
+import org.trustify.operator.utils.InformerUtils;
+
+import java.util.Optional;
+
+public class KeycloakServerDiscriminator implements ResourceDiscriminator<Keycloak, Trustify> {
+    @Override
+    public Optional<Keycloak> distinguish(Class<Keycloak> resource, Trustify cr, Context<Trustify> context) {
+        String keycloakName = KeycloakServerService.getKeycloakName(cr);
+        ResourceID resourceID = new ResourceID(keycloakName, cr.getMetadata().getNamespace());
+        return InformerUtils.getInformerEventSource(context, Keycloak.class, TrustifyReconciler.KEYCLOAK_EVENT_SOURCE)
+                .flatMap(informerEventSource -> informerEventSource.get(resourceID));
+    }
+}
@@ -36,9 +36,17 @@ public class KeycloakUtils {
     }
 
     public static boolean isKeycloakRealmImportReady(KeycloakRealmImport realmImportInstance) {
-        return realmImportInstance.getStatus() != null && realmImportInstance.getStatus()
+        return !hasRealmImportCondition(realmImportInstance, "HasErrors") && isKeycloakRealmImportDone(realmImportInstance);
+    }
+
+    public static boolean isKeycloakRealmImportDone(KeycloakRealmImport realmImportInstance) {
+        return hasRealmImportCondition(realmImportInstance, "Done");
+    }
+
+    private static boolean hasRealmImportCondition(KeycloakRealmImport realmImportInstance, String type) {
+        return realmImportInstance.getStatus() != null && realmImportInstance.getStatus().getConditions() != null && realmImportInstance.getStatus()
                 .getConditions().stream()
-                .anyMatch(condition -> Objects.equals(condition.getType(), "Done") && Objects.equals(condition.getStatus(), "True"));
+                .anyMatch(condition -> Objects.equals(condition.getType(), type) && Objects.equals(condition.getStatus(), "True"));
     }
 
 }
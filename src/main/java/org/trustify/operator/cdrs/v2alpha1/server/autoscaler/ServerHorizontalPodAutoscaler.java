@@ -0,0 +1,125 @@
+package org.trustify.operator.cdrs.v2alpha1.server.autoscaler;
+
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.autoscaling.v2.HorizontalPodAutoscaler;
+import io.fabric8.kubernetes.api.model.autoscaling.v2.HorizontalPodAutoscalerBuilder;
+import io.fabric8.kubernetes.api.model.autoscaling.v2.HorizontalPodAutoscalerSpec;
+import io.fabric8.kubernetes.api.model.autoscaling.v2.HorizontalPodAutoscalerSpecBuilder;
+import io.fabric8.kubernetes.api.model.autoscaling.v2.MetricSpec;
+import io.fabric8.kubernetes.api.model.autoscaling.v2.MetricSpecBuilder;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.trustify.operator.Constants;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.cdrs.v2alpha1.TrustifySpec;
+import org.trustify.operator.cdrs.v2alpha1.server.deployment.ServerDeployment;
+import org.trustify.operator.controllers.TrustifyDependentResource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@KubernetesDependent(labelSelector = ServerHorizontalPodAutoscaler.LABEL_SELECTOR, resourceDiscriminator = ServerHorizontalPodAutoscalerDiscriminator.class)
+@ApplicationScoped
+public class ServerHorizontalPodAutoscaler extends TrustifyDependentResource<HorizontalPodAutoscaler> {
+
+    public static final String LABEL_SELECTOR = "app.kubernetes.io/managed-by=trustify-operator,component=server";
+
+    public static final int DEFAULT_TARGET_CPU_UTILIZATION = 80;
+
+    public ServerHorizontalPodAutoscaler() {
+        super(HorizontalPodAutoscaler.class);
+    }
+
+    @Override
+    public HorizontalPodAutoscaler desired(Trustify cr, Context<Trustify> context) {
+        return new HorizontalPodAutoscalerBuilder()
+                .withMetadata(Constants.metadataBuilder
+                        .apply(new Constants.Resource(getAutoscalerName(cr), LABEL_SELECTOR, cr))
+                        .build()
+                )
+                .withSpec(getAutoscalerSpec(cr))
+                .build();
+    }
+
+    private HorizontalPodAutoscalerSpec getAutoscalerSpec(Trustify cr) {
+        return new HorizontalPodAutoscalerSpecBuilder()
+                .withNewScaleTargetRef()
+                .withApiVersion("apps/v1")
+                .withKind("Deployment")
+                .withName(ServerDeployment.getDeploymentName(cr))
+                .endScaleTargetRef()
+                .withMinReplicas(getMinReplicas(cr))
+                .withMaxReplicas(getMaxReplicas(cr))
+                .withMetrics(getMetrics(cr))
+                .build();
+    }
+
+    private List<MetricSpec> getMetrics(Trustify cr) {
+        TrustifySpec.AutoscalingSpec autoscalingSpec = cr.getSpec().serverAutoscalingSpec();
+
+        List<MetricSpec> metrics = new ArrayList<>();
+        Optional.ofNullable(autoscalingSpec.targetCpuUtilization())
+                .ifPresent(utilization -> metrics.add(resourceMetric("cpu", utilization)));
+        Optional.ofNullable(autoscalingSpec.targetMemoryUtilization())
+                .ifPresent(utilization -> metrics.add(resourceMetric("memory", utilization)));
+        Optional.ofNullable(autoscalingSpec.podsMetrics())
+                .orElse(List.of())
+                .forEach(podsMetric -> metrics.add(new MetricSpecBuilder()
+                        .withType("Pods")
+                        .withNewPods()
+                        .withNewMetric()
+                        .withName(podsMetric.name())
+                        .endMetric()
+                        .withNewTarget()
+                        .withType("AverageValue")
+                        .withAverageValue(new Quantity(podsMetric.averageValue()))
+                        .endTarget()
+                        .endPods()
+                        .build()
+                ));
+
+        if (metrics.isEmpty()) {
+            metrics.add(resourceMetric("cpu", DEFAULT_TARGET_CPU_UTILIZATION));
+        }
+        return metrics;
+    }
+
+    private static MetricSpec resourceMetric(String resource, int averageUtilization) {
+        return new MetricSpecBuilder()
+                .withType("Resource")
+                .withNewResource()
+                .withName(resource)
+                .withNewTarget()
+                .withType("Utilization")
+                .withAverageUtilization(averageUtilization)
+                .endTarget()
+                .endResource()
+                .build();
+    }
+
+    public static int getMinReplicas(Trustify cr) {
+        return Optional.ofNullable(cr.getSpec().serverAutoscalingSpec())
+                .map(TrustifySpec.AutoscalingSpec::minReplicas)
+                .orElse(1);
+    }
+
+    public static int getMaxReplicas(Trustify cr) {
+        int minReplicas = getMinReplicas(cr);
+        return Optional.ofNullable(cr.getSpec().serverAutoscalingSpec())
+                .map(TrustifySpec.AutoscalingSpec::maxReplicas)
+                .map(maxReplicas -> Math.max(minReplicas, maxReplicas))
+                .orElse(minReplicas * 2);
+    }
+
+    public static boolean isAutoscalingEnabled(Trustify cr) {
+        return Optional.ofNullable(cr.getSpec().serverAutoscalingSpec())
+                .map(TrustifySpec.AutoscalingSpec::enabled)
+                .orElse(false);
+    }
+
+    public static String getAutoscalerName(Trustify cr) {
+        return cr.getMetadata().getName() + Constants.SERVER_AUTOSCALER_SUFFIX;
+    }
+}
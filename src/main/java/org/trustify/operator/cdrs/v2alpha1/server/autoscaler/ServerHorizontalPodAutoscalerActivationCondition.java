@@ -0,0 +1,30 @@
+package org.trustify.operator.cdrs.v2alpha1.server.autoscaler;
+
+import io.fabric8.kubernetes.api.model.autoscaling.v2.HorizontalPodAutoscaler;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.api.reconciler.dependent.DependentResource;
+import io.javaoperatorsdk.operator.processing.dependent.workflow.Condition;
+import io.quarkus.arc.Arc;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.services.CapabilityService;
+
+/**
+ * The condition is instantiated by the operator framework, so the {@link CapabilityService} is looked up lazily.
+ */
+public class ServerHorizontalPodAutoscalerActivationCondition implements Condition<HorizontalPodAutoscaler, Trustify> {
+
+    private volatile CapabilityService capabilityService;
+
+    @Override
+    public boolean isMet(DependentResource<HorizontalPodAutoscaler, Trustify> resource, Trustify cr, Context<Trustify> context) {
+        if (!ServerHorizontalPodAutoscaler.isAutoscalingEnabled(cr)) {
+            return false;
+        }
+
+        if (capabilityService == null) {
+            capabilityService = Arc.container().instance(CapabilityService.class).get();
+        }
+        return capabilityService.supports(CapabilityService.Capability.HPA_V2);
+    }
+
+}
@@ -0,0 +1,22 @@
+package org.trustify.operator.cdrs.v2alpha1.server.autoscaler;
+
+import io.fabric8.kubernetes.api.model.autoscaling.v2.HorizontalPodAutoscaler;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.api.reconciler.ResourceDiscriminator;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.controllers.TrustifyReconciler;
+import org.trustify.operator.utils.InformerUtils;
+
+import java.util.Optional;
+
+public class ServerHorizontalPodAutoscalerDiscriminator implements ResourceDiscriminator<HorizontalPodAutoscaler, Trustify> {
+    @Override
+    public Optional<HorizontalPodAutoscaler> distinguish(Class<HorizontalPodAutoscaler> resource, Trustify cr, Context<Trustify> context) {
+        String autoscalerName = ServerHorizontalPodAutoscaler.getAutoscalerName(cr);
+        ResourceID resourceID = new ResourceID(autoscalerName, cr.getMetadata().getNamespace());
+        // Registered by the reconciler once the cluster serves autoscaling/v2
+        return InformerUtils.getInformerEventSource(context, HorizontalPodAutoscaler.class, TrustifyReconciler.HORIZONTAL_POD_AUTOSCALER_EVENT_SOURCE)
+                .flatMap(informerEventSource -> informerEventSource.get(resourceID));
+    }
+}
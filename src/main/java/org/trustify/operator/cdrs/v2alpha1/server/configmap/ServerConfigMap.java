@@ -3,37 +3,30 @@ package org.trustify.operator.cdrs.v2alpha1.server.configmap;
 import io.fabric8.kubernetes.api.model.ConfigMap;
 import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
 import io.fabric8.kubernetes.api.model.Secret;
-import io.fabric8.kubernetes.api.model.SecretBuilder;
-import io.fabric8.kubernetes.client.KubernetesClient;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
 import io.javaoperatorsdk.operator.processing.dependent.Creator;
-import io.javaoperatorsdk.operator.processing.dependent.kubernetes.CRUDKubernetesDependentResource;
 import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
-import org.keycloak.k8s.v2alpha1.Keycloak;
 import org.trustify.operator.Constants;
 import org.trustify.operator.cdrs.v2alpha1.Trustify;
 import org.trustify.operator.cdrs.v2alpha1.TrustifySpec;
+import org.trustify.operator.controllers.TrustifyDependentResource;
 import org.trustify.operator.services.KeycloakRealmService;
 import org.trustify.operator.services.KeycloakServerService;
+import org.trustify.operator.utils.InformerUtils;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicReference;
 
 @KubernetesDependent(labelSelector = ServerConfigMap.LABEL_SELECTOR, resourceDiscriminator = ServerConfigMapDiscriminator.class)
 @ApplicationScoped
-public class ServerConfigMap extends CRUDKubernetesDependentResource<ConfigMap, Trustify>
+public class ServerConfigMap extends TrustifyDependentResource<ConfigMap>
         implements Creator<ConfigMap, Trustify> {
 
     public static final String LABEL_SELECTOR = "app.kubernetes.io/managed-by=trustify-operator,component=server";
 
     private static final Logger logger = Logger.getLogger(ServerConfigMap.class);
 
-    @Inject
-    KubernetesClient k8sClient;
-
     public ServerConfigMap() {
         super(ConfigMap.class);
     }
@@ -57,21 +50,8 @@ public class ServerConfigMap extends CRUDKubernetesDependentResource<ConfigMap,
         Optional<String> yamlFile = Optional.ofNullable(cr.getSpec().oidcSpec())
                 .flatMap(oidcSpec -> {
                     if (oidcSpec.enabled()) {
-                        Optional<String> oidcSecretName = oidcSpec.externalServer() ?
-                                Optional.ofNullable(oidcSpec.externalOidcSpec()).map(TrustifySpec.ExternalOidcSpec::tlsSecret) :
-                                Optional.ofNullable(oidcSpec.embeddedOidcSpec()).map(TrustifySpec.EmbeddedOidcSpec::tlsSecret);
-
-                        Optional<Secret> oidcSecret = oidcSecretName.map(name -> {
-                            Secret secret = new SecretBuilder()
-                                    .withNewMetadata()
-                                    .withName(name)
-                                    .endMetadata()
-                                    .build();
-                            return k8sClient.resource(secret)
-                                    .inNamespace(cr.getMetadata().getNamespace())
-                                    .get();
-                        });
-
+                        Optional<Secret> oidcSecret = getOidcTlsSecretName(cr)
+                                .flatMap(name -> InformerUtils.getReferencedSecret(cr, context, name));
 
                         if (oidcSpec.externalServer()) {
                             if (oidcSpec.externalOidcSpec() != null) {
@@ -86,10 +66,8 @@ public class ServerConfigMap extends CRUDKubernetesDependentResource<ConfigMap,
                                 return Optional.empty();
                             }
                         } else {
-                            AtomicReference<Keycloak> keycloakInstance = context.managedDependentResourceContext().getMandatory(Constants.KEYCLOAK, AtomicReference.class);
-
                             String keycloakRelativePath = KeycloakRealmService.getRealmClientRelativePath(cr);
-                            String serverUrl = KeycloakServerService.getServiceUrl(cr, keycloakInstance.get()) + keycloakRelativePath;
+                            String serverUrl = KeycloakServerService.getServiceUrl(cr, context).orElseThrow() + keycloakRelativePath;
 
                             AuthTemplate.Data data = new AuthTemplate.Data(List.of(new AuthTemplate.Client(
                                     serverUrl,
@@ -104,6 +82,16 @@ public class ServerConfigMap extends CRUDKubernetesDependentResource<ConfigMap,
         return "\n" + yamlFile.orElse("");
     }
 
+    public static Optional<String> getOidcTlsSecretName(Trustify cr) {
+        return Optional.ofNullable(cr.getSpec())
+                .map(TrustifySpec::oidcSpec)
+                .filter(TrustifySpec.OidcSpec::enabled)
+                .flatMap(oidcSpec -> oidcSpec.externalServer() ?
+                        Optional.ofNullable(oidcSpec.externalOidcSpec()).map(TrustifySpec.ExternalOidcSpec::tlsSecret) :
+                        Optional.ofNullable(oidcSpec.embeddedOidcSpec()).map(TrustifySpec.EmbeddedOidcSpec::tlsSecret)
+                );
+    }
+
     private ConfigMap newConfigMap(Trustify cr, Context<Trustify> context) {
         return new ConfigMapBuilder()
                 .withMetadata(Constants.metadataBuilder
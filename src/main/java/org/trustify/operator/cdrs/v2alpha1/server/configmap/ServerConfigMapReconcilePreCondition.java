@@ -5,9 +5,9 @@ import io.javaoperatorsdk.operator.api.reconciler.Context;
 import io.javaoperatorsdk.operator.api.reconciler.dependent.DependentResource;
 import io.javaoperatorsdk.operator.processing.dependent.workflow.Condition;
 import org.trustify.operator.cdrs.v2alpha1.Trustify;
-import org.trustify.operator.cdrs.v2alpha1.server.ServerReconcilePreCondition;
+import org.trustify.operator.cdrs.v2alpha1.keycloak.KeycloakReadyPreCondition;
 
-public class ServerConfigMapReconcilePreCondition extends ServerReconcilePreCondition implements Condition<ConfigMap, Trustify> {
+public class ServerConfigMapReconcilePreCondition extends KeycloakReadyPreCondition implements Condition<ConfigMap, Trustify> {
 
     @Override
     public boolean isMet(DependentResource<ConfigMap, Trustify> dependentResource, Trustify cr, Context<Trustify> context) {
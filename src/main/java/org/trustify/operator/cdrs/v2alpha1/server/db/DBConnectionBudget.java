@@ -0,0 +1,69 @@
+package org.trustify.operator.cdrs.v2alpha1.server.db;
+
+import org.trustify.operator.TrustifyConfig;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.cdrs.v2alpha1.TrustifySpec;
+import org.trustify.operator.cdrs.v2alpha1.server.autoscaler.ServerHorizontalPodAutoscaler;
+import org.trustify.operator.cdrs.v2alpha1.server.db.pooler.deployment.DBPoolerDeployment;
+
+import java.util.Optional;
+
+/**
+ * The connections of the database shared by every Server and Importer pod. The Server is counted at its maximum
+ * number of replicas when autoscaled, so scaling out within the autoscaler bounds never exceeds max_connections, and
+ * changing the instances of a component rolls out every pod with its new share. Behind the pooler the pods share the
+ * client connections of the pooler instead, and the pooler instances share the connections of the database.
+ */
+public record DBConnectionBudget(
+        int maxConnections,
+        int reservedConnections,
+        int clientConnections,
+        int serverReplicas,
+        int importerReplicas
+) {
+
+    public static DBConnectionBudget of(Trustify cr, TrustifyConfig trustifyConfig) {
+        int maxConnections = getMaxConnections(cr, trustifyConfig);
+        int serverReplicas = ServerHorizontalPodAutoscaler.isAutoscalingEnabled(cr) ?
+                ServerHorizontalPodAutoscaler.getMaxReplicas(cr) :
+                Optional.ofNullable(cr.getSpec().serverInstances()).orElse(1);
+        int importerReplicas = Optional.ofNullable(cr.getSpec().importerInstances()).orElse(1);
+        int reservedConnections = Math.min(trustifyConfig.database().reservedConnections(), maxConnections);
+        int clientConnections = DBPoolerDeployment.isPoolerEnabled(cr) ?
+                DBPoolerDeployment.getInstances(cr) * DBPoolerDeployment.getMaxClientConnections(cr) :
+                maxConnections - reservedConnections;
+
+        return new DBConnectionBudget(
+                maxConnections,
+                reservedConnections,
+                clientConnections,
+                Math.max(0, serverReplicas),
+                Math.max(0, importerReplicas)
+        );
+    }
+
+    public static int getMaxConnections(Trustify cr, TrustifyConfig trustifyConfig) {
+        return Optional.ofNullable(cr.getSpec().databaseSpec())
+                .map(TrustifySpec.DatabaseSpec::maxConnections)
+                .orElse(trustifyConfig.database().maxConnections());
+    }
+
+    /**
+     * Connections left to the pools once the superusers, the migration Job and the probes are served.
+     */
+    public int available() {
+        return maxConnections - reservedConnections;
+    }
+
+    /**
+     * The client connections split evenly across the pods, every pod keeps at least one connection.
+     */
+    public int getPoolMaxSizeLimit() {
+        int pods = Math.max(1, serverReplicas + importerReplicas);
+        return Math.max(1, clientConnections / pods);
+    }
+
+    public int allocated(int serverPoolMaxSize, int importerPoolMaxSize) {
+        return serverReplicas * serverPoolMaxSize + importerReplicas * importerPoolMaxSize;
+    }
+}
@@ -3,38 +3,48 @@ package org.trustify.operator.cdrs.v2alpha1.server.db.deployment;
 import io.fabric8.kubernetes.api.model.*;
 import io.fabric8.kubernetes.api.model.apps.*;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
-import io.javaoperatorsdk.operator.processing.dependent.kubernetes.CRUDKubernetesDependentResource;
 import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.trustify.operator.Constants;
 import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.controllers.PodTemplateHashCache;
+import org.trustify.operator.controllers.ReconcileCache;
 import org.trustify.operator.controllers.ResourceConfigurator;
+import org.trustify.operator.controllers.TrustifyDependentResource;
 
+import java.util.List;
 import java.util.Map;
 
 @KubernetesDependent(labelSelector = DBDeployment.LABEL_SELECTOR, resourceDiscriminator = DBDeploymentDiscriminator.class)
 @ApplicationScoped
-public class DBDeployment extends CRUDKubernetesDependentResource<Deployment, Trustify> {
+public class DBDeployment extends TrustifyDependentResource<Deployment> {
 
     public static final String LABEL_SELECTOR = "app.kubernetes.io/managed-by=trustify-operator,component=db";
 
     @Inject
     DBDeploymentConfigurator dbDeploymentConfigurator;
 
+    @Inject
+    PodTemplateHashCache podTemplateHashCache;
+
     public DBDeployment() {
         super(Deployment.class);
     }
 
     @Override
     protected Deployment desired(Trustify cr, Context<Trustify> context) {
-        return newDeployment(cr, context);
+        Deployment deployment = newDeployment(cr, context);
+
+        String hash = podTemplateHashCache.store(getDeploymentName(cr), cr, List.of(), deployment.getSpec().getTemplate());
+        deployment.getMetadata().getAnnotations().put(PodTemplateHashCache.DESIRED_STATE_HASH_ANNOTATION, hash);
+
+        return deployment;
     }
 
     @Override
     public Result<Deployment> match(Deployment actual, Trustify cr, Context<Trustify> context) {
-        ResourceConfigurator.Config config = dbDeploymentConfigurator.configureDeployment(cr, context);
-        boolean match = config.match(actual.getSpec().getTemplate().getSpec());
+        boolean match = podTemplateHashCache.matches(getDeploymentName(cr), cr, List.of(), () -> desired(cr, context), actual, actual.getSpec().getTemplate());
         return Result.nonComputed(match);
     }
 
@@ -50,7 +60,7 @@ public class DBDeployment extends CRUDKubernetesDependentResource<Deployment, Tr
     }
 
     private DeploymentSpec getDeploymentSpec(Trustify cr, Context<Trustify> context) {
-        ResourceConfigurator.Config config = dbDeploymentConfigurator.configureDeployment(cr, context);
+        ResourceConfigurator.Config config = ReconcileCache.get(context).config(dbDeploymentConfigurator, cr, context);
 
         return new DeploymentSpecBuilder()
                 .withStrategy(new DeploymentStrategyBuilder()
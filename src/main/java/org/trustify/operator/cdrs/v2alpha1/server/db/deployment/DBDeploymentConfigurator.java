@@ -8,6 +8,7 @@ import org.trustify.operator.TrustifyConfig;
 import org.trustify.operator.TrustifyImagesConfig;
 import org.trustify.operator.cdrs.v2alpha1.Trustify;
 import org.trustify.operator.cdrs.v2alpha1.TrustifySpec;
+import org.trustify.operator.cdrs.v2alpha1.server.db.DBConnectionBudget;
 import org.trustify.operator.cdrs.v2alpha1.server.db.pvc.DBPersistentVolumeClaim;
 import org.trustify.operator.cdrs.v2alpha1.server.db.secret.DBSecret;
 import org.trustify.operator.controllers.ResourceConfigurator;
@@ -92,6 +93,10 @@ public class DBDeploymentConfigurator implements ResourceConfigurator {
                 new EnvVarBuilder()
                         .withName("POSTGRESQL_DATABASE")
                         .withValue(DBDeployment.getDatabaseName(cr))
+                        .build(),
+                new EnvVarBuilder()
+                        .withName("POSTGRESQL_MAX_CONNECTIONS")
+                        .withValue(String.valueOf(DBConnectionBudget.getMaxConnections(cr, trustifyConfig)))
                         .build()
         );
         config.allEnvVars().addAll(envVars);
@@ -0,0 +1,17 @@
+package org.trustify.operator.cdrs.v2alpha1.server.db.pooler.deployment;
+
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.api.reconciler.dependent.DependentResource;
+import io.javaoperatorsdk.operator.processing.dependent.workflow.Condition;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.cdrs.v2alpha1.server.db.pooler.DBPoolerActivationCondition;
+
+public class DBPoolerDeploymentActivationCondition extends DBPoolerActivationCondition implements Condition<Deployment, Trustify> {
+
+    @Override
+    public boolean isMet(DependentResource<Deployment, Trustify> resource, Trustify cr, Context<Trustify> context) {
+        return super.isMet(cr);
+    }
+
+}
@@ -0,0 +1,106 @@
+package org.trustify.operator.cdrs.v2alpha1.server.db.pooler.deployment;
+
+import io.fabric8.kubernetes.api.model.*;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.trustify.operator.Constants;
+import org.trustify.operator.TrustifyConfig;
+import org.trustify.operator.TrustifyImagesConfig;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.cdrs.v2alpha1.TrustifyConfiguration;
+import org.trustify.operator.cdrs.v2alpha1.TrustifySpec;
+import org.trustify.operator.cdrs.v2alpha1.server.db.DBConnectionBudget;
+import org.trustify.operator.controllers.ResourceConfigurator;
+import org.trustify.operator.utils.CRDUtils;
+import org.trustify.operator.utils.OptionMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@ApplicationScoped
+public class DBPoolerDeploymentConfigurator implements ResourceConfigurator {
+
+    // The settings of the database the pooler connects to, renamed for the PgBouncer image
+    static final Map<String, String> UPSTREAM_ENV_VARS = Map.of(
+            "TRUSTD_DB_USER", "POSTGRESQL_USERNAME",
+            "TRUSTD_DB_PASSWORD", "POSTGRESQL_PASSWORD",
+            "TRUSTD_DB_HOST", "POSTGRESQL_HOST",
+            "TRUSTD_DB_PORT", "POSTGRESQL_PORT",
+            "TRUSTD_DB_SSLMODE", "PGBOUNCER_SERVER_TLS_SSLMODE"
+    );
+
+    // Prepared statements are kept across transactions, trustd prepares every query
+    static final int MAX_PREPARED_STATEMENTS = 200;
+
+    @Inject
+    TrustifyImagesConfig trustifyImagesConfig;
+
+    @Inject
+    TrustifyConfig trustifyConfig;
+
+    @Override
+    public Config configureDeployment(Trustify cr, Context<Trustify> context) {
+        String image = trustifyImagesConfig.dbPoolerImage();
+        String imagePullPolicy = Optional.ofNullable(cr.getSpec().imagePullPolicy()).orElse(trustifyImagesConfig.imagePullPolicy());
+
+        List<LocalObjectReference> imagePullSecrets = Optional.ofNullable(cr.getSpec().imagePullSecrets()).orElse(new ArrayList<>());
+
+        TrustifySpec.ResourcesLimitSpec resourcesLimitSpec = Optional.ofNullable(cr.getSpec().databaseSpec())
+                .map(TrustifySpec.DatabaseSpec::databasePoolerSpec)
+                .map(TrustifySpec.DatabasePoolerSpec::resourceLimits)
+                .orElse(null);
+        ResourceRequirements resourceRequirements = CRDUtils.getResourceRequirements(resourcesLimitSpec, trustifyConfig);
+
+        Config config = new Config(
+                image,
+                imagePullPolicy,
+                imagePullSecrets,
+                resourceRequirements,
+                new ArrayList<>(),
+                new ArrayList<>(),
+                new ArrayList<>()
+        );
+
+        configureEnvs(config, cr);
+
+        return config;
+    }
+
+    private void configureEnvs(Config config, Trustify cr) {
+        List<EnvVar> databaseEnvVars = TrustifyConfiguration.getDatabaseEnvVars(cr);
+        databaseEnvVars.stream()
+                .filter(envVar -> UPSTREAM_ENV_VARS.containsKey(envVar.getName()))
+                .map(envVar -> new EnvVarBuilder(envVar)
+                        .withName(UPSTREAM_ENV_VARS.get(envVar.getName()))
+                        .build()
+                )
+                .forEach(config.allEnvVars()::add);
+
+        // Clients connect to the pooler with the name of the database, which trustd defaults to trustify
+        String databaseName = databaseEnvVars.stream()
+                .filter(envVar -> envVar.getName().equals("TRUSTD_DB_NAME"))
+                .map(EnvVar::getValue)
+                .findFirst()
+                .orElse(Constants.DB_NAME);
+        int poolSize = DBPoolerDeployment.getPoolSize(cr, DBConnectionBudget.of(cr, trustifyConfig));
+
+        config.allEnvVars().addAll(new OptionMapper<>(cr.getSpec())
+                .mapOption("POSTGRESQL_DATABASE", databaseName)
+                .mapOption("PGBOUNCER_DATABASE", databaseName)
+                .mapOption("PGBOUNCER_PORT", Constants.DB_POOLER_PORT)
+                .mapOption("PGBOUNCER_AUTH_TYPE", "scram-sha-256")
+                .mapOption("PGBOUNCER_POOL_MODE", "transaction")
+                .mapOption("PGBOUNCER_DEFAULT_POOL_SIZE", poolSize)
+                .mapOption("PGBOUNCER_MAX_DB_CONNECTIONS", poolSize)
+                .mapOption("PGBOUNCER_MAX_CLIENT_CONN", DBPoolerDeployment.getMaxClientConnections(cr))
+                .mapOption("PGBOUNCER_MAX_PREPARED_STATEMENTS", MAX_PREPARED_STATEMENTS)
+                .mapOption("PGBOUNCER_IGNORE_STARTUP_PARAMETERS", "extra_float_digits")
+                .mapOption("PGBOUNCER_STATS_USERS", "$(POSTGRESQL_USERNAME)")
+                .getEnvVars()
+        );
+    }
+
+}
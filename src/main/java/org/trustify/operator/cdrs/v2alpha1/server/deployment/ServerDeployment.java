@@ -4,50 +4,85 @@ import io.fabric8.kubernetes.api.model.*;
 import io.fabric8.kubernetes.api.model.apps.*;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
 import io.javaoperatorsdk.operator.processing.dependent.Matcher;
-import io.javaoperatorsdk.operator.processing.dependent.kubernetes.CRUDKubernetesDependentResource;
 import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.trustify.operator.Constants;
 import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.cdrs.v2alpha1.TrustifySpec;
+import org.trustify.operator.cdrs.v2alpha1.availability.PodAvailability;
+import org.trustify.operator.cdrs.v2alpha1.server.autoscaler.ServerHorizontalPodAutoscaler;
 import org.trustify.operator.cdrs.v2alpha1.server.db.deployment.DBDeployment;
-import org.trustify.operator.controllers.ResourceConfigurator;
-
+import org.trustify.operator.cdrs.v2alpha1.server.migration.ServerMigrationJob;
+import org.trustify.operator.cdrs.v2alpha1.server.pvc.ServerStoragePersistentVolumeClaimActivationCondition;
+import org.trustify.operator.cdrs.v2alpha1.server.utils.ServerUtils;
+import org.trustify.operator.controllers.PodTemplateHashCache;
+import org.trustify.operator.controllers.ReconcileCache;
+import org.trustify.operator.controllers.TrustifyDependentResource;
+import org.trustify.operator.utils.CRDUtils;
+
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 @KubernetesDependent(labelSelector = ServerDeployment.LABEL_SELECTOR, resourceDiscriminator = ServerDeploymentDiscriminator.class)
 @ApplicationScoped
-public class ServerDeployment extends CRUDKubernetesDependentResource<Deployment, Trustify>
+public class ServerDeployment extends TrustifyDependentResource<Deployment>
         implements Matcher<Deployment, Trustify> {
 
     public static final String LABEL_SELECTOR = "app.kubernetes.io/managed-by=trustify-operator,component=server";
 
+    public static final String DEFAULT_MAX_SURGE = "25%";
+    public static final String DEFAULT_MAX_UNAVAILABLE = "0";
+
     @Inject
     ServerDeploymentConfigurator distConfigurator;
 
+    @Inject
+    ServerUtils serverUtils;
+
+    @Inject
+    PodTemplateHashCache podTemplateHashCache;
+
     public ServerDeployment() {
         super(Deployment.class);
     }
 
     @Override
     protected Deployment desired(Trustify cr, Context<Trustify> context) {
-        return newDeployment(cr, context, distConfigurator);
+        Deployment deployment = newDeployment(cr, context, distConfigurator);
+
+        String hash = podTemplateHashCache.store(getDeploymentName(cr), cr, getHashInputs(cr, context), deployment.getSpec().getTemplate());
+        deployment.getMetadata().getAnnotations().put(PodTemplateHashCache.DESIRED_STATE_HASH_ANNOTATION, hash);
+
+        return deployment;
     }
 
     @Override
     public Result<Deployment> match(Deployment actual, Trustify cr, Context<Trustify> context) {
-        boolean matchDesiredInstances = getDesiredInstances(cr) == actual.getSpec().getReplicas();
+        // The replicas are owned by the HorizontalPodAutoscaler while it is enabled
+        boolean matchDesiredInstances = ServerHorizontalPodAutoscaler.isAutoscalingEnabled(cr) || getDesiredInstances(cr, context) == actual.getSpec().getReplicas();
         if (!matchDesiredInstances) {
             return Result.nonComputed(false);
         }
 
-        ResourceConfigurator.Config config = distConfigurator.configureDeployment(cr, context);
-        boolean match = config.match(actual.getSpec().getTemplate().getSpec());
+        boolean match = podTemplateHashCache.matches(getDeploymentName(cr), cr, getHashInputs(cr, context), () -> desired(cr, context), actual, actual.getSpec().getTemplate());
         return Result.nonComputed(match);
     }
 
-    private int getDesiredInstances(Trustify cr) {
+    private List<?> getHashInputs(Trustify cr, Context<Trustify> context) {
+        return List.of(serverUtils.tlsSecretName(cr, context));
+    }
+
+    /**
+     * With autoscaling enabled, writing the deployment keeps the replicas chosen by the HorizontalPodAutoscaler.
+     */
+    private int getDesiredInstances(Trustify cr, Context<Trustify> context) {
+        if (ServerHorizontalPodAutoscaler.isAutoscalingEnabled(cr)) {
+            return context.getSecondaryResource(Deployment.class, new ServerDeploymentDiscriminator())
+                    .map(deployment -> deployment.getSpec().getReplicas())
+                    .orElseGet(() -> ServerHorizontalPodAutoscaler.getMinReplicas(cr));
+        }
         return Optional.ofNullable(cr.getSpec().serverInstances())
                 .orElse(1);
     }
@@ -67,38 +102,25 @@ public class ServerDeployment extends CRUDKubernetesDependentResource<Deployment
     }
 
     private DeploymentSpec getDeploymentSpec(Trustify cr, Context<Trustify> context, ServerDeploymentConfigurator distConfigurator) {
-        ServerDeploymentConfigurator.Config config = distConfigurator.configureDeployment(cr, context);
+        ServerDeploymentConfigurator.Config config = ReconcileCache.get(context).config(distConfigurator, cr, context);
 
         return new DeploymentSpecBuilder()
-                .withStrategy(new DeploymentStrategyBuilder()
-                        .withType("Recreate")
-                        .build()
-                )
-                .withReplicas(getDesiredInstances(cr))
+                .withStrategy(getDeploymentStrategy(cr))
+                .withReplicas(getDesiredInstances(cr, context))
                 .withSelector(new LabelSelectorBuilder()
                         .withMatchLabels(getPodSelectorLabels(cr))
                         .build()
                 )
                 .withTemplate(new PodTemplateSpecBuilder()
                         .withNewMetadata()
-                        .addToLabels(getPodSelectorLabels(cr))
+                        .withLabels(PodAvailability.getPodLabels(cr, getPodSelectorLabels(cr)))
                         .endMetadata()
                         .withSpec(new PodSpecBuilder()
                                 .withRestartPolicy("Always")
                                 .withTerminationGracePeriodSeconds(70L)
                                 .withImagePullSecrets(cr.getSpec().imagePullSecrets())
-                                .withInitContainers(new ContainerBuilder()
-                                        .withName("migrate")
-                                        .withImage(config.image())
-                                        .withImagePullPolicy(config.imagePullPolicy())
-                                        .withEnv(config.allEnvVars())
-                                        .withCommand("/usr/local/bin/trustd")
-                                        .withArgs(
-                                                "db",
-                                                "migrate"
-                                        )
-                                        .build()
-                                )
+                                .withAffinity(PodAvailability.server(cr).getAffinity())
+                                .withTopologySpreadConstraints(PodAvailability.server(cr).getTopologySpreadConstraints())
                                 .withContainers(new ContainerBuilder()
                                         .withName(Constants.TRUSTI_SERVER_NAME)
                                         .withImage(config.image())
@@ -175,6 +197,26 @@ public class ServerDeployment extends CRUDKubernetesDependentResource<Deployment
                 .build();
     }
 
+    /**
+     * Migrations run in {@link ServerMigrationJob} before the rollout, so new pods serve as soon as they start.
+     */
+    private DeploymentStrategy getDeploymentStrategy(Trustify cr) {
+        if (ServerStoragePersistentVolumeClaimActivationCondition.isFilesystemStorage(cr)) {
+            return new DeploymentStrategyBuilder()
+                    .withType("Recreate")
+                    .build();
+        }
+
+        TrustifySpec.RollingUpdateSpec rollingUpdateSpec = cr.getSpec().serverRollingUpdateSpec();
+        return new DeploymentStrategyBuilder()
+                .withType("RollingUpdate")
+                .withNewRollingUpdate()
+                .withMaxSurge(CRDUtils.getIntOrString(CRDUtils.getValueFromSubSpec(rollingUpdateSpec, TrustifySpec.RollingUpdateSpec::maxSurge).orElse(DEFAULT_MAX_SURGE)))
+                .withMaxUnavailable(CRDUtils.getIntOrString(CRDUtils.getValueFromSubSpec(rollingUpdateSpec, TrustifySpec.RollingUpdateSpec::maxUnavailable).orElse(DEFAULT_MAX_UNAVAILABLE)))
+                .endRollingUpdate()
+                .build();
+    }
+
     public static String getDeploymentName(Trustify cr) {
         return cr.getMetadata().getName() + Constants.SERVER_DEPLOYMENT_SUFFIX;
     }
@@ -10,6 +10,7 @@ import org.trustify.operator.cdrs.v2alpha1.Trustify;
 import org.trustify.operator.cdrs.v2alpha1.TrustifyConfiguration;
 import org.trustify.operator.cdrs.v2alpha1.TrustifySpec;
 import org.trustify.operator.cdrs.v2alpha1.server.configmap.ServerConfigMap;
+import org.trustify.operator.cdrs.v2alpha1.server.db.DBConnectionBudget;
 import org.trustify.operator.cdrs.v2alpha1.server.utils.ServerUtils;
 import org.trustify.operator.controllers.ResourceConfigurator;
 import org.trustify.operator.services.KeycloakRealmService;
@@ -54,8 +55,9 @@ public class ServerDeploymentConfigurator extends TrustifyConfiguration implemen
         );
 
         configureGeneral(config, cr);
-        configureHttp(config, cr);
+        configureHttp(config, cr, context);
         configureDatabase(config, cr);
+        configureRuntime(config, cr, cr.getSpec().serverRuntimeSpec(), DBConnectionBudget.of(cr, trustifyConfig));
         configureStorage(config, cr);
         configureOidc(config, cr);
 
@@ -85,21 +87,26 @@ public class ServerDeploymentConfigurator extends TrustifyConfiguration implemen
         );
     }
 
-    private void configureHttp(Config config, Trustify cr) {
-        configureTLS(config, cr);
+    private void configureHttp(Config config, Trustify cr, Context<Trustify> context) {
+        configureTLS(config, cr, context);
 
         config.allEnvVars().add(new EnvVarBuilder()
                 .withName("HTTP_SERVER_BIND_ADDR")
                 .withValue("::")
                 .build()
         );
+        config.allEnvVars().add(new EnvVarBuilder()
+                .withName("HTTP_SERVER_WORKERS")
+                .withValue(String.valueOf(getWorkerThreads(config.resourceRequirements(), cr.getSpec().serverRuntimeSpec())))
+                .build()
+        );
     }
 
-    private void configureTLS(Config config, Trustify cr) {
+    private void configureTLS(Config config, Trustify cr, Context<Trustify> context) {
         final String certFileOptionName = "HTTP_SERVER_TLS_CERTIFICATE_FILE";
         final String keyFileOptionName = "HTTP_SERVER_TLS_KEY_FILE";
 
-        Optional<String> tlsSecretName = serverUtils.tlsSecretName(cr);
+        Optional<String> tlsSecretName = serverUtils.tlsSecretName(cr, context);
         if (tlsSecretName.isEmpty()) {
             return;
         }
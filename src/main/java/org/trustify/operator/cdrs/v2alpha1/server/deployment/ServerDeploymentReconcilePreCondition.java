@@ -5,23 +5,15 @@ import io.javaoperatorsdk.operator.api.reconciler.Context;
 import io.javaoperatorsdk.operator.api.reconciler.dependent.DependentResource;
 import io.javaoperatorsdk.operator.processing.dependent.workflow.Condition;
 import org.trustify.operator.cdrs.v2alpha1.Trustify;
-import org.trustify.operator.cdrs.v2alpha1.server.ServerReconcilePreCondition;
-import org.trustify.operator.cdrs.v2alpha1.server.db.deployment.DBDeploymentReadyPostCondition;
-import org.trustify.operator.cdrs.v2alpha1.server.utils.ServerUtils;
+import org.trustify.operator.cdrs.v2alpha1.keycloak.KeycloakReadyPreCondition;
 
-public class ServerDeploymentReconcilePreCondition extends ServerReconcilePreCondition implements Condition<Deployment, Trustify> {
+/**
+ * The embedded DB is not waited for here, the server depends on the migration Job which waits for it.
+ */
+public class ServerDeploymentReconcilePreCondition extends KeycloakReadyPreCondition implements Condition<Deployment, Trustify> {
 
     @Override
     public boolean isMet(DependentResource<Deployment, Trustify> dependentResource, Trustify cr, Context<Trustify> context) {
-        boolean isDBRequired = ServerUtils.isServerDBRequired(cr);
-        if (isDBRequired) {
-            DBDeploymentReadyPostCondition dbDeploymentReadyPostCondition = new DBDeploymentReadyPostCondition();
-            boolean isDBReady = dbDeploymentReadyPostCondition.isMet(dependentResource, cr, context);
-            if (!isDBReady) {
-                return false;
-            }
-        }
-
         return super.isMet(cr, context);
     }
 
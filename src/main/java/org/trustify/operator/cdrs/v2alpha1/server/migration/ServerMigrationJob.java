@@ -0,0 +1,229 @@
+package org.trustify.operator.cdrs.v2alpha1.server.migration;
+
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.ContainerBuilder;
+import io.fabric8.kubernetes.api.model.DeletionPropagation;
+import io.fabric8.kubernetes.api.model.PodSpecBuilder;
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import io.fabric8.kubernetes.api.model.batch.v1.JobBuilder;
+import io.fabric8.kubernetes.api.model.batch.v1.JobSpec;
+import io.fabric8.kubernetes.api.model.batch.v1.JobSpecBuilder;
+import io.fabric8.kubernetes.api.model.batch.v1.JobStatus;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.api.reconciler.dependent.ReconcileResult;
+import io.javaoperatorsdk.operator.processing.dependent.Matcher;
+import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
+import io.javaoperatorsdk.operator.processing.event.source.informer.InformerEventSource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.trustify.operator.Constants;
+import org.trustify.operator.TrustifyConfig;
+import org.trustify.operator.TrustifyImagesConfig;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.cdrs.v2alpha1.TrustifyConfiguration;
+import org.trustify.operator.cdrs.v2alpha1.server.db.deployment.DBDeployment;
+import org.trustify.operator.cdrs.v2alpha1.server.db.service.DBService;
+import org.trustify.operator.cdrs.v2alpha1.server.deployment.ServerDeploymentConfigurator;
+import org.trustify.operator.cdrs.v2alpha1.server.utils.ServerUtils;
+import org.trustify.operator.controllers.PodTemplateHashCache;
+import org.trustify.operator.controllers.ReconcileCache;
+import org.trustify.operator.controllers.TrustifyDependentResource;
+import org.trustify.operator.controllers.TrustifyReconciler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Runs the schema migration once per server image and database, the name of the Job carries a hash of both. The
+ * server and the importer only roll out once it succeeded, and the Jobs of previous versions are deleted then. The
+ * migration connects to the database itself, the transaction pooling of the pooler would not keep its session.
+ * A failed Job is recreated once the CR changes, or after the maximum reconcile backoff delay.
+ */
+@KubernetesDependent(labelSelector = ServerMigrationJob.LABEL_SELECTOR, resourceDiscriminator = ServerMigrationJobDiscriminator.class)
+@ApplicationScoped
+public class ServerMigrationJob extends TrustifyDependentResource<Job>
+        implements Matcher<Job, Trustify> {
+
+    private static final Logger logger = Logger.getLogger(ServerMigrationJob.class);
+
+    public static final String LABEL_SELECTOR = "app.kubernetes.io/managed-by=trustify-operator,component=server-migration";
+    public static final String GENERATION_ANNOTATION = "trustify-operator/generation";
+
+    @Inject
+    ServerDeploymentConfigurator distConfigurator;
+
+    @Inject
+    TrustifyImagesConfig trustifyImagesConfig;
+
+    @Inject
+    TrustifyConfig trustifyConfig;
+
+    public ServerMigrationJob() {
+        super(Job.class);
+    }
+
+    @Override
+    protected Job desired(Trustify cr, Context<Trustify> context) {
+        ServerDeploymentConfigurator.Config config = ReconcileCache.get(context).config(distConfigurator, cr, context);
+
+        return new JobBuilder()
+                .withMetadata(Constants.metadataBuilder
+                        .apply(new Constants.Resource(getJobName(cr, context), LABEL_SELECTOR, cr))
+                        .addToAnnotations(GENERATION_ANNOTATION, String.valueOf(cr.getMetadata().getGeneration()))
+                        .build()
+                )
+                .withSpec(getJobSpec(cr, config))
+                .build();
+    }
+
+    /**
+     * The pod template of a Job cannot be changed, a new version gets a new Job.
+     */
+    @Override
+    public Result<Job> match(Job actual, Trustify cr, Context<Trustify> context) {
+        return Result.nonComputed(Objects.equals(getJobName(cr, context), actual.getMetadata().getName()));
+    }
+
+    @Override
+    public ReconcileResult<Job> reconcile(Trustify cr, Context<Trustify> context) {
+        Optional<Job> failedJob = context.getSecondaryResource(Job.class, new ServerMigrationJobDiscriminator())
+                .filter(job -> isRetryDue(job, cr, trustifyConfig.backoff().maxDelay(), Instant.now()));
+        if (failedJob.isPresent()) {
+            // Recreated with the same name once the deletion reaches the informer
+            logger.infof("Recreating the failed migration Job %s", failedJob.get().getMetadata().getName());
+            context.getClient().resource(failedJob.get()).withPropagationPolicy(DeletionPropagation.BACKGROUND).delete();
+            return ReconcileResult.noOperation(failedJob.get());
+        }
+
+        ReconcileResult<Job> result = super.reconcile(cr, context);
+        if (new ServerMigrationJobReadyPostCondition().isMet(this, cr, context)) {
+            deletePreviousJobs(cr, context);
+        }
+        return result;
+    }
+
+    private void deletePreviousJobs(Trustify cr, Context<Trustify> context) {
+        String jobName = getJobName(cr, context);
+        var informerEventSource = (InformerEventSource<Job, Trustify>) context.eventSourceRetriever().getResourceEventSourceFor(Job.class, TrustifyReconciler.JOB_EVENT_SOURCE);
+        informerEventSource.list(cr.getMetadata().getNamespace(), job -> isMigrationJobOf(job, cr) && !jobName.equals(job.getMetadata().getName()))
+                .forEach(job -> {
+                    try {
+                        context.getClient().resource(job).withPropagationPolicy(DeletionPropagation.BACKGROUND).delete();
+                    } catch (KubernetesClientException e) {
+                        logger.warnf("Could not delete the previous migration Job %s: %s", job.getMetadata().getName(), e.getMessage());
+                    }
+                });
+    }
+
+    private JobSpec getJobSpec(Trustify cr, ServerDeploymentConfigurator.Config config) {
+        return new JobSpecBuilder()
+                .withBackoffLimit(6)
+                .withNewTemplate()
+                .withNewMetadata()
+                .addToLabels("trustify-operator/group", "server-migration")
+                .endMetadata()
+                .withSpec(new PodSpecBuilder()
+                        .withRestartPolicy("OnFailure")
+                        .withImagePullSecrets(cr.getSpec().imagePullSecrets())
+                        .withInitContainers(getInitContainers(cr, config))
+                        .withContainers(new ContainerBuilder()
+                                .withName("migrate")
+                                .withImage(config.image())
+                                .withImagePullPolicy(config.imagePullPolicy())
+                                .withEnv(TrustifyConfiguration.getDatabaseEnvVars(cr))
+                                .withCommand("/usr/local/bin/trustd")
+                                .withArgs(
+                                        "db",
+                                        "migrate"
+                                )
+                                .withResources(config.resourceRequirements())
+                                .build()
+                        )
+                        .build()
+                )
+                .endTemplate()
+                .build();
+    }
+
+    /**
+     * The Job is created while the embedded DB is still starting and waits for it itself, so that scheduling and image
+     * pulls overlap with the DB startup instead of following it.
+     */
+    private List<Container> getInitContainers(Trustify cr, ServerDeploymentConfigurator.Config config) {
+        List<Container> initContainers = new ArrayList<>();
+        if (ServerUtils.isServerDBRequired(cr)) {
+            initContainers.add(new ContainerBuilder()
+                    .withName("wait-for-db")
+                    .withImage(Optional.ofNullable(cr.getSpec().dbImage()).orElse(trustifyImagesConfig.dbImage()))
+                    .withImagePullPolicy(config.imagePullPolicy())
+                    .withCommand("/bin/sh", "-c")
+                    .withArgs("until pg_isready --host=%s --port=%s; do sleep 1; done".formatted(
+                            DBService.getServiceHost(cr),
+                            DBDeployment.getDatabasePort(cr)
+                    ))
+                    .withResources(config.resourceRequirements())
+                    .build()
+            );
+        }
+        return initContainers;
+    }
+
+    /**
+     * Computed by {@link TrustifyReconciler#initContext} before the workflow.
+     */
+    public static String getJobName(Trustify cr, Context<Trustify> context) {
+        return ReconcileCache.get(context).<String>get(cr, ReconcileCache.SERVER_MIGRATION_JOB_NAME)
+                .orElseThrow(() -> new IllegalStateException("No migration Job name for " + cr.getMetadata().getName()));
+    }
+
+    public static String getJobName(Trustify cr, ServerDeploymentConfigurator.Config config) {
+        String hash = PodTemplateHashCache.computeHash(List.of(config.image(), TrustifyConfiguration.getDatabaseEnvVars(cr)));
+        return cr.getMetadata().getName() + Constants.SERVER_MIGRATION_JOB_SUFFIX + "-" + hash.substring(0, 10);
+    }
+
+    public static Optional<Instant> getFailureTime(Job job) {
+        return Optional.ofNullable(job.getStatus())
+                .map(JobStatus::getConditions)
+                .stream()
+                .flatMap(Collection::stream)
+                .filter(condition -> "Failed".equals(condition.getType()) && "True".equals(condition.getStatus()))
+                .findFirst()
+                .map(condition -> Optional.ofNullable(condition.getLastTransitionTime())
+                        .map(Instant::parse)
+                        .orElse(Instant.EPOCH)
+                );
+    }
+
+    /**
+     * @return the time left before a failed Job is recreated
+     */
+    public static Duration getRetryDelay(Job job, Duration retryDelay, Instant now) {
+        return getFailureTime(job)
+                .map(failureTime -> Duration.between(now, failureTime.plus(retryDelay)))
+                .filter(delay -> !delay.isNegative())
+                .orElse(Duration.ZERO);
+    }
+
+    static boolean isRetryDue(Job job, Trustify cr, Duration retryDelay, Instant now) {
+        if (getFailureTime(job).isEmpty()) {
+            return false;
+        }
+        String generation = Optional.ofNullable(job.getMetadata().getAnnotations())
+                .map(annotations -> annotations.get(GENERATION_ANNOTATION))
+                .orElse(null);
+        return !Objects.equals(generation, String.valueOf(cr.getMetadata().getGeneration())) ||
+                getRetryDelay(job, retryDelay, now).isZero();
+    }
+
+    static boolean isMigrationJobOf(Job job, Trustify cr) {
+        return job.getMetadata().getName().startsWith(cr.getMetadata().getName() + Constants.SERVER_MIGRATION_JOB_SUFFIX + "-") &&
+                cr.getMetadata().getName().equals(job.getMetadata().getLabels().get("app.kubernetes.io/part-of"));
+    }
+}
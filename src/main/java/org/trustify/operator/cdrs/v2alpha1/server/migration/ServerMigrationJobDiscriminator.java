@@ -0,0 +1,26 @@
+package org.trustify.operator.cdrs.v2alpha1.server.migration;
+
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.api.reconciler.ResourceDiscriminator;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.javaoperatorsdk.operator.processing.event.source.informer.InformerEventSource;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.controllers.TrustifyReconciler;
+
+import java.util.Optional;
+
+/**
+ * The name of the Job depends on the server configuration, the discriminator is instantiated by the operator framework
+ * so it reads the name computed before the workflow.
+ */
+public class ServerMigrationJobDiscriminator implements ResourceDiscriminator<Job, Trustify> {
+
+    @Override
+    public Optional<Job> distinguish(Class<Job> resource, Trustify cr, Context<Trustify> context) {
+        String jobName = ServerMigrationJob.getJobName(cr, context);
+        ResourceID resourceID = new ResourceID(jobName, cr.getMetadata().getNamespace());
+        var informerEventSource = (InformerEventSource<Job, Trustify>) context.eventSourceRetriever().getResourceEventSourceFor(Job.class, TrustifyReconciler.JOB_EVENT_SOURCE);
+        return informerEventSource.get(resourceID);
+    }
+}
@@ -0,0 +1,37 @@
+package org.trustify.operator.cdrs.v2alpha1.server.migration;
+
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.api.reconciler.dependent.DependentResource;
+import io.javaoperatorsdk.operator.processing.dependent.workflow.Condition;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.cdrs.v2alpha1.server.db.deployment.DBDeployment;
+import org.trustify.operator.controllers.WaitsFor;
+
+import java.util.Set;
+
+/**
+ * The Job pod waits for the embedded DB, so the migration only succeeds after it is ready.
+ */
+public class ServerMigrationJobReadyPostCondition implements Condition<Job, Trustify>, WaitsFor {
+
+    @Override
+    public boolean isMet(DependentResource<Job, Trustify> dependentResource, Trustify cr, Context<Trustify> context) {
+        return context.getSecondaryResource(Job.class, new ServerMigrationJobDiscriminator())
+                .map(job -> {
+                    final var status = job.getStatus();
+                    if (status != null) {
+                        final var succeeded = status.getSucceeded();
+                        return succeeded != null && succeeded >= 1;
+                    }
+                    return false;
+                })
+                .orElse(false);
+    }
+
+    @Override
+    public Set<String> waitsFor() {
+        return Set.of(DBDeployment.class.getSimpleName());
+    }
+
+}
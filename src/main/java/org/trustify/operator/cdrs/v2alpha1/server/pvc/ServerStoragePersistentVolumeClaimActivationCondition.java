@@ -14,6 +14,10 @@ public class ServerStoragePersistentVolumeClaimActivationCondition implements Co
 
     @Override
     public boolean isMet(DependentResource<PersistentVolumeClaim, Trustify> resource, Trustify cr, Context<Trustify> context) {
+        return isFilesystemStorage(cr);
+    }
+
+    public static boolean isFilesystemStorage(Trustify cr) {
         return Optional.ofNullable(cr.getSpec().storageSpec())
                 .map(storageSpec -> Objects.isNull(storageSpec.type()) || Objects.equals(TrustifySpec.StorageStrategyType.FILESYSTEM, storageSpec.type()))
                 .orElse(true);
@@ -2,7 +2,6 @@ package org.trustify.operator.cdrs.v2alpha1.server.service;
 
 import io.fabric8.kubernetes.api.model.*;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
-import io.javaoperatorsdk.operator.processing.dependent.kubernetes.CRUDKubernetesDependentResource;
 import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -10,11 +9,12 @@ import org.trustify.operator.Constants;
 import org.trustify.operator.cdrs.v2alpha1.Trustify;
 import org.trustify.operator.cdrs.v2alpha1.server.deployment.ServerDeployment;
 import org.trustify.operator.cdrs.v2alpha1.server.utils.ServerUtils;
+import org.trustify.operator.controllers.TrustifyDependentResource;
 import org.trustify.operator.services.Cluster;
 
 @KubernetesDependent(labelSelector = ServerService.LABEL_SELECTOR, resourceDiscriminator = ServerServiceDiscriminator.class)
 @ApplicationScoped
-public class ServerService extends CRUDKubernetesDependentResource<Service, Trustify> {
+public class ServerService extends TrustifyDependentResource<Service> {
 
     public static final String LABEL_SELECTOR = "app.kubernetes.io/managed-by=trustify-operator,component=server";
 
@@ -76,8 +76,8 @@ public class ServerService extends CRUDKubernetesDependentResource<Service, Trus
         return String.format("%s.%s.svc", getServiceName(cr), cr.getMetadata().getNamespace());
     }
 
-    public String getServiceUrl(Trustify cr) {
-        String protocol = serverUtils.tlsSecretName(cr).isPresent() ? "https" : "http";
+    public String getServiceUrl(Trustify cr, Context<Trustify> context) {
+        String protocol = serverUtils.tlsSecretName(cr, context).isPresent() ? "https" : "http";
         return String.format("%s://%s:%s", protocol, getServiceHost(cr), getServicePort(cr));
     }
 
@@ -18,7 +18,7 @@ public class ServerServiceReadyPostCondition implements Condition<PersistentVolu
 
         Cluster cluster = clusterService.getCluster();
         if (cluster instanceof OpenshiftCluster) {
-            return cluster.getAutoGeneratedServerTlsSecret(cr).isPresent();
+            return cluster.getAutoGeneratedServerTlsSecret(cr, context).isPresent();
         }
         return true;
     }
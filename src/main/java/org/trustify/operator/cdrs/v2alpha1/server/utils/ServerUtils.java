@@ -1,9 +1,11 @@
 package org.trustify.operator.cdrs.v2alpha1.server.utils;
 
+import io.javaoperatorsdk.operator.api.reconciler.Context;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.trustify.operator.cdrs.v2alpha1.Trustify;
 import org.trustify.operator.cdrs.v2alpha1.TrustifySpec;
+import org.trustify.operator.controllers.ReconcileCache;
 import org.trustify.operator.services.ClusterService;
 import org.trustify.operator.utils.CRDUtils;
 
@@ -21,13 +23,15 @@ public class ServerUtils {
                 .orElse(false);
     }
 
-    public Optional<String> tlsSecretName(Trustify cr) {
-        Optional<String> userDefinedTlsSecretName = CRDUtils.getValueFromSubSpec(cr.getSpec().httpSpec(), TrustifySpec.HttpSpec::tlsSecret);
-        if (userDefinedTlsSecretName.isPresent()) {
-            return userDefinedTlsSecretName;
-        }
+    public Optional<String> tlsSecretName(Trustify cr, Context<Trustify> context) {
+        return ReconcileCache.get(context).computeIfAbsent(cr, ReconcileCache.SERVER_TLS_SECRET_NAME, () -> {
+            Optional<String> userDefinedTlsSecretName = CRDUtils.getValueFromSubSpec(cr.getSpec().httpSpec(), TrustifySpec.HttpSpec::tlsSecret);
+            if (userDefinedTlsSecretName.isPresent()) {
+                return userDefinedTlsSecretName;
+            }
 
-        return clusterService.getCluster().getAutoGeneratedServerTlsSecret(cr)
-                .map(secret -> secret.getMetadata().getName());
+            return clusterService.getCluster().getAutoGeneratedServerTlsSecret(cr, context)
+                    .map(secret -> secret.getMetadata().getName());
+        });
     }
 }
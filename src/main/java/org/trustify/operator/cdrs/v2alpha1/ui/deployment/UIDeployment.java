@@ -5,22 +5,28 @@ import io.fabric8.kubernetes.api.model.apps.*;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
 import io.javaoperatorsdk.operator.api.reconciler.dependent.DependentResource;
 import io.javaoperatorsdk.operator.processing.dependent.Matcher;
-import io.javaoperatorsdk.operator.processing.dependent.kubernetes.CRUDKubernetesDependentResource;
 import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
 import io.javaoperatorsdk.operator.processing.dependent.workflow.Condition;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.trustify.operator.Constants;
 import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.cdrs.v2alpha1.availability.PodAvailability;
 import org.trustify.operator.cdrs.v2alpha1.server.deployment.ServerDeployment;
+import org.trustify.operator.cdrs.v2alpha1.server.service.ServerService;
+import org.trustify.operator.controllers.PodTemplateHashCache;
+import org.trustify.operator.controllers.ReconcileCache;
 import org.trustify.operator.controllers.ResourceConfigurator;
+import org.trustify.operator.controllers.TrustifyDependentResource;
+import org.trustify.operator.services.KeycloakServerService;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 @KubernetesDependent(labelSelector = UIDeployment.LABEL_SELECTOR, resourceDiscriminator = UIDeploymentDiscriminator.class)
 @ApplicationScoped
-public class UIDeployment extends CRUDKubernetesDependentResource<Deployment, Trustify>
+public class UIDeployment extends TrustifyDependentResource<Deployment>
         implements Matcher<Deployment, Trustify>, Condition<Deployment, Trustify> {
 
     public static final String LABEL_SELECTOR = "app.kubernetes.io/managed-by=trustify-operator,component=ui";
@@ -28,13 +34,24 @@ public class UIDeployment extends CRUDKubernetesDependentResource<Deployment, Tr
     @Inject
     UIDeploymentConfigurator uiDeploymentConfigurator;
 
+    @Inject
+    PodTemplateHashCache podTemplateHashCache;
+
+    @Inject
+    ServerService serverService;
+
     public UIDeployment() {
         super(Deployment.class);
     }
 
     @Override
     protected Deployment desired(Trustify cr, Context<Trustify> context) {
-        return newDeployment(cr, context);
+        Deployment deployment = newDeployment(cr, context);
+
+        String hash = podTemplateHashCache.store(getDeploymentName(cr), cr, getHashInputs(cr, context), deployment.getSpec().getTemplate());
+        deployment.getMetadata().getAnnotations().put(PodTemplateHashCache.DESIRED_STATE_HASH_ANNOTATION, hash);
+
+        return deployment;
     }
 
     @Override
@@ -44,11 +61,14 @@ public class UIDeployment extends CRUDKubernetesDependentResource<Deployment, Tr
             return Result.nonComputed(false);
         }
 
-        ResourceConfigurator.Config config = uiDeploymentConfigurator.configureDeployment(cr, context);
-        boolean match = config.match(actual.getSpec().getTemplate().getSpec());
+        boolean match = podTemplateHashCache.matches(getDeploymentName(cr), cr, getHashInputs(cr, context), () -> desired(cr, context), actual, actual.getSpec().getTemplate());
         return Result.nonComputed(match);
     }
 
+    private List<?> getHashInputs(Trustify cr, Context<Trustify> context) {
+        return List.of(KeycloakServerService.getServiceUrl(cr, context), serverService.getServiceUrl(cr, context));
+    }
+
     @Override
     public boolean isMet(DependentResource<Deployment, Trustify> dependentResource, Trustify primary, Context<Trustify> context) {
         return context.getSecondaryResource(Deployment.class, new UIDeploymentDiscriminator())
@@ -86,7 +106,7 @@ public class UIDeployment extends CRUDKubernetesDependentResource<Deployment, Tr
     }
 
     private DeploymentSpec getDeploymentSpec(Trustify cr, Context<Trustify> context) {
-        ResourceConfigurator.Config config = uiDeploymentConfigurator.configureDeployment(cr, context);
+        ResourceConfigurator.Config config = ReconcileCache.get(context).config(uiDeploymentConfigurator, cr, context);
 
         return new DeploymentSpecBuilder()
                 .withStrategy(new DeploymentStrategyBuilder()
@@ -100,12 +120,14 @@ public class UIDeployment extends CRUDKubernetesDependentResource<Deployment, Tr
                 )
                 .withTemplate(new PodTemplateSpecBuilder()
                         .withNewMetadata()
-                        .withLabels(getPodSelectorLabels(cr))
+                        .withLabels(PodAvailability.getPodLabels(cr, getPodSelectorLabels(cr)))
                         .endMetadata()
                         .withSpec(new PodSpecBuilder()
                                 .withRestartPolicy("Always")
                                 .withTerminationGracePeriodSeconds(60L)
                                 .withImagePullSecrets(config.imagePullSecrets())
+                                .withAffinity(PodAvailability.ui(cr).getAffinity())
+                                .withTopologySpreadConstraints(PodAvailability.ui(cr).getTopologySpreadConstraints())
                                 .withContainers(new ContainerBuilder()
                                         .withName(Constants.TRUSTI_UI_NAME)
                                         .withImage(config.image())
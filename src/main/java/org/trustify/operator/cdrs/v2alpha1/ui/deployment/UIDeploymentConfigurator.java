@@ -7,8 +7,6 @@ import io.fabric8.kubernetes.api.model.ResourceRequirements;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import org.keycloak.k8s.v2alpha1.Keycloak;
-import org.trustify.operator.Constants;
 import org.trustify.operator.TrustifyConfig;
 import org.trustify.operator.TrustifyImagesConfig;
 import org.trustify.operator.cdrs.v2alpha1.Trustify;
@@ -23,7 +21,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicReference;
 
 @ApplicationScoped
 public class UIDeploymentConfigurator implements ResourceConfigurator {
@@ -83,11 +80,10 @@ public class UIDeploymentConfigurator implements ResourceConfigurator {
                                 ))
                                 .orElseGet(ArrayList::new);
                     } else {
-                        final AtomicReference<Keycloak> keycloakInstance = context.managedDependentResourceContext().getMandatory(Constants.KEYCLOAK, AtomicReference.class);
                         envVars = List.of(
                                 new EnvVarBuilder()
                                         .withName("OIDC_SERVER_URL")
-                                        .withValue(KeycloakServerService.getServiceUrl(cr, keycloakInstance.get()))
+                                        .withValue(KeycloakServerService.getServiceUrl(cr, context).orElseThrow())
                                         .build(),
                                 new EnvVarBuilder()
                                         .withName("OIDC_CLIENT_ID")
@@ -126,7 +122,7 @@ public class UIDeploymentConfigurator implements ResourceConfigurator {
                         .build(),
                 new EnvVarBuilder()
                         .withName("TRUSTIFY_API_URL")
-                        .withValue(serverService.getServiceUrl(cr))
+                        .withValue(serverService.getServiceUrl(cr, context))
                         .build(),
                 new EnvVarBuilder()
                         .withName("UI_INGRESS_PROXY_BODY_SIZE")
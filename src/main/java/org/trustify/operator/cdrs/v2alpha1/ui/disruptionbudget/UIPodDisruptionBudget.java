@@ -0,0 +1,37 @@
+package org.trustify.operator.cdrs.v2alpha1.ui.disruptionbudget;
+
+import io.fabric8.kubernetes.api.model.policy.v1.PodDisruptionBudget;
+import io.fabric8.kubernetes.api.model.policy.v1.PodDisruptionBudgetBuilder;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.trustify.operator.Constants;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.cdrs.v2alpha1.availability.PodAvailability;
+import org.trustify.operator.controllers.TrustifyDependentResource;
+
+@KubernetesDependent(labelSelector = UIPodDisruptionBudget.LABEL_SELECTOR, resourceDiscriminator = UIPodDisruptionBudgetDiscriminator.class)
+@ApplicationScoped
+public class UIPodDisruptionBudget extends TrustifyDependentResource<PodDisruptionBudget> {
+
+    public static final String LABEL_SELECTOR = "app.kubernetes.io/managed-by=trustify-operator,component=ui";
+
+    public UIPodDisruptionBudget() {
+        super(PodDisruptionBudget.class);
+    }
+
+    @Override
+    public PodDisruptionBudget desired(Trustify cr, Context<Trustify> context) {
+        return new PodDisruptionBudgetBuilder()
+                .withMetadata(Constants.metadataBuilder
+                        .apply(new Constants.Resource(getPodDisruptionBudgetName(cr), LABEL_SELECTOR, cr))
+                        .build()
+                )
+                .withSpec(PodAvailability.ui(cr).getPodDisruptionBudgetSpec())
+                .build();
+    }
+
+    public static String getPodDisruptionBudgetName(Trustify cr) {
+        return cr.getMetadata().getName() + Constants.UI_POD_DISRUPTION_BUDGET_SUFFIX;
+    }
+}
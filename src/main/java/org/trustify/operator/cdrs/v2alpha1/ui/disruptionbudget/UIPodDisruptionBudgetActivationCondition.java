@@ -0,0 +1,17 @@
+package org.trustify.operator.cdrs.v2alpha1.ui.disruptionbudget;
+
+import io.fabric8.kubernetes.api.model.policy.v1.PodDisruptionBudget;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.api.reconciler.dependent.DependentResource;
+import io.javaoperatorsdk.operator.processing.dependent.workflow.Condition;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.cdrs.v2alpha1.availability.PodAvailability;
+
+public class UIPodDisruptionBudgetActivationCondition implements Condition<PodDisruptionBudget, Trustify> {
+
+    @Override
+    public boolean isMet(DependentResource<PodDisruptionBudget, Trustify> resource, Trustify cr, Context<Trustify> context) {
+        return PodAvailability.ui(cr).isPodDisruptionBudgetEnabled();
+    }
+
+}
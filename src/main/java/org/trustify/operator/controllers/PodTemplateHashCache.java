@@ -0,0 +1,163 @@
+package org.trustify.operator.controllers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.PodTemplateSpec;
+import io.fabric8.kubernetes.api.model.Quantity;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the hash of the desired pod template of each workload, so matching an existing workload is an annotation
+ * comparison instead of rebuilding and diffing the whole template on every reconciliation.
+ * A hash is reused until the CR generation or one of the inputs that are not part of the CR spec changes.
+ * An edit of the live pod template keeps the annotation, so the live template is also compared with the desired one,
+ * once per resourceVersion of the workload.
+ */
+@ApplicationScoped
+public class PodTemplateHashCache {
+
+    public static final String DESIRED_STATE_HASH_ANNOTATION = "trustify-operator/desired-state-hash";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    private record Entry(List<Object> inputs, String hash, JsonNode template) {
+    }
+
+    private final Map<String, Entry> hashes = new ConcurrentHashMap<>();
+
+    // The resourceVersion and desired hash of the last live template found to match, per workload
+    private final Map<String, String> verifiedTemplates = new ConcurrentHashMap<>();
+
+    public String store(String workloadName, Trustify cr, List<?> inputs, PodTemplateSpec desiredTemplate) {
+        String hash = computeHash(desiredTemplate);
+        hashes.put(getKey(workloadName, cr), new Entry(getInputs(cr, inputs), hash, objectMapper.valueToTree(desiredTemplate)));
+        return hash;
+    }
+
+    public Optional<String> lookup(String workloadName, Trustify cr, List<?> inputs) {
+        return getEntry(workloadName, cr, inputs).map(Entry::hash);
+    }
+
+    /**
+     * The desired workload is only rendered, and stored, when its hash is not cached.
+     */
+    public boolean matches(String workloadName, Trustify cr, List<?> inputs, Supplier<? extends HasMetadata> desired, HasMetadata actual, PodTemplateSpec actualTemplate) {
+        Entry entry = getEntry(workloadName, cr, inputs).orElseGet(() -> {
+            desired.get();
+            return hashes.get(getKey(workloadName, cr));
+        });
+        if (!getHash(actual).map(entry.hash()::equals).orElse(false)) {
+            return false;
+        }
+
+        String key = getKey(workloadName, cr);
+        String verified = actual.getMetadata().getResourceVersion() + "/" + entry.hash();
+        if (verified.equals(verifiedTemplates.get(key))) {
+            return true;
+        }
+
+        boolean match = containsDesired(entry.template(), objectMapper.valueToTree(actualTemplate), false);
+        if (match && actual.getMetadata().getResourceVersion() != null) {
+            verifiedTemplates.put(key, verified);
+        }
+        return match;
+    }
+
+    public void evict(Trustify cr) {
+        String prefix = cr.getMetadata().getUid() + "/";
+        hashes.keySet().removeIf(key -> key.startsWith(prefix));
+        verifiedTemplates.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    public static Optional<String> getHash(HasMetadata workload) {
+        return Optional.ofNullable(workload.getMetadata().getAnnotations())
+                .map(annotations -> annotations.get(DESIRED_STATE_HASH_ANNOTATION));
+    }
+
+    /**
+     * Hash of any desired state, like a pod template, independent of the map orders.
+     */
+    public static String computeHash(Object desiredState) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(desiredState));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not compute the hash of the desired state", e);
+        }
+    }
+
+    /**
+     * The live template also holds the defaults of the API server, so fields the desired template does not set are
+     * ignored. Lists must have the same length, an added container, env var or volume is a change.
+     */
+    static boolean containsDesired(JsonNode desired, JsonNode actual, boolean quantities) {
+        if (desired == null || desired.isNull()) {
+            return true;
+        }
+        if (actual == null || actual.isNull()) {
+            // The API server omits empty values, like a readOnly false volume mount
+            return switch (desired.getNodeType()) {
+                case ARRAY, OBJECT -> desired.isEmpty();
+                case STRING -> desired.asText().isEmpty();
+                case BOOLEAN -> !desired.booleanValue();
+                case NUMBER -> desired.asDouble() == 0;
+                default -> false;
+            };
+        }
+        if (desired.isObject()) {
+            if (!actual.isObject()) {
+                return false;
+            }
+            for (Map.Entry<String, JsonNode> field : desired.properties()) {
+                boolean isQuantities = quantities || field.getKey().equals("limits") || field.getKey().equals("requests");
+                if (!containsDesired(field.getValue(), actual.get(field.getKey()), isQuantities)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (desired.isArray()) {
+            if (!actual.isArray() || actual.size() != desired.size()) {
+                return false;
+            }
+            for (int i = 0; i < desired.size(); i++) {
+                if (!containsDesired(desired.get(i), actual.get(i), false)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (quantities && desired.isTextual() && actual.isTextual()) {
+            // The API server stores quantities in their canonical form, like 500m for 0.5
+            return new Quantity(desired.asText()).equals(new Quantity(actual.asText()));
+        }
+        return desired.equals(actual);
+    }
+
+    private Optional<Entry> getEntry(String workloadName, Trustify cr, List<?> inputs) {
+        return Optional.ofNullable(hashes.get(getKey(workloadName, cr)))
+                .filter(entry -> Objects.equals(entry.inputs(), getInputs(cr, inputs)));
+    }
+
+    private static String getKey(String workloadName, Trustify cr) {
+        return cr.getMetadata().getUid() + "/" + workloadName;
+    }
+
+    private static List<Object> getInputs(Trustify cr, List<?> inputs) {
+        List<Object> result = new ArrayList<>();
+        result.add(cr.getMetadata().getGeneration());
+        result.addAll(inputs);
+        return result;
+    }
+}
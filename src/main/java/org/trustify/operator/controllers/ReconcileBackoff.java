@@ -0,0 +1,73 @@
+package org.trustify.operator.controllers;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.javaoperatorsdk.operator.api.reconciler.UpdateControl;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.trustify.operator.TrustifyConfig;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.cdrs.v2alpha1.TrustifyStatus;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with jitter for CRs waiting on something the operator does not get events for. The attempt count
+ * is kept in the status of the CR, it restarts when the CR waits for a different reason and is cleared once the CR
+ * stops waiting.
+ */
+@ApplicationScoped
+public class ReconcileBackoff {
+
+    public static final String RETRIES = "trustify.reconcile.retries";
+
+    @Inject
+    TrustifyConfig trustifyConfig;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    public UpdateControl<Trustify> retry(Trustify cr, String reason) {
+        TrustifyStatus status = cr.getStatus();
+        int attempts = Objects.equals(status.getRetryReason(), reason) && status.getRetryAttempts() != null ?
+                status.getRetryAttempts() + 1 :
+                1;
+        Duration delay = getDelay(trustifyConfig.backoff(), attempts, ThreadLocalRandom.current().nextDouble());
+
+        status.setRetryReason(reason);
+        status.setRetryAttempts(attempts);
+        status.setRetryDelay(delay.toString());
+
+        Counter.builder(RETRIES)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+
+        return UpdateControl.patchStatus(cr).rescheduleAfter(delay);
+    }
+
+    /**
+     * @return whether the status had retry information to clear
+     */
+    public boolean reset(Trustify cr) {
+        TrustifyStatus status = cr.getStatus();
+        boolean wasRetrying = status.getRetryReason() != null || status.getRetryAttempts() != null || status.getRetryDelay() != null;
+
+        status.setRetryReason(null);
+        status.setRetryAttempts(null);
+        status.setRetryDelay(null);
+        return wasRetrying;
+    }
+
+    /**
+     * @param random uniformly distributed in [0, 1)
+     */
+    static Duration getDelay(TrustifyConfig.BackoffConfig config, int attempts, double random) {
+        double maxMillis = config.maxDelay().toMillis();
+        double delayMillis = Math.min(maxMillis, config.initialDelay().toMillis() * Math.pow(config.multiplier(), attempts - 1));
+        double jitteredMillis = delayMillis * (1 + config.jitter() * (2 * random - 1));
+        return Duration.ofMillis((long) Math.max(0, Math.min(maxMillis, jitteredMillis)));
+    }
+}
@@ -0,0 +1,84 @@
+package org.trustify.operator.controllers;
+
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import org.trustify.operator.Constants;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Values derived from the CR that several dependents need during the same reconciliation (configurator output,
+ * hostname, TLS secret name, Keycloak URL and readiness, migration Job name, referenced secrets). A new instance is put in the context for every reconciliation and it only
+ * serves values for the uid and resourceVersion it was created for.
+ */
+public class ReconcileCache {
+
+    public static final String HOSTNAME = "hostname";
+    public static final String SERVER_TLS_SECRET_NAME = "serverTlsSecretName";
+    public static final String KEYCLOAK_URL = "keycloakUrl";
+    public static final String READY_KEYCLOAK = "readyKeycloak";
+    public static final String SERVER_MIGRATION_JOB_NAME = "serverMigrationJobName";
+    /**
+     * Prefix of the keys of the secrets referenced by name, followed by the name of the secret.
+     */
+    public static final String REFERENCED_SECRET = "referencedSecret/";
+
+    private final String resourceKey;
+    private final Map<String, Object> values = new ConcurrentHashMap<>();
+
+    public ReconcileCache(Trustify cr) {
+        this.resourceKey = getResourceKey(cr);
+    }
+
+    public static ReconcileCache get(Context<Trustify> context) {
+        return context.managedDependentResourceContext()
+                .get(Constants.RECONCILE_CACHE, ReconcileCache.class)
+                .orElseGet(() -> new ReconcileCache(null));
+    }
+
+    public ResourceConfigurator.Config config(ResourceConfigurator configurator, Trustify cr, Context<Trustify> context) {
+        return computeIfAbsent(cr, configurator.getClass().getName(), () -> configurator.configureDeployment(cr, context));
+    }
+
+    /**
+     * Suppliers may read other cached values, so this does not rely on {@link ConcurrentHashMap#computeIfAbsent}
+     * which rejects recursive updates. Two dependents racing on the same key compute it twice, which is harmless.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T computeIfAbsent(Trustify cr, String key, Supplier<T> supplier) {
+        if (resourceKey == null || !Objects.equals(resourceKey, getResourceKey(cr))) {
+            return supplier.get();
+        }
+
+        T value = (T) values.get(key);
+        if (value == null) {
+            value = supplier.get();
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * For values computed before the workflow, read by code instantiated by the operator framework that cannot compute them.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> get(Trustify cr, String key) {
+        if (resourceKey == null || !Objects.equals(resourceKey, getResourceKey(cr))) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable((T) values.get(key));
+    }
+
+    private static String getResourceKey(Trustify cr) {
+        if (cr == null || cr.getMetadata() == null || cr.getMetadata().getUid() == null) {
+            return null;
+        }
+        return cr.getMetadata().getUid() + "/" + cr.getMetadata().getResourceVersion();
+    }
+}
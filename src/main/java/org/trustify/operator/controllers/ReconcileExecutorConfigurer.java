@@ -0,0 +1,77 @@
+package org.trustify.operator.controllers;
+
+import io.javaoperatorsdk.operator.api.config.ConfigurationService;
+import io.quarkiverse.operatorsdk.runtime.QuarkusConfigurationService;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
+import org.jboss.logging.Logger;
+import org.trustify.operator.TrustifyConfig;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Replaces the JOSDK reconcile and workflow executors according to {@link TrustifyConfig#reconcileExecutor()}.
+ * Reconciliations mostly wait on synchronous API calls, with virtual threads a blocked reconciliation does not hold a
+ * platform thread.
+ */
+@ApplicationScoped
+public class ReconcileExecutorConfigurer {
+
+    private static final Logger logger = Logger.getLogger(ReconcileExecutorConfigurer.class);
+
+    public static final String RECONCILER_THREAD_PREFIX = "trustify-reconciler-";
+
+    @Inject
+    TrustifyConfig trustifyConfig;
+
+    @Inject
+    QuarkusConfigurationService configurationService;
+
+    // The executors are picked up when the ExecutorServiceManager starts, which happens once and before the operator
+    // starts its controllers
+    void onStart(@Observes @Priority(Interceptor.Priority.PLATFORM_BEFORE) StartupEvent event) {
+        TrustifyConfig.ReconcileExecutorConfig config = trustifyConfig.reconcileExecutor();
+        if (config.mode() == TrustifyConfig.ReconcileExecutorConfig.Mode.PLATFORM && config.threads().isEmpty()) {
+            return;
+        }
+
+        ExecutorService executorService = newExecutorService(config.mode(), config.threads().orElse(0), RECONCILER_THREAD_PREFIX);
+        ExecutorService workflowExecutorService = newExecutorService(config.mode(), configurationService.concurrentWorkflowExecutorThreads(), "trustify-workflow-");
+        configurationService.getExecutorServiceManager().start(ConfigurationService.newOverriddenConfigurationService(configurationService, overrider -> overrider
+                .withExecutorService(executorService)
+                .withWorkflowExecutorService(workflowExecutorService)
+        ));
+
+        // The manager ignores the executors if it was started before this observer
+        String threadName = getThreadName(configurationService.getExecutorServiceManager().reconcileExecutorService());
+        if (!threadName.startsWith(RECONCILER_THREAD_PREFIX)) {
+            throw new IllegalStateException("The reconcile executor was not replaced, reconciling on thread " + threadName);
+        }
+
+        logger.infof("Reconciling with %s threads", config.mode().name().toLowerCase());
+    }
+
+    public static String getThreadName(ExecutorService executorService) {
+        try {
+            return executorService.submit(() -> Thread.currentThread().getName()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public static ExecutorService newExecutorService(TrustifyConfig.ReconcileExecutorConfig.Mode mode, int threads, String namePrefix) {
+        return switch (mode) {
+            case PLATFORM -> Executors.newFixedThreadPool(threads, Thread.ofPlatform().name(namePrefix, 0).factory());
+            case VIRTUAL -> Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix, 0).factory());
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package org.trustify.operator.controllers;
+
+import io.javaoperatorsdk.operator.processing.event.source.filter.GenericFilter;
+import io.quarkus.arc.Arc;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.services.ShardingService;
+
+/**
+ * Drops the events of the CRs that belong to another operator replica. The filter is instantiated by the operator
+ * framework, so the {@link ShardingService} is looked up lazily.
+ */
+public class ShardFilter implements GenericFilter<Trustify> {
+
+    private volatile ShardingService shardingService;
+
+    @Override
+    public boolean accept(Trustify cr) {
+        if (shardingService == null) {
+            shardingService = Arc.container().instance(ShardingService.class).get();
+        }
+        return shardingService.isOwned(cr);
+    }
+}
@@ -0,0 +1,54 @@
+package org.trustify.operator.controllers;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.dependent.kubernetes.CRUDKubernetesDependentResource;
+import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependentResourceConfig;
+import jakarta.inject.Inject;
+import org.trustify.operator.TrustifyConfig;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.metrics.ApiCaller;
+import org.trustify.operator.metrics.InstrumentedDependent;
+import org.trustify.operator.services.ShardingService;
+
+/**
+ * Base of the dependents of {@link Trustify}. Creates and updates go through server-side apply only when
+ * {@link TrustifyConfig#serverSideApply()} is enabled, otherwise desired objects are written with full updates.
+ * With sharding enabled, events of resources owned by CRs of other shards are dropped, and with a shard configured
+ * the informers only watch the resources of that shard. The phases of every dependent
+ * are timed through {@link InstrumentedDependent}, and the API requests they send are attributed to them through
+ * {@link ApiCaller}.
+ */
+@ApiCaller
+@InstrumentedDependent
+public abstract class TrustifyDependentResource<R extends HasMetadata> extends CRUDKubernetesDependentResource<R, Trustify> {
+
+    @Inject
+    TrustifyConfig trustifyConfig;
+
+    @Inject
+    ShardingService shardingService;
+
+    public TrustifyDependentResource(Class<R> resourceType) {
+        super(resourceType);
+    }
+
+    @Override
+    protected boolean useSSA(Context<Trustify> context) {
+        return trustifyConfig.serverSideApply();
+    }
+
+    @Override
+    public void configureWith(KubernetesDependentResourceConfig<R> config) {
+        config.setLabelSelector(shardingService.getLabelSelector(config.labelSelector()));
+        super.configureWith(config);
+    }
+
+    @Override
+    protected void applyFilters() {
+        super.applyFilters();
+        if (shardingService.isEnabled()) {
+            eventSource().ifPresent(eventSource -> eventSource.setGenericFilter(shardingService::isOwnerOwned));
+        }
+    }
+}
@@ -1,28 +1,43 @@
 package org.trustify.operator.controllers;
 
 import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.fabric8.kubernetes.api.model.autoscaling.v2.HorizontalPodAutoscaler;
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import io.fabric8.kubernetes.api.model.policy.v1.PodDisruptionBudget;
+import io.fabric8.openshift.api.model.operatorhub.v1alpha1.ClusterServiceVersion;
+import io.fabric8.openshift.api.model.operatorhub.v1alpha1.Subscription;
 import io.javaoperatorsdk.operator.api.config.informer.InformerConfiguration;
 import io.javaoperatorsdk.operator.api.reconciler.*;
 import io.javaoperatorsdk.operator.api.reconciler.dependent.Dependent;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
 import io.javaoperatorsdk.operator.processing.event.source.EventSource;
+import io.javaoperatorsdk.operator.processing.event.source.SecondaryToPrimaryMapper;
+import io.javaoperatorsdk.operator.processing.event.source.inbound.SimpleInboundEventSource;
 import io.javaoperatorsdk.operator.processing.event.source.informer.InformerEventSource;
 import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
 import org.keycloak.k8s.v2alpha1.Keycloak;
 import org.keycloak.k8s.v2alpha1.KeycloakRealmImport;
 import org.trustify.operator.Constants;
+import org.trustify.operator.TrustifyConfig;
 import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.cdrs.v2alpha1.TrustifyConfiguration;
 import org.trustify.operator.cdrs.v2alpha1.TrustifyStatusCondition;
+import org.trustify.operator.cdrs.v2alpha1.TrustifyStatusDatabaseConnections;
+import org.trustify.operator.cdrs.v2alpha1.importer.disruptionbudget.ImporterPodDisruptionBudget;
+import org.trustify.operator.cdrs.v2alpha1.importer.disruptionbudget.ImporterPodDisruptionBudgetActivationCondition;
 import org.trustify.operator.cdrs.v2alpha1.importer.statefulset.ImporterStatefulSet;
+import org.trustify.operator.cdrs.v2alpha1.importer.statefulset.ImporterStatefulSetConfigurator;
 import org.trustify.operator.cdrs.v2alpha1.importer.statefulset.ImporterStatefulSetReadyPostCondition;
-import org.trustify.operator.cdrs.v2alpha1.importer.statefulset.ImporterStatefulSetReconcilePreCondition;
 import org.trustify.operator.cdrs.v2alpha1.ingress.AppIngress;
 import org.trustify.operator.cdrs.v2alpha1.ingress.AppIngressReadyPostCondition;
+import org.trustify.operator.cdrs.v2alpha1.keycloak.KeycloakReadyPreCondition;
 import org.trustify.operator.cdrs.v2alpha1.keycloak.db.deployment.KeycloakDBDeployment;
 import org.trustify.operator.cdrs.v2alpha1.keycloak.db.deployment.KeycloakDBDeploymentActivationCondition;
 import org.trustify.operator.cdrs.v2alpha1.keycloak.db.deployment.KeycloakDBDeploymentReadyPostCondition;
@@ -33,11 +48,19 @@ import org.trustify.operator.cdrs.v2alpha1.keycloak.db.secret.KeycloakDBSecretAc
 import org.trustify.operator.cdrs.v2alpha1.keycloak.db.service.KeycloakDBService;
 import org.trustify.operator.cdrs.v2alpha1.keycloak.db.service.KeycloakDBServiceActivationCondition;
 import org.trustify.operator.cdrs.v2alpha1.keycloak.utils.KeycloakUtils;
+import org.trustify.operator.cdrs.v2alpha1.server.autoscaler.ServerHorizontalPodAutoscaler;
+import org.trustify.operator.cdrs.v2alpha1.server.autoscaler.ServerHorizontalPodAutoscalerActivationCondition;
 import org.trustify.operator.cdrs.v2alpha1.server.configmap.ServerConfigMap;
 import org.trustify.operator.cdrs.v2alpha1.server.configmap.ServerConfigMapReconcilePreCondition;
+import org.trustify.operator.cdrs.v2alpha1.server.db.DBConnectionBudget;
 import org.trustify.operator.cdrs.v2alpha1.server.db.deployment.DBDeployment;
 import org.trustify.operator.cdrs.v2alpha1.server.db.deployment.DBDeploymentActivationCondition;
 import org.trustify.operator.cdrs.v2alpha1.server.db.deployment.DBDeploymentReadyPostCondition;
+import org.trustify.operator.cdrs.v2alpha1.server.db.pooler.deployment.DBPoolerDeployment;
+import org.trustify.operator.cdrs.v2alpha1.server.db.pooler.deployment.DBPoolerDeploymentActivationCondition;
+import org.trustify.operator.cdrs.v2alpha1.server.db.pooler.deployment.DBPoolerDeploymentReadyPostCondition;
+import org.trustify.operator.cdrs.v2alpha1.server.db.pooler.service.DBPoolerService;
+import org.trustify.operator.cdrs.v2alpha1.server.db.pooler.service.DBPoolerServiceActivationCondition;
 import org.trustify.operator.cdrs.v2alpha1.server.db.pvc.DBPersistentVolumeClaim;
 import org.trustify.operator.cdrs.v2alpha1.server.db.pvc.DBPersistentVolumeClaimActivationCondition;
 import org.trustify.operator.cdrs.v2alpha1.server.db.secret.DBSecret;
@@ -45,31 +68,58 @@ import org.trustify.operator.cdrs.v2alpha1.server.db.secret.DBSecretActivationCo
 import org.trustify.operator.cdrs.v2alpha1.server.db.service.DBService;
 import org.trustify.operator.cdrs.v2alpha1.server.db.service.DBServiceActivationCondition;
 import org.trustify.operator.cdrs.v2alpha1.server.deployment.ServerDeployment;
+import org.trustify.operator.cdrs.v2alpha1.server.deployment.ServerDeploymentConfigurator;
 import org.trustify.operator.cdrs.v2alpha1.server.deployment.ServerDeploymentReadyPostCondition;
 import org.trustify.operator.cdrs.v2alpha1.server.deployment.ServerDeploymentReconcilePreCondition;
+import org.trustify.operator.cdrs.v2alpha1.server.disruptionbudget.ServerPodDisruptionBudget;
+import org.trustify.operator.cdrs.v2alpha1.server.disruptionbudget.ServerPodDisruptionBudgetActivationCondition;
+import org.trustify.operator.cdrs.v2alpha1.server.migration.ServerMigrationJob;
+import org.trustify.operator.cdrs.v2alpha1.server.migration.ServerMigrationJobDiscriminator;
+import org.trustify.operator.cdrs.v2alpha1.server.migration.ServerMigrationJobReadyPostCondition;
 import org.trustify.operator.cdrs.v2alpha1.server.pvc.ServerStoragePersistentVolumeClaim;
 import org.trustify.operator.cdrs.v2alpha1.server.pvc.ServerStoragePersistentVolumeClaimActivationCondition;
 import org.trustify.operator.cdrs.v2alpha1.server.service.ServerService;
 import org.trustify.operator.cdrs.v2alpha1.server.service.ServerServiceReadyPostCondition;
 import org.trustify.operator.cdrs.v2alpha1.ui.deployment.UIDeployment;
+import org.trustify.operator.cdrs.v2alpha1.ui.deployment.UIDeploymentReconcilePreCondition;
+import org.trustify.operator.cdrs.v2alpha1.ui.disruptionbudget.UIPodDisruptionBudget;
+import org.trustify.operator.cdrs.v2alpha1.ui.disruptionbudget.UIPodDisruptionBudgetActivationCondition;
 import org.trustify.operator.cdrs.v2alpha1.ui.service.UIService;
+import org.trustify.operator.metrics.ApiRequestContext;
+import org.trustify.operator.metrics.ApiRequestMetrics;
+import org.trustify.operator.metrics.DependentMetrics;
+import org.trustify.operator.metrics.ProvisioningTimeline;
+import org.trustify.operator.services.CapabilityService;
+import org.trustify.operator.services.Cluster;
 import org.trustify.operator.services.ClusterService;
 import org.trustify.operator.services.KeycloakOperatorService;
 import org.trustify.operator.services.KeycloakRealmService;
 import org.trustify.operator.services.KeycloakServerService;
+import org.trustify.operator.services.ShardingService;
+import org.trustify.operator.utils.InformerUtils;
+import org.trustify.operator.utils.ClusterServiceVersionPruningItemStore;
+import org.trustify.operator.utils.ManagedFieldsPruningItemStore;
+import org.trustify.operator.utils.SecretDataPruningItemStore;
 
-import java.time.Duration;
+import java.time.Instant;
 import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static io.javaoperatorsdk.operator.api.reconciler.Constants.WATCH_CURRENT_NAMESPACE;
 
 @ControllerConfiguration(
         namespaces = WATCH_CURRENT_NAMESPACE,
         name = "trustify",
+        fieldManager = Constants.FIELD_MANAGER,
+        genericFilter = ShardFilter.class,
         dependents = {
                 @Dependent(
                         name = "keycloak-db-pvc",
@@ -116,6 +166,17 @@ import static io.javaoperatorsdk.operator.api.reconciler.Constants.WATCH_CURRENT
                         type = DBService.class,
                         activationCondition = DBServiceActivationCondition.class
                 ),
+                @Dependent(
+                        name = "db-pooler-deployment",
+                        type = DBPoolerDeployment.class,
+                        activationCondition = DBPoolerDeploymentActivationCondition.class,
+                        readyPostcondition = DBPoolerDeploymentReadyPostCondition.class
+                ),
+                @Dependent(
+                        name = "db-pooler-service",
+                        type = DBPoolerService.class,
+                        activationCondition = DBPoolerServiceActivationCondition.class
+                ),
 
                 @Dependent(
                         name = "server-pvc",
@@ -127,10 +188,15 @@ import static io.javaoperatorsdk.operator.api.reconciler.Constants.WATCH_CURRENT
                         type = ServerConfigMap.class,
                         reconcilePrecondition = ServerConfigMapReconcilePreCondition.class
                 ),
+                @Dependent(
+                        name = "server-migration-job",
+                        type = ServerMigrationJob.class,
+                        readyPostcondition = ServerMigrationJobReadyPostCondition.class
+                ),
                 @Dependent(
                         name = "server-deployment",
                         type = ServerDeployment.class,
-                        dependsOn = {"server-configmap", "server-service"},
+                        dependsOn = {"server-configmap", "server-service", "server-migration-job"},
                         reconcilePrecondition = ServerDeploymentReconcilePreCondition.class,
                         readyPostcondition = ServerDeploymentReadyPostCondition.class
                 ),
@@ -139,24 +205,45 @@ import static io.javaoperatorsdk.operator.api.reconciler.Constants.WATCH_CURRENT
                         type = ServerService.class,
                         readyPostcondition = ServerServiceReadyPostCondition.class
                 ),
+                @Dependent(
+                        name = "server-autoscaler",
+                        type = ServerHorizontalPodAutoscaler.class,
+                        dependsOn = {"server-deployment"},
+                        activationCondition = ServerHorizontalPodAutoscalerActivationCondition.class
+                ),
+                @Dependent(
+                        name = "server-pdb",
+                        type = ServerPodDisruptionBudget.class,
+                        activationCondition = ServerPodDisruptionBudgetActivationCondition.class
+                ),
 
                 @Dependent(
                         name = "importer-stateful-set",
                         type = ImporterStatefulSet.class,
-                        reconcilePrecondition = ImporterStatefulSetReconcilePreCondition.class,
+                        dependsOn = {"server-migration-job"},
                         readyPostcondition = ImporterStatefulSetReadyPostCondition.class
                 ),
+                @Dependent(
+                        name = "importer-pdb",
+                        type = ImporterPodDisruptionBudget.class,
+                        activationCondition = ImporterPodDisruptionBudgetActivationCondition.class
+                ),
 
                 @Dependent(
                         name = "ui-deployment",
                         type = UIDeployment.class,
-                        dependsOn = {"server-deployment"},
+                        reconcilePrecondition = UIDeploymentReconcilePreCondition.class,
                         readyPostcondition = UIDeployment.class
                 ),
                 @Dependent(
                         name = "ui-service",
                         type = UIService.class
                 ),
+                @Dependent(
+                        name = "ui-pdb",
+                        type = UIPodDisruptionBudget.class,
+                        activationCondition = UIPodDisruptionBudgetActivationCondition.class
+                ),
 
                 @Dependent(
                         name = "app-ingress",
@@ -175,10 +262,34 @@ public class TrustifyReconciler implements Reconciler<Trustify>, Cleaner<Trustif
     public static final String DEPLOYMENT_EVENT_SOURCE = "deploymentSource";
     public static final String SERVICE_EVENT_SOURCE = "serviceSource";
     public static final String STATEFUL_SET_EVENT_SOURCE = "statefulSetSource";
+    public static final String JOB_EVENT_SOURCE = "jobSource";
+    public static final String HORIZONTAL_POD_AUTOSCALER_EVENT_SOURCE = "horizontalPodAutoscalerSource";
+    public static final String POD_DISRUPTION_BUDGET_EVENT_SOURCE = "podDisruptionBudgetSource";
+    public static final String SUBSCRIPTION_EVENT_SOURCE = "subscriptionSource";
+    public static final String CLUSTER_SERVICE_VERSION_EVENT_SOURCE = "clusterServiceVersionSource";
+    public static final String KEYCLOAK_EVENT_SOURCE = "keycloakSource";
+    public static final String KEYCLOAK_REALM_IMPORT_EVENT_SOURCE = "keycloakRealmImportSource";
+    public static final String SHARD_REBALANCE_EVENT_SOURCE = "shardRebalanceSource";
+    public static final String CAPABILITY_CHANGE_EVENT_SOURCE = "capabilityChangeSource";
+    public static final String REFERENCED_SECRET_EVENT_SOURCE = "referencedSecretSource";
+
+    public static final String REFERENCED_SECRET_INDEX = "referencedSecret";
+
+    // Dependents and the components they wait for, to report the critical path of provisionings
+    public static final Map<String, Set<String>> WORKFLOW_PREDECESSORS = WorkflowGraph.predecessors(TrustifyReconciler.class);
+
+    // Not a monitor, a virtual thread blocked on the registration of an informer would pin its carrier thread
+    private final ReentrantLock eventSourcesLock = new ReentrantLock();
+
+    @Inject
+    TrustifyConfig trustifyConfig;
 
     @Inject
     ClusterService clusterService;
 
+    @Inject
+    CapabilityService capabilityService;
+
     @Inject
     KeycloakOperatorService keycloakOperatorService;
 
@@ -188,21 +299,63 @@ public class TrustifyReconciler implements Reconciler<Trustify>, Cleaner<Trustif
     @Inject
     KeycloakRealmService keycloakRealmService;
 
-    AtomicReference<Keycloak> keycloakInstance = new AtomicReference<>();
-    AtomicReference<KeycloakRealmImport> keycloakRealmImportInstance = new AtomicReference<>();
+    @Inject
+    PodTemplateHashCache podTemplateHashCache;
+
+    @Inject
+    ShardingService shardingService;
+
+    @Inject
+    ReconcileBackoff reconcileBackoff;
+
+    @Inject
+    DependentMetrics dependentMetrics;
+
+    @Inject
+    ApiRequestMetrics apiRequestMetrics;
+
+    @Inject
+    ServerDeploymentConfigurator serverDeploymentConfigurator;
+
+    @Inject
+    ImporterStatefulSetConfigurator importerStatefulSetConfigurator;
 
     @Override
     public void initContext(Trustify cr, Context<Trustify> context) {
         context.managedDependentResourceContext().put(Constants.CLUSTER_SERVICE, clusterService);
-        context.managedDependentResourceContext().put(Constants.CONTEXT_KEYCLOAK_SERVER_SERVICE_KEY, keycloakServerService);
-        context.managedDependentResourceContext().put(Constants.CONTEXT_KEYCLOAK_REALM_SERVICE_KEY, keycloakRealmService);
+        ReconcileCache reconcileCache = new ReconcileCache(cr);
+        context.managedDependentResourceContext().put(Constants.RECONCILE_CACHE, reconcileCache);
+
+        // The discriminator of the migration Job is instantiated by the operator framework and only reads its name
+        reconcileCache.computeIfAbsent(cr, ReconcileCache.SERVER_MIGRATION_JOB_NAME, () ->
+                ServerMigrationJob.getJobName(cr, reconcileCache.config(serverDeploymentConfigurator, cr, context))
+        );
 
-        context.managedDependentResourceContext().put(Constants.KEYCLOAK, keycloakInstance);
-        context.managedDependentResourceContext().put(Constants.KEYCLOAK_REALM_IMPORT, keycloakRealmImportInstance);
+        // Before the workflow, so the dependents on APIs installed after the operator started find their informers
+        if (capabilityService.supports(CapabilityService.Capability.HPA_V2)) {
+            registerHorizontalPodAutoscalerEventSource(context);
+        }
+
+        // Called before the workflow, so the requests of the dependents are part of the budget of the reconciliation
+        apiRequestMetrics.beginReconcile(cr);
     }
 
     @Override
     public UpdateControl<Trustify> reconcile(Trustify cr, Context<Trustify> context) {
+        try {
+            return ApiRequestContext.call(cr, TrustifyReconciler.class.getSimpleName(), () -> doReconcile(cr, context));
+        } finally {
+            apiRequestMetrics.endReconcile(cr);
+        }
+    }
+
+    private UpdateControl<Trustify> doReconcile(Trustify cr, Context<Trustify> context) {
+        // Scheduled reconciliations are not filtered by the shard filter and might still be pending after a rebalance
+        if (!shardingService.isOwned(cr)) {
+            return UpdateControl.noUpdate();
+        }
+
+        // JOSDK has already run the workflow, only the dependents gated by KeycloakReadyPreCondition wait for Keycloak
         Optional<UpdateControl<Trustify>> kcUpdateControl = createOrUpdateKeycloakResources(cr, context);
         if (kcUpdateControl.isPresent()) {
             return kcUpdateControl.get();
@@ -214,19 +367,27 @@ public class TrustifyReconciler implements Reconciler<Trustify>, Cleaner<Trustif
     private Optional<UpdateControl<Trustify>> createOrUpdateKeycloakResources(Trustify cr, Context<Trustify> context) {
         boolean isKcRequired = KeycloakUtils.isKeycloakRequired(cr);
         if (isKcRequired) {
+            // OLM might have been installed after the operator started
+            if (capabilityService.supports(CapabilityService.Capability.OLM)) {
+                registerOlmEventSources(context);
+            }
+
             // Keycloak Operator
-            boolean kcSubscriptionExists = keycloakOperatorService.getCurrentInstance(cr).isPresent();
+            boolean kcSubscriptionExists = keycloakOperatorService.getCurrentInstance(cr, context).isPresent();
             if (!kcSubscriptionExists) {
                 logger.info("Installing Keycloak Operator");
-                keycloakOperatorService.createSubscription(cr);
+                keycloakOperatorService.createSubscription(cr, context);
             }
 
-            AbstractMap.SimpleEntry<Boolean, String> subscriptionReady = keycloakOperatorService.isSubscriptionReady(cr);
+            AbstractMap.SimpleEntry<Boolean, String> subscriptionReady = keycloakOperatorService.isSubscriptionReady(cr, context);
             if (!subscriptionReady.getKey()) {
                 logger.infof("Waiting for the Keycloak Operator to be ready: %s", subscriptionReady.getValue());
-                return Optional.of(UpdateControl.<Trustify>noUpdate().rescheduleAfter(5, TimeUnit.SECONDS));
+                return Optional.of(reconcileBackoff.retry(cr, "KeycloakOperatorNotReady"));
             }
 
+            // The Keycloak CRDs are available only after the Keycloak Operator is installed
+            registerKeycloakEventSources(context);
+
             // Keycloak dependencies
             KeycloakDBDeploymentActivationCondition keycloakDBActivationCondition = new KeycloakDBDeploymentActivationCondition();
             boolean isKeycloakDBEnabled = keycloakDBActivationCondition.isMet(null, cr, context);
@@ -235,7 +396,7 @@ public class TrustifyReconciler implements Reconciler<Trustify>, Cleaner<Trustif
                 boolean isKeycloakDBReady = keycloakDBDeploymentReadyCondition.isMet(null, cr, context);
                 if (!isKeycloakDBReady) {
                     logger.info("Waiting for the Keycloak DB to be ready");
-                    return Optional.of(UpdateControl.<Trustify>noUpdate().rescheduleAfter(5, TimeUnit.SECONDS));
+                    return Optional.of(reconcileBackoff.retry(cr, "KeycloakDBNotReady"));
                 }
             }
 
@@ -243,11 +404,11 @@ public class TrustifyReconciler implements Reconciler<Trustify>, Cleaner<Trustif
             boolean isIngressReady = appIngressReadyPostCondition.isMet(null, cr, context);
             if (!isIngressReady) {
                 logger.info("Waiting for the Ingress to be ready");
-                return Optional.of(UpdateControl.<Trustify>noUpdate().rescheduleAfter(5, TimeUnit.SECONDS));
+                return Optional.of(reconcileBackoff.retry(cr, "IngressNotReady"));
             }
 
             // Keycloak Server
-            Keycloak kcInstance = keycloakServerService.getCurrentInstance(cr)
+            Keycloak kcInstance = keycloakServerService.getCurrentInstance(cr, context)
                     .orElseGet(() -> {
                         logger.info("Creating a Keycloak Server");
                         return keycloakServerService.initInstance(cr, context);
@@ -255,75 +416,208 @@ public class TrustifyReconciler implements Reconciler<Trustify>, Cleaner<Trustif
             boolean isKcInstanceReady = KeycloakUtils.isKeycloakServerReady(kcInstance);
             if (!isKcInstanceReady) {
                 logger.info("Waiting for the Keycloak Server to be ready");
-                return Optional.of(UpdateControl.<Trustify>noUpdate().rescheduleAfter(5, TimeUnit.SECONDS));
-            } else {
-                keycloakInstance.set(kcInstance);
+                return Optional.of(reconcileBackoff.retry(cr, "KeycloakServerNotReady"));
             }
 
             // Keycloak Realm
-            KeycloakRealmImport realmImportInstance = keycloakRealmService.getCurrentInstance(cr)
+            KeycloakRealmImport realmImportInstance = keycloakRealmService.getCurrentInstance(cr, context)
+                    .map(instance -> keycloakRealmService.updateInstance(cr, instance, context))
                     .orElseGet(() -> {
                         logger.info("Creating a KeycloakRealmImport");
-                        return keycloakRealmService.initInstance(cr);
+                        return keycloakRealmService.initInstance(cr, context);
                     });
             boolean isRealmImportInstanceReady = KeycloakUtils.isKeycloakRealmImportReady(realmImportInstance);
             if (!isRealmImportInstanceReady) {
                 logger.info("Waiting for the KeycloakRealmImport to be ready");
-                return Optional.of(UpdateControl.<Trustify>noUpdate().rescheduleAfter(5, TimeUnit.SECONDS));
-            } else {
-                keycloakRealmImportInstance.set(realmImportInstance);
+                return Optional.of(reconcileBackoff.retry(cr, "KeycloakRealmImportNotReady"));
             }
+
+            dependentMetrics.recordReady(cr, KeycloakReadyPreCondition.KEYCLOAK, !cr.getStatus().isAvailable());
         }
 
         return Optional.empty();
     }
 
+    private void registerHorizontalPodAutoscalerEventSource(Context<Trustify> context) {
+        eventSourcesLock.lock();
+        try {
+            if (InformerUtils.getInformerEventSource(context, HorizontalPodAutoscaler.class, HORIZONTAL_POD_AUTOSCALER_EVENT_SOURCE).isEmpty()) {
+                var eventSourceContext = context.eventSourceRetriever().eventSourceContextForDynamicRegistration();
+                context.eventSourceRetriever().dynamicallyRegisterEventSource(HORIZONTAL_POD_AUTOSCALER_EVENT_SOURCE, horizontalPodAutoscalerInformerEventSource(eventSourceContext));
+            }
+        } finally {
+            eventSourcesLock.unlock();
+        }
+    }
+
+    private void registerOlmEventSources(Context<Trustify> context) {
+        eventSourcesLock.lock();
+        try {
+            if (InformerUtils.getInformerEventSource(context, Subscription.class, SUBSCRIPTION_EVENT_SOURCE).isEmpty()) {
+                var eventSourceContext = context.eventSourceRetriever().eventSourceContextForDynamicRegistration();
+                context.eventSourceRetriever().dynamicallyRegisterEventSource(SUBSCRIPTION_EVENT_SOURCE, subscriptionInformerEventSource(eventSourceContext));
+            }
+            if (InformerUtils.getInformerEventSource(context, ClusterServiceVersion.class, CLUSTER_SERVICE_VERSION_EVENT_SOURCE).isEmpty()) {
+                var eventSourceContext = context.eventSourceRetriever().eventSourceContextForDynamicRegistration();
+                context.eventSourceRetriever().dynamicallyRegisterEventSource(CLUSTER_SERVICE_VERSION_EVENT_SOURCE, clusterServiceVersionInformerEventSource(eventSourceContext));
+            }
+        } finally {
+            eventSourcesLock.unlock();
+        }
+    }
+
+    private void registerKeycloakEventSources(Context<Trustify> context) {
+        eventSourcesLock.lock();
+        try {
+            if (InformerUtils.getInformerEventSource(context, Keycloak.class, KEYCLOAK_EVENT_SOURCE).isEmpty()) {
+                var eventSourceContext = context.eventSourceRetriever().eventSourceContextForDynamicRegistration();
+                context.eventSourceRetriever().dynamicallyRegisterEventSource(KEYCLOAK_EVENT_SOURCE, keycloakInformerEventSource(eventSourceContext));
+            }
+            if (InformerUtils.getInformerEventSource(context, KeycloakRealmImport.class, KEYCLOAK_REALM_IMPORT_EVENT_SOURCE).isEmpty()) {
+                var eventSourceContext = context.eventSourceRetriever().eventSourceContextForDynamicRegistration();
+                context.eventSourceRetriever().dynamicallyRegisterEventSource(KEYCLOAK_REALM_IMPORT_EVENT_SOURCE, keycloakRealmImportInformerEventSource(eventSourceContext));
+            }
+        } finally {
+            eventSourcesLock.unlock();
+        }
+    }
+
     private UpdateControl<Trustify> createOrUpdateDependantResources(Trustify cr, Context<Trustify> context) {
         return context.managedDependentResourceContext()
                 .getWorkflowReconcileResult()
                 .map(wrs -> {
-                    if (wrs.allDependentResourcesReady()) {
-                        if (cr.getStatus().isAvailable()) {
-                            logger.infof("Trustify %s is ready to be used", cr.getMetadata().getName());
-                        }
-
-                        TrustifyStatusCondition status = new TrustifyStatusCondition();
-                        status.setType(TrustifyStatusCondition.SUCCESSFUL);
-                        status.setStatus(true);
-
-                        cr.getStatus().setCondition(status);
-
-                        return UpdateControl.updateStatus(cr);
-                    } else {
-                        TrustifyStatusCondition status = new TrustifyStatusCondition();
-                        status.setType(TrustifyStatusCondition.PROCESSING);
-                        status.setStatus(true);
+                    boolean isReady = wrs.allDependentResourcesReady();
+                    dependentMetrics.recordWorkflow(cr, wrs, !cr.getStatus().isAvailable());
+                    if (isReady && !cr.getStatus().isAvailable()) {
+                        String criticalPath = dependentMetrics.getTimeline(cr)
+                                .map(timeline -> ProvisioningTimeline.toString(timeline.getCriticalPath(WORKFLOW_PREDECESSORS)))
+                                .orElse("unknown");
+                        logger.infof("Trustify %s is ready to be used, critical path: %s", cr.getMetadata().getName(), criticalPath);
+                    }
 
-                        cr.getStatus().setCondition(status);
+                    // A failed migration Job gets no further events, it is recreated by the next reconciliation
+                    Optional<Job> failedMigrationJob = context.getSecondaryResource(Job.class, new ServerMigrationJobDiscriminator())
+                            .filter(job -> ServerMigrationJob.getFailureTime(job).isPresent());
+                    failedMigrationJob.ifPresent(job -> logger.warnf("The migration Job %s of Trustify %s failed", job.getMetadata().getName(), cr.getMetadata().getName()));
 
-                        final var duration = Duration.ofSeconds(5);
-                        return UpdateControl.updateStatus(cr).rescheduleAfter(duration);
+                    boolean isRealmOutdated = isRealmOutdated(cr, context);
+                    if (isRealmOutdated && !cr.getStatus().hasCondition(statusCondition(TrustifyStatusCondition.REALM_OUTDATED, true))) {
+                        logger.warnf("The realm of Trustify %s was already imported, its change needs the admin API of Keycloak or a new import of the realm", cr.getMetadata().getName());
                     }
+
+                    // Not ready dependents trigger a new reconciliation through their informers once they change
+                    UpdateControl<Trustify> updateControl = updateStatus(cr, List.of(
+                            statusCondition(TrustifyStatusCondition.SUCCESSFUL, isReady),
+                            statusCondition(TrustifyStatusCondition.PROCESSING, !isReady),
+                            statusCondition(TrustifyStatusCondition.MIGRATION_FAILED, failedMigrationJob.isPresent()),
+                            statusCondition(TrustifyStatusCondition.REALM_OUTDATED, isRealmOutdated)
+                    ), databaseConnections(cr, context));
+                    return failedMigrationJob
+                            .map(job -> ServerMigrationJob.getRetryDelay(job, trustifyConfig.backoff().maxDelay(), Instant.now()))
+                            .map(delay -> updateControl.rescheduleAfter(delay.isZero() ? trustifyConfig.backoff().initialDelay() : delay))
+                            .orElse(updateControl);
                 })
                 .orElseThrow();
     }
 
+    private UpdateControl<Trustify> updateStatus(Trustify cr, List<TrustifyStatusCondition> conditions, TrustifyStatusDatabaseConnections databaseConnections) {
+        // Keycloak resources are ready, so the CR is no longer waiting with a backoff
+        boolean wasRetrying = reconcileBackoff.reset(cr);
+
+        boolean isStatusUpToDate = !wasRetrying &&
+                conditions.stream().allMatch(condition -> cr.getStatus().hasCondition(condition)) &&
+                Objects.equals(cr.getStatus().getDatabaseConnections(), databaseConnections) &&
+                Objects.equals(cr.getStatus().getObservedGeneration(), cr.getMetadata().getGeneration());
+        if (isStatusUpToDate) {
+            return UpdateControl.noUpdate();
+        }
+
+        conditions.forEach(condition -> cr.getStatus().setCondition(condition));
+        cr.getStatus().setDatabaseConnections(databaseConnections);
+        cr.getStatus().setObservedGeneration(cr.getMetadata().getGeneration());
+        return UpdateControl.patchStatus(cr);
+    }
+
+    private boolean isRealmOutdated(Trustify cr, Context<Trustify> context) {
+        return KeycloakUtils.isKeycloakRequired(cr) && keycloakRealmService.getCurrentInstance(cr, context)
+                .map(realmImport -> keycloakRealmService.isOutdated(cr, realmImport))
+                .orElse(false);
+    }
+
+    /**
+     * The pool sizes actually given to the pods, explicit pool sizes of the spec can exceed the budget.
+     */
+    private TrustifyStatusDatabaseConnections databaseConnections(Trustify cr, Context<Trustify> context) {
+        DBConnectionBudget budget = DBConnectionBudget.of(cr, trustifyConfig);
+        int serverPoolMaxSize = TrustifyConfiguration.getDbPoolMaxSize(ReconcileCache.get(context).config(serverDeploymentConfigurator, cr, context))
+                .orElse(0);
+        int importerPoolMaxSize = TrustifyConfiguration.getDbPoolMaxSize(ReconcileCache.get(context).config(importerStatefulSetConfigurator, cr, context))
+                .orElse(0);
+        int allocated = budget.allocated(serverPoolMaxSize, importerPoolMaxSize);
+        if (allocated > budget.clientConnections()) {
+            logger.warnf("The connection pools of Trustify %s can open %d connections, only %d are available",
+                    cr.getMetadata().getName(), allocated, budget.clientConnections());
+        }
+
+        TrustifyStatusDatabaseConnections databaseConnections = new TrustifyStatusDatabaseConnections();
+        databaseConnections.setMaxConnections(budget.maxConnections());
+        databaseConnections.setReservedConnections(budget.reservedConnections());
+        databaseConnections.setClientConnections(budget.clientConnections());
+        databaseConnections.setServerReplicas(budget.serverReplicas());
+        databaseConnections.setServerPoolMaxSize(serverPoolMaxSize);
+        databaseConnections.setImporterReplicas(budget.importerReplicas());
+        databaseConnections.setImporterPoolMaxSize(importerPoolMaxSize);
+        databaseConnections.setAllocatedConnections(allocated);
+        return databaseConnections;
+    }
+
+    private static TrustifyStatusCondition statusCondition(String type, boolean status) {
+        TrustifyStatusCondition condition = new TrustifyStatusCondition();
+        condition.setType(type);
+        condition.setStatus(status);
+        return condition;
+    }
+
     @Override
     public DeleteControl cleanup(Trustify cr, Context<Trustify> context) {
         keycloakRealmService.cleanupDependentResources(cr);
         keycloakServerService.cleanupDependentResources(cr);
+        podTemplateHashCache.evict(cr);
+        dependentMetrics.evict(cr);
+        apiRequestMetrics.evict(cr);
 
         return DeleteControl.defaultDelete();
     }
 
     @Override
     public Map<String, EventSource> prepareEventSources(EventSourceContext<Trustify> context) {
-        var configMapInformerConfiguration = InformerConfiguration.from(ConfigMap.class, context).build();
-        var pcvInformerConfiguration = InformerConfiguration.from(PersistentVolumeClaim.class, context).build();
-        var secretInformerConfiguration = InformerConfiguration.from(Secret.class, context).build();
-        var deploymentInformerConfiguration = InformerConfiguration.from(Deployment.class, context).build();
-        var serviceInformerConfiguration = InformerConfiguration.from(Service.class, context).build();
-        var statefulSetInformerConfiguration = InformerConfiguration.from(StatefulSet.class, context).build();
+        var configMapInformerConfiguration = informerConfiguration(ConfigMap.class, context)
+                .withLabelSelector(shardingService.getLabelSelector(Constants.MANAGED_BY_LABEL_SELECTOR))
+                .build();
+        var pcvInformerConfiguration = informerConfiguration(PersistentVolumeClaim.class, context)
+                .withLabelSelector(shardingService.getLabelSelector(Constants.MANAGED_BY_LABEL_SELECTOR))
+                .build();
+        var secretInformerConfiguration = informerConfiguration(Secret.class, context)
+                .withLabelSelector(shardingService.getLabelSelector(Constants.MANAGED_BY_LABEL_SELECTOR))
+                .build();
+        var deploymentInformerConfiguration = informerConfiguration(Deployment.class, context)
+                .withLabelSelector(shardingService.getLabelSelector(Constants.MANAGED_BY_LABEL_SELECTOR))
+                .build();
+        var serviceInformerConfiguration = informerConfiguration(Service.class, context)
+                .withLabelSelector(shardingService.getLabelSelector(Constants.MANAGED_BY_LABEL_SELECTOR))
+                .build();
+        var statefulSetInformerConfiguration = informerConfiguration(StatefulSet.class, context)
+                .withLabelSelector(shardingService.getLabelSelector(Constants.MANAGED_BY_LABEL_SELECTOR))
+                .build();
+        var jobInformerConfiguration = informerConfiguration(Job.class, context)
+                .withLabelSelector(shardingService.getLabelSelector(Constants.MANAGED_BY_LABEL_SELECTOR))
+                .build();
+
+        // Secrets created by users or by the cluster and referenced by name, they do not carry the managed-by label
+        context.getPrimaryCache().addIndexer(REFERENCED_SECRET_INDEX, cr -> getReferencedSecretNames(cr)
+                .map(name -> referencedSecretIndexKey(cr.getMetadata().getNamespace(), name))
+                .toList()
+        );
 
         var configMapInformerConfigurationInformerEventSource = new InformerEventSource<>(configMapInformerConfiguration, context);
         var pcvInformerEventSource = new InformerEventSource<>(pcvInformerConfiguration, context);
@@ -331,14 +625,161 @@ public class TrustifyReconciler implements Reconciler<Trustify>, Cleaner<Trustif
         var deploymentInformerEventSource = new InformerEventSource<>(deploymentInformerConfiguration, context);
         var serviceInformerEventSource = new InformerEventSource<>(serviceInformerConfiguration, context);
         var statefulSetInformerEventSource = new InformerEventSource<>(statefulSetInformerConfiguration, context);
+        var jobInformerEventSource = new InformerEventSource<>(jobInformerConfiguration, context);
 
-        return Map.of(
+        Map<String, EventSource> eventSources = new HashMap<>(Map.of(
                 CONFIG_MAP_EVENT_SOURCE, configMapInformerConfigurationInformerEventSource,
                 PVC_EVENT_SOURCE, pcvInformerEventSource,
                 SECRET_EVENT_SOURCE, secretInformerEventSource,
                 DEPLOYMENT_EVENT_SOURCE, deploymentInformerEventSource,
                 SERVICE_EVENT_SOURCE, serviceInformerEventSource,
-                STATEFUL_SET_EVENT_SOURCE, statefulSetInformerEventSource
+                STATEFUL_SET_EVENT_SOURCE, statefulSetInformerEventSource,
+                JOB_EVENT_SOURCE, jobInformerEventSource
+        ));
+
+        // Only the referenced secrets, labelled the first time they are read, are listed and watched. Every watched
+        // namespace gets its own informer, they cannot share the store dropping the data of the secrets.
+        var referencedSecretInformerConfiguration = informerConfiguration(Secret.class, context)
+                .withLabelSelector(Constants.REFERENCED_LABEL_SELECTOR)
+                .withSecondaryToPrimaryMapper(shardingService.ownedPrimariesMapper(referencedSecretMapper(context)));
+        if (context.getControllerConfiguration().getNamespaces().size() == 1) {
+            referencedSecretInformerConfiguration.withItemStore(new SecretDataPruningItemStore());
+        }
+        eventSources.put(REFERENCED_SECRET_EVENT_SOURCE, new InformerEventSource<>(referencedSecretInformerConfiguration.build(), context));
+
+        var podDisruptionBudgetInformerConfiguration = informerConfiguration(PodDisruptionBudget.class, context)
+                .withLabelSelector(shardingService.getLabelSelector(Constants.MANAGED_BY_LABEL_SELECTOR))
+                .build();
+        eventSources.put(POD_DISRUPTION_BUDGET_EVENT_SOURCE, new InformerEventSource<>(podDisruptionBudgetInformerConfiguration, context));
+
+        if (capabilityService.supports(CapabilityService.Capability.HPA_V2)) {
+            eventSources.put(HORIZONTAL_POD_AUTOSCALER_EVENT_SOURCE, horizontalPodAutoscalerInformerEventSource(context));
+        }
+
+        // OLM and Keycloak CRDs might not be installed, informers on missing CRDs would prevent the operator from starting
+        if (capabilityService.supports(CapabilityService.Capability.OLM)) {
+            eventSources.put(SUBSCRIPTION_EVENT_SOURCE, subscriptionInformerEventSource(context));
+            eventSources.put(CLUSTER_SERVICE_VERSION_EVENT_SOURCE, clusterServiceVersionInformerEventSource(context));
+        }
+        if (capabilityService.supports(CapabilityService.Capability.KEYCLOAK)) {
+            eventSources.put(KEYCLOAK_EVENT_SOURCE, keycloakInformerEventSource(context));
+            eventSources.put(KEYCLOAK_REALM_IMPORT_EVENT_SOURCE, keycloakRealmImportInformerEventSource(context));
+        }
+
+        // APIs installed or removed while the operator runs, every CR is reconciled and registers the informers it needs
+        var capabilityChangeEventSource = new SimpleInboundEventSource();
+        capabilityService.addChangeListener(capabilities -> context.getPrimaryCache()
+                .list()
+                .map(ResourceID::fromResource)
+                .forEach(capabilityChangeEventSource::propagateEvent)
         );
+        eventSources.put(CAPABILITY_CHANGE_EVENT_SOURCE, capabilityChangeEventSource);
+
+        if (shardingService.isEnabled()) {
+            // CRs gained from another replica are reconciled right away, their own events were filtered out
+            var shardRebalanceEventSource = new SimpleInboundEventSource();
+            shardingService.addRebalanceListener(gained -> context.getPrimaryCache()
+                    .list()
+                    .map(ResourceID::fromResource)
+                    .filter(gained)
+                    .forEach(shardRebalanceEventSource::propagateEvent)
+            );
+            eventSources.put(SHARD_REBALANCE_EVENT_SOURCE, shardRebalanceEventSource);
+        }
+
+        return eventSources;
+    }
+
+    private <R extends HasMetadata> InformerConfiguration.InformerConfigurationBuilder<R> informerConfiguration(Class<R> resourceClass, EventSourceContext<Trustify> context) {
+        var configuration = InformerConfiguration.from(resourceClass, context);
+        // An informer is created per namespace when watching several of them, and they must not share the same store
+        if (context.getControllerConfiguration().getNamespaces().size() == 1) {
+            configuration.withItemStore(new ManagedFieldsPruningItemStore<>(trustifyConfig.serverSideApply() ? Constants.FIELD_MANAGER : null));
+        }
+        if (shardingService.isEnabled()) {
+            configuration.withGenericFilter(shardingService::isOwnerOwned);
+        }
+        return configuration;
+    }
+
+    private InformerEventSource<HorizontalPodAutoscaler, Trustify> horizontalPodAutoscalerInformerEventSource(EventSourceContext<Trustify> context) {
+        var configuration = informerConfiguration(HorizontalPodAutoscaler.class, context)
+                .withLabelSelector(shardingService.getLabelSelector(Constants.MANAGED_BY_LABEL_SELECTOR))
+                .build();
+        return new InformerEventSource<>(configuration, context);
+    }
+
+    private InformerEventSource<Subscription, Trustify> subscriptionInformerEventSource(EventSourceContext<Trustify> context) {
+        var configuration = informerConfiguration(Subscription.class, context)
+                .withGenericFilter(subscription -> KeycloakOperatorService.SUBSCRIPTION_NAME.equals(subscription.getMetadata().getName()))
+                .withSecondaryToPrimaryMapper(shardingService.ownedPrimariesMapper(keycloakRequiredInNamespaceMapper(context)))
+                .build();
+        return new InformerEventSource<>(configuration, context);
+    }
+
+    /**
+     * OLM copies the CSVs of the operators watching all namespaces into every namespace, the copies are not watched.
+     * The generic filter only filters events, so the CSVs that are watched are also cached without their spec.
+     */
+    private InformerEventSource<ClusterServiceVersion, Trustify> clusterServiceVersionInformerEventSource(EventSourceContext<Trustify> context) {
+        var configuration = informerConfiguration(ClusterServiceVersion.class, context)
+                .withLabelSelector("!" + KeycloakOperatorService.COPIED_FROM_LABEL)
+                .withGenericFilter(csv -> KeycloakOperatorService.isClusterServiceVersionOfSubscription(csv.getMetadata().getName()))
+                .withSecondaryToPrimaryMapper(shardingService.ownedPrimariesMapper(keycloakRequiredInNamespaceMapper(context)));
+        if (context.getControllerConfiguration().getNamespaces().size() == 1) {
+            configuration.withItemStore(new ClusterServiceVersionPruningItemStore());
+        }
+        return new InformerEventSource<>(configuration.build(), context);
+    }
+
+    private InformerEventSource<Keycloak, Trustify> keycloakInformerEventSource(EventSourceContext<Trustify> context) {
+        var configuration = informerConfiguration(Keycloak.class, context)
+                .withSecondaryToPrimaryMapper(shardingService.ownedPrimariesMapper(nameSuffixMapper(Constants.KEYCLOAK_SUFFIX)))
+                .build();
+        return new InformerEventSource<>(configuration, context);
+    }
+
+    private InformerEventSource<KeycloakRealmImport, Trustify> keycloakRealmImportInformerEventSource(EventSourceContext<Trustify> context) {
+        var configuration = informerConfiguration(KeycloakRealmImport.class, context)
+                .withSecondaryToPrimaryMapper(shardingService.ownedPrimariesMapper(nameSuffixMapper(Constants.KEYCLOAK_REALM_IMPORT_SUFFIX)))
+                .build();
+        return new InformerEventSource<>(configuration, context);
+    }
+
+    private static <R extends HasMetadata> SecondaryToPrimaryMapper<R> nameSuffixMapper(String suffix) {
+        return resource -> {
+            String name = resource.getMetadata().getName();
+            if (!name.endsWith(suffix)) {
+                return Set.of();
+            }
+            return Set.of(new ResourceID(name.substring(0, name.length() - suffix.length()), resource.getMetadata().getNamespace()));
+        };
+    }
+
+    private static SecondaryToPrimaryMapper<Secret> referencedSecretMapper(EventSourceContext<Trustify> context) {
+        return secret -> context.getPrimaryCache()
+                .byIndex(REFERENCED_SECRET_INDEX, referencedSecretIndexKey(secret.getMetadata().getNamespace(), secret.getMetadata().getName()))
+                .stream()
+                .map(ResourceID::fromResource)
+                .collect(Collectors.toSet());
+    }
+
+    private static Stream<String> getReferencedSecretNames(Trustify cr) {
+        return Stream.of(
+                ServerConfigMap.getOidcTlsSecretName(cr),
+                Optional.of(Cluster.getServerSelfGeneratedTlsSecretName(cr))
+        ).flatMap(Optional::stream);
+    }
+
+    private static String referencedSecretIndexKey(String namespace, String name) {
+        return namespace + "/" + name;
+    }
+
+    private static <R extends HasMetadata> SecondaryToPrimaryMapper<R> keycloakRequiredInNamespaceMapper(EventSourceContext<Trustify> context) {
+        return resource -> context.getPrimaryCache()
+                .list(resource.getMetadata().getNamespace())
+                .filter(KeycloakUtils::isKeycloakRequired)
+                .map(ResourceID::fromResource)
+                .collect(Collectors.toSet());
     }
 }
@@ -0,0 +1,16 @@
+package org.trustify.operator.controllers;
+
+import java.util.Set;
+
+/**
+ * Implemented by the reconcile preconditions holding a dependent back until other components are ready, whether the
+ * operator or the pod does the waiting, so that {@link WorkflowGraph} knows about the waits that are not declared
+ * through dependsOn.
+ */
+public interface WaitsFor {
+
+    /**
+     * Names of the components waited for, as reported by {@link org.trustify.operator.metrics.DependentMetrics}.
+     */
+    Set<String> waitsFor();
+}
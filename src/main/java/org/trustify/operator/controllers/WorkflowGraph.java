@@ -0,0 +1,50 @@
+package org.trustify.operator.controllers;
+
+import io.javaoperatorsdk.operator.api.reconciler.ControllerConfiguration;
+import io.javaoperatorsdk.operator.api.reconciler.dependent.Dependent;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Predecessors of every dependent of a reconciler, from the dependsOn of its {@link ControllerConfiguration} and the
+ * reconcile preconditions and ready postconditions implementing {@link WaitsFor}.
+ */
+public final class WorkflowGraph {
+
+    private WorkflowGraph() {
+    }
+
+    public static Map<String, Set<String>> predecessors(Class<?> reconcilerClass) {
+        Dependent[] dependents = reconcilerClass.getAnnotation(ControllerConfiguration.class).dependents();
+        Map<String, String> componentsByName = Arrays.stream(dependents)
+                .collect(Collectors.toMap(Dependent::name, dependent -> dependent.type().getSimpleName()));
+
+        Map<String, Set<String>> predecessors = new HashMap<>();
+        for (Dependent dependent : dependents) {
+            Set<String> dependentPredecessors = new HashSet<>();
+            Arrays.stream(dependent.dependsOn())
+                    .map(componentsByName::get)
+                    .forEach(dependentPredecessors::add);
+            Stream.<Class<?>>of(dependent.reconcilePrecondition(), dependent.readyPostcondition())
+                    .filter(WaitsFor.class::isAssignableFrom)
+                    .forEach(condition -> dependentPredecessors.addAll(newCondition(condition).waitsFor()));
+            predecessors.put(dependent.type().getSimpleName(), Set.copyOf(dependentPredecessors));
+        }
+        return Map.copyOf(predecessors);
+    }
+
+    private static WaitsFor newCondition(Class<?> conditionClass) {
+        try {
+            return conditionClass.asSubclass(WaitsFor.class).getDeclaredConstructor().newInstance();
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+            throw new IllegalStateException("Could not instantiate " + conditionClass.getName(), e);
+        }
+    }
+}
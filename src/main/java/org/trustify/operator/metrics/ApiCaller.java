@@ -0,0 +1,20 @@
+package org.trustify.operator.metrics;
+
+import jakarta.interceptor.InterceptorBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Attributes the API requests sent while a method of the bean runs to the bean and to the Trustify CR passed as
+ * argument, see {@link ApiCallerInterceptor}.
+ */
+@InterceptorBinding
+@Inherited
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ApiCaller {
+}
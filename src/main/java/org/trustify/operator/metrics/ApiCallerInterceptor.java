@@ -0,0 +1,34 @@
+package org.trustify.operator.metrics;
+
+import jakarta.annotation.Priority;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+
+import java.util.Arrays;
+
+@ApiCaller
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_AFTER)
+public class ApiCallerInterceptor {
+
+    @AroundInvoke
+    Object attribute(InvocationContext invocationContext) throws Exception {
+        Trustify cr = getPrimary(invocationContext.getParameters());
+        ApiRequestContext.Caller previous = ApiRequestContext.enter(cr, DependentMetrics.getDependentName(invocationContext.getTarget()));
+        try {
+            return invocationContext.proceed();
+        } finally {
+            ApiRequestContext.restore(previous);
+        }
+    }
+
+    static Trustify getPrimary(Object[] parameters) {
+        return Arrays.stream(parameters)
+                .filter(Trustify.class::isInstance)
+                .map(Trustify.class::cast)
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,53 @@
+package org.trustify.operator.metrics;
+
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * The CR and the component on whose behalf the current thread talks to the API server, read by
+ * {@link ApiRequestMetrics} when a request is sent. Requests sent outside of a caller are attributed to nobody.
+ */
+public final class ApiRequestContext {
+
+    public record Caller(ResourceID primary, String component) {
+    }
+
+    private static final ThreadLocal<Caller> current = new ThreadLocal<>();
+
+    private ApiRequestContext() {
+    }
+
+    public static Optional<Caller> current() {
+        return Optional.ofNullable(current.get());
+    }
+
+    /**
+     * A null CR keeps the CR of the enclosing caller. Returns the caller to {@link #restore(Caller)} afterward.
+     */
+    public static Caller enter(Trustify cr, String component) {
+        Caller previous = current.get();
+        ResourceID primary = cr != null ? ResourceID.fromResource(cr) : Optional.ofNullable(previous).map(Caller::primary).orElse(null);
+        current.set(new Caller(primary, component));
+        return previous;
+    }
+
+    public static void restore(Caller previous) {
+        if (previous == null) {
+            current.remove();
+        } else {
+            current.set(previous);
+        }
+    }
+
+    public static <T> T call(Trustify cr, String component, Supplier<T> supplier) {
+        Caller previous = enter(cr, component);
+        try {
+            return supplier.get();
+        } finally {
+            restore(previous);
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package org.trustify.operator.metrics;
+
+import io.fabric8.kubernetes.client.http.AsyncBody;
+import io.fabric8.kubernetes.client.http.BasicBuilder;
+import io.fabric8.kubernetes.client.http.HttpRequest;
+import io.fabric8.kubernetes.client.http.HttpResponse;
+import io.fabric8.kubernetes.client.http.Interceptor;
+import io.fabric8.kubernetes.client.http.StandardHttpRequest;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.trustify.operator.TrustifyConfig;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the requests the operator sends to the API server and the size of their bodies, tagged with the apply mode
+ * so full updates and server-side apply can be compared. Requests are attributed to the component and the CR found in
+ * {@link ApiRequestContext}, and the requests of every reconciliation are added up into a per CR budget.
+ */
+@ApplicationScoped
+public class ApiRequestMetrics implements Interceptor {
+
+    public static final String NAME = "trustify-api-request-metrics";
+
+    public static final String REQUESTS = "trustify.api.requests";
+    public static final String PAYLOAD = "trustify.api.request.payload";
+    public static final String DURATION = "trustify.api.request.duration";
+    public static final String CONNECTION_FAILURES = "trustify.api.request.connection.failures";
+    public static final String RECONCILE_REQUESTS = "trustify.reconcile.api.requests";
+    public static final String RECONCILE_UNCACHED_READS = "trustify.reconcile.api.uncached.reads";
+
+    public static final String SERVER_SIDE_APPLY_MODE = "server-side-apply";
+    public static final String UPDATE_MODE = "update";
+
+    public static final String UNKNOWN_COMPONENT = "unknown";
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Inject
+    TrustifyConfig trustifyConfig;
+
+    private record PendingRequest(long start, Tags tags) {
+    }
+
+    // before() gets a copy of the request that is sent, the HTTP client passes the sent request to consumer() right
+    // after and on the same thread, then to after() once the response arrives
+    private final ThreadLocal<PendingRequest> startingRequest = new ThreadLocal<>();
+
+    // A request that never gets a response is dropped along with the request, retries are sent as new requests
+    final Map<HttpRequest, PendingRequest> pendingRequests = Collections.synchronizedMap(new WeakHashMap<>());
+
+    // Requests by verb of the reconciliations in progress, and of the last one of every CR
+    private final Map<ResourceID, Map<String, AtomicInteger>> reconciliations = new ConcurrentHashMap<>();
+    private final Map<ResourceID, Map<String, Integer>> lastReconciliations = new ConcurrentHashMap<>();
+
+    @Override
+    public void before(BasicBuilder builder, HttpRequest request, RequestTags tags) {
+        Optional<ApiRequestContext.Caller> caller = ApiRequestContext.current();
+        String verb = getVerb(request.method(), request.uri());
+        String component = caller.map(ApiRequestContext.Caller::component).orElse(UNKNOWN_COMPONENT);
+
+        record(request.method(), request.uri(), getBodySize(request), verb, component);
+        caller.map(ApiRequestContext.Caller::primary)
+                .map(reconciliations::get)
+                .ifPresent(requests -> requests.computeIfAbsent(verb, key -> new AtomicInteger()).incrementAndGet());
+
+        startingRequest.set(new PendingRequest(System.nanoTime(), Tags.of(
+                "verb", verb,
+                "resource", getResource(request.uri()),
+                "component", component
+        )));
+    }
+
+    @Override
+    public AsyncBody.Consumer<List<ByteBuffer>> consumer(AsyncBody.Consumer<List<ByteBuffer>> consumer, HttpRequest request) {
+        PendingRequest pendingRequest = startingRequest.get();
+        if (pendingRequest != null) {
+            startingRequest.remove();
+            pendingRequests.put(request, pendingRequest);
+        }
+        return consumer;
+    }
+
+    @Override
+    public void after(HttpRequest request, HttpResponse<?> response, AsyncBody.Consumer<List<ByteBuffer>> consumer) {
+        complete(request, String.valueOf(response.code()));
+    }
+
+    /**
+     * Gets the request as it was before the interceptors, so it is only counted.
+     */
+    @Override
+    public void afterConnectionFailure(HttpRequest request, Throwable failure) {
+        Counter.builder(CONNECTION_FAILURES)
+                .tags("verb", getVerb(request.method(), request.uri()), "resource", getResource(request.uri()))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    void record(String method, URI uri, long bodySize, String verb, String component) {
+        Tags tags = Tags.of(
+                "method", method,
+                "verb", verb,
+                "resource", getResource(uri),
+                "component", component,
+                "mode", trustifyConfig.serverSideApply() ? SERVER_SIDE_APPLY_MODE : UPDATE_MODE
+        );
+
+        Counter.builder(REQUESTS)
+                .tags(tags)
+                .register(meterRegistry)
+                .increment();
+        if (bodySize >= 0) {
+            DistributionSummary.builder(PAYLOAD)
+                    .baseUnit("bytes")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(bodySize);
+        }
+    }
+
+    private void complete(HttpRequest request, String status) {
+        Optional.ofNullable(pendingRequests.remove(request))
+                .ifPresent(pendingRequest -> Timer.builder(DURATION)
+                        .tags(pendingRequest.tags())
+                        .tag("status", status)
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - pendingRequest.start(), TimeUnit.NANOSECONDS)
+                );
+    }
+
+    /**
+     * Requests attributed to the CR are added up until {@link #endReconcile(Trustify)}, whichever thread sends them.
+     */
+    public void beginReconcile(Trustify cr) {
+        reconciliations.put(ResourceID.fromResource(cr), new ConcurrentHashMap<>());
+    }
+
+    public void endReconcile(Trustify cr) {
+        Map<String, AtomicInteger> requests = reconciliations.remove(ResourceID.fromResource(cr));
+        if (requests == null) {
+            return;
+        }
+
+        Map<String, Integer> requestsByVerb = requests.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> entry.getValue().get()));
+        lastReconciliations.put(ResourceID.fromResource(cr), requestsByVerb);
+
+        Tags tags = Tags.of(
+                "namespace", cr.getMetadata().getNamespace(),
+                "name", cr.getMetadata().getName()
+        );
+        DistributionSummary.builder(RECONCILE_REQUESTS)
+                .tags(tags)
+                .register(meterRegistry)
+                .record(requestsByVerb.values().stream().mapToInt(Integer::intValue).sum());
+        DistributionSummary.builder(RECONCILE_UNCACHED_READS)
+                .tags(tags)
+                .register(meterRegistry)
+                .record(getUncachedReads(requestsByVerb));
+    }
+
+    /**
+     * Requests by verb of the last finished reconciliation of the CR.
+     */
+    public Optional<Map<String, Integer>> getLastReconcileRequests(ResourceID primary) {
+        return Optional.ofNullable(lastReconciliations.get(primary));
+    }
+
+    public void evict(Trustify cr) {
+        reconciliations.remove(ResourceID.fromResource(cr));
+        lastReconciliations.remove(ResourceID.fromResource(cr));
+        List.of(RECONCILE_REQUESTS, RECONCILE_UNCACHED_READS).forEach(name -> meterRegistry.find(name)
+                .tags("namespace", cr.getMetadata().getNamespace(), "name", cr.getMetadata().getName())
+                .meters()
+                .forEach(meterRegistry::remove)
+        );
+    }
+
+    /**
+     * Reads of the operator are served by the informer caches, a get or a list sent to the API server bypassed them.
+     */
+    public static int getUncachedReads(Map<String, Integer> requestsByVerb) {
+        return requestsByVerb.getOrDefault("get", 0) + requestsByVerb.getOrDefault("list", 0);
+    }
+
+    /**
+     * Size of the body the client holds, without encoding it again, or -1 without a body.
+     */
+    static long getBodySize(HttpRequest request) {
+        if (!(request instanceof StandardHttpRequest standardHttpRequest)) {
+            return -1;
+        }
+        return switch (standardHttpRequest.body()) {
+            case StandardHttpRequest.ByteArrayBodyContent body -> body.getContent().length;
+            case StandardHttpRequest.StringBodyContent body -> getUtf8Length(body.getContent());
+            case StandardHttpRequest.InputStreamBodyContent body -> body.getLength();
+            case null, default -> -1;
+        };
+    }
+
+    static long getUtf8Length(String content) {
+        long length = content.length();
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (c >= 0x800 && !Character.isSurrogate(c)) {
+                length += 2;
+            } else if (c >= 0x80) {
+                // Two bytes, or half of the four bytes of a surrogate pair
+                length += 1;
+            }
+        }
+        return length;
+    }
+
+    static String getVerb(String method, URI uri) {
+        String[] segments = uri.getPath().split("/");
+        boolean isNamed = getResourceIndex(segments) + 1 < segments.length;
+        return switch (method) {
+            case "GET" -> {
+                if (uri.getQuery() != null && uri.getQuery().contains("watch=true")) {
+                    yield "watch";
+                }
+                yield isNamed ? "get" : "list";
+            }
+            case "POST" -> "create";
+            case "PUT" -> "update";
+            case "PATCH" -> "patch";
+            case "DELETE" -> isNamed ? "delete" : "deletecollection";
+            default -> method.toLowerCase();
+        };
+    }
+
+    /**
+     * Plural resource name from /api/{version}/... or /apis/{group}/{version}/..., skipping the namespace.
+     */
+    static String getResource(URI uri) {
+        String[] segments = uri.getPath().split("/");
+        int index = getResourceIndex(segments);
+        return index < segments.length ? segments[index] : "unknown";
+    }
+
+    private static int getResourceIndex(String[] segments) {
+        if (segments.length < 3) {
+            return segments.length;
+        }
+
+        int index = "api".equals(segments[1]) ? 3 : 4;
+        if (index + 2 < segments.length && "namespaces".equals(segments[index])) {
+            index += 2;
+        }
+        return index;
+    }
+}
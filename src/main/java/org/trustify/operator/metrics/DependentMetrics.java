@@ -0,0 +1,144 @@
+package org.trustify.operator.metrics;
+
+import io.javaoperatorsdk.operator.api.reconciler.dependent.DependentResource;
+import io.javaoperatorsdk.operator.processing.dependent.workflow.WorkflowReconcileResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per dependent timings of the workflow phases, ready post condition results and the time each component of a CR
+ * took to be reconciled and to become ready, kept in a {@link ProvisioningTimeline} for critical path reports.
+ */
+@ApplicationScoped
+public class DependentMetrics {
+
+    public static final String PHASE = "trustify.dependent.phase";
+    public static final String READY = "trustify.dependent.ready";
+    public static final String TIME_TO_RECONCILE = "trustify.component.time.to.reconcile";
+    public static final String TIME_TO_READY = "trustify.component.time.to.ready";
+
+    public static final String SUCCESS = "success";
+    public static final String ERROR = "error";
+    public static final String MATCHED = "matched";
+    public static final String MISMATCHED = "mismatched";
+
+    // Name of the whole CR in the time-to-ready gauges
+    public static final String ALL_COMPONENTS = "trustify";
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    // CR uid -> time-to-reconcile and time-to-ready gauges
+    private final Map<String, Map<String, Meter>> provisioningGauges = new ConcurrentHashMap<>();
+
+    // CR uid -> timeline of the provisioning
+    private final Map<String, ProvisioningTimeline> timelines = new ConcurrentHashMap<>();
+
+    public void recordPhase(Object dependent, String phase, String outcome, long nanos) {
+        Timer.builder(PHASE)
+                .tag("dependent", getDependentName(dependent))
+                .tag("phase", phase)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Time-to-ready is only recorded for CRs still being provisioned when first reconciled by this process, otherwise
+     * an operator restart would report the age of the CR.
+     */
+    public void recordWorkflow(Trustify cr, WorkflowReconcileResult result, boolean isProvisioning) {
+        for (DependentResource<?, ?> dependent : result.getReconciledDependents()) {
+            boolean isReady = !result.getNotReadyDependents().contains(dependent);
+            String dependentName = getDependentName(dependent);
+
+            Counter.builder(READY)
+                    .tag("dependent", dependentName)
+                    .tag("outcome", isReady ? "ready" : "not-ready")
+                    .register(meterRegistry)
+                    .increment();
+
+            if (isProvisioning) {
+                recordProvisioning(cr, dependentName, isReady);
+            }
+        }
+
+        if (result.allDependentResourcesReady() && isProvisioning) {
+            recordProvisioning(cr, ALL_COMPONENTS, true);
+        }
+    }
+
+    /**
+     * Readiness of a component living outside the workflow, like the Keycloak server bootstrapped by the reconciler.
+     */
+    public void recordReady(Trustify cr, String component, boolean isProvisioning) {
+        if (isProvisioning) {
+            recordProvisioning(cr, component, true);
+        }
+    }
+
+    public Optional<ProvisioningTimeline> getTimeline(Trustify cr) {
+        return Optional.ofNullable(timelines.get(cr.getMetadata().getUid()));
+    }
+
+    public void evict(Trustify cr) {
+        timelines.remove(cr.getMetadata().getUid());
+        Map<String, Meter> gauges = provisioningGauges.remove(cr.getMetadata().getUid());
+        if (gauges != null) {
+            gauges.values().forEach(meterRegistry::remove);
+        }
+    }
+
+    private void recordProvisioning(Trustify cr, String component, boolean isReady) {
+        ProvisioningTimeline timeline = timelines.computeIfAbsent(cr.getMetadata().getUid(), uid -> new ProvisioningTimeline(getCreation(cr)));
+        Instant now = Instant.now();
+        timeline.recordReconciled(component, now);
+        recordGauge(cr, TIME_TO_RECONCILE, component);
+        if (isReady) {
+            timeline.recordReady(component, now);
+            recordGauge(cr, TIME_TO_READY, component);
+        }
+    }
+
+    private void recordGauge(Trustify cr, String name, String component) {
+        provisioningGauges.computeIfAbsent(cr.getMetadata().getUid(), uid -> new ConcurrentHashMap<>())
+                .computeIfAbsent(name + "/" + component, key -> {
+                    double seconds = Duration.between(getCreation(cr), Instant.now()).toMillis() / 1000.0;
+                    return Gauge.builder(name, () -> seconds)
+                            .baseUnit("seconds")
+                            .tag("namespace", cr.getMetadata().getNamespace())
+                            .tag("name", cr.getMetadata().getName())
+                            .tag("component", component)
+                            .register(meterRegistry);
+                });
+    }
+
+    private static Instant getCreation(Trustify cr) {
+        return ZonedDateTime.parse(cr.getMetadata().getCreationTimestamp()).toInstant();
+    }
+
+    /**
+     * Dependents are CDI beans, their runtime class might be a generated subclass.
+     */
+    public static String getDependentName(Object dependent) {
+        Class<?> dependentClass = dependent.getClass();
+        while (dependentClass.getSimpleName().endsWith("_Subclass")) {
+            dependentClass = dependentClass.getSuperclass();
+        }
+        return dependentClass.getSimpleName();
+    }
+}
@@ -0,0 +1,52 @@
+package org.trustify.operator.metrics;
+
+import io.javaoperatorsdk.operator.processing.dependent.Matcher;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+import java.lang.reflect.Method;
+
+/**
+ * Dependents are CDI beans, so the calls JOSDK makes to their own methods go through this interceptor as well.
+ */
+@InstrumentedDependent
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_AFTER)
+public class DependentMetricsInterceptor {
+
+    @Inject
+    DependentMetrics dependentMetrics;
+
+    @AroundInvoke
+    Object measure(InvocationContext invocationContext) throws Exception {
+        String phase = getPhase(invocationContext.getMethod());
+        if (phase == null) {
+            return invocationContext.proceed();
+        }
+
+        long start = System.nanoTime();
+        String outcome = DependentMetrics.ERROR;
+        try {
+            Object result = invocationContext.proceed();
+            outcome = result instanceof Matcher.Result<?> matchResult ?
+                    (matchResult.matched() ? DependentMetrics.MATCHED : DependentMetrics.MISMATCHED) :
+                    DependentMetrics.SUCCESS;
+            return result;
+        } finally {
+            dependentMetrics.recordPhase(invocationContext.getTarget(), phase, outcome, System.nanoTime() - start);
+        }
+    }
+
+    static String getPhase(Method method) {
+        return switch (method.getName()) {
+            // desired(primary, context) and match(actual, primary, context) are the variants JOSDK calls
+            case "desired" -> method.getParameterCount() == 2 ? "desired" : null;
+            case "match" -> method.getParameterCount() == 3 ? "match" : null;
+            case "create", "update" -> method.getName();
+            default -> null;
+        };
+    }
+}
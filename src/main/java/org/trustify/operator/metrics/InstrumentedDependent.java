@@ -0,0 +1,19 @@
+package org.trustify.operator.metrics;
+
+import jakarta.interceptor.InterceptorBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Times the desired, match, create and update phases of a dependent resource, see {@link DependentMetricsInterceptor}.
+ */
+@InterceptorBinding
+@Inherited
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface InstrumentedDependent {
+}
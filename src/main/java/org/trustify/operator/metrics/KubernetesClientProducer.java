@@ -0,0 +1,36 @@
+package org.trustify.operator.metrics;
+
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientBuilder;
+import io.fabric8.kubernetes.client.utils.KubernetesSerialization;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
+
+/**
+ * Same client as the Quarkus default one, with {@link ApiRequestMetrics} registered on its HTTP client.
+ */
+@Singleton
+public class KubernetesClientProducer {
+
+    private KubernetesClient client;
+
+    @Produces
+    @Singleton
+    public KubernetesClient kubernetesClient(KubernetesSerialization kubernetesSerialization, Config config, ApiRequestMetrics apiRequestMetrics) {
+        client = new KubernetesClientBuilder()
+                .withKubernetesSerialization(kubernetesSerialization)
+                .withConfig(config)
+                .withHttpClientBuilderConsumer(builder -> builder.addOrReplaceInterceptor(ApiRequestMetrics.NAME, apiRequestMetrics))
+                .build();
+        return client;
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (client != null) {
+            client.close();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package org.trustify.operator.metrics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * When each component of a CR being provisioned was first reconciled, which is when its predecessors unblocked it,
+ * and when it first became ready, which is when it unblocked its own successors.
+ */
+public class ProvisioningTimeline {
+
+    public record Step(String component, Duration reconciled, Duration ready) {
+        @Override
+        public String toString() {
+            return "%s [reconciled +%ds, ready +%ds]".formatted(component, reconciled.toSeconds(), ready.toSeconds());
+        }
+    }
+
+    private final Instant creation;
+    private final Map<String, Instant> reconciled = new ConcurrentHashMap<>();
+    private final Map<String, Instant> ready = new ConcurrentHashMap<>();
+
+    public ProvisioningTimeline(Instant creation) {
+        this.creation = creation;
+    }
+
+    public void recordReconciled(String component, Instant instant) {
+        reconciled.putIfAbsent(component, instant);
+    }
+
+    public void recordReady(String component, Instant instant) {
+        reconciled.putIfAbsent(component, instant);
+        ready.putIfAbsent(component, instant);
+    }
+
+    public Optional<Duration> getReconciled(String component) {
+        return Optional.ofNullable(reconciled.get(component)).map(instant -> Duration.between(creation, instant));
+    }
+
+    public Optional<Duration> getReady(String component) {
+        return Optional.ofNullable(ready.get(component)).map(instant -> Duration.between(creation, instant));
+    }
+
+    /**
+     * Walks back from the dependent that became ready last, through the predecessor of every component that became
+     * ready last. The predecessors are the components a dependent waits for, whether through dependsOn or a condition.
+     */
+    public List<Step> getCriticalPath(Map<String, Set<String>> predecessors) {
+        List<Step> path = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+
+        Optional<String> current = getLastReady(predecessors.keySet());
+        while (current.isPresent() && visited.add(current.get())) {
+            String component = current.get();
+            path.add(new Step(component, getReconciled(component).orElseThrow(), getReady(component).orElseThrow()));
+            current = getLastReady(predecessors.getOrDefault(component, Set.of()));
+        }
+
+        Collections.reverse(path);
+        return path;
+    }
+
+    public static String toString(List<Step> path) {
+        return path.stream()
+                .map(Step::toString)
+                .collect(Collectors.joining(" -> "));
+    }
+
+    private Optional<String> getLastReady(Set<String> components) {
+        return components.stream()
+                .filter(ready::containsKey)
+                .max(Comparator.comparing(ready::get));
+    }
+}
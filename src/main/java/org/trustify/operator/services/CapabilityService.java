@@ -0,0 +1,152 @@
+package org.trustify.operator.services;
+
+import io.fabric8.kubernetes.api.model.APIGroup;
+import io.fabric8.kubernetes.api.model.APIGroupList;
+import io.fabric8.kubernetes.api.model.GroupVersionForDiscovery;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.trustify.operator.TrustifyConfig;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Optional APIs of the cluster, answered from a single discovery request listing the served API group versions and
+ * shared by every CR. The answers are refreshed in the background, so CRDs installed or removed while the operator runs
+ * are noticed after at most {@link TrustifyConfig.CapabilitiesConfig#refreshInterval()}. The listeners are told about
+ * every change, the reconciler then registers the informers of the new APIs and reconciles every CR again.
+ */
+@ApplicationScoped
+public class CapabilityService {
+
+    private static final Logger logger = Logger.getLogger(CapabilityService.class);
+
+    public enum Capability {
+        OLM("operators.coreos.com/v1alpha1"),
+        ROUTES("route.openshift.io/v1"),
+        SERVICE_MONITOR("monitoring.coreos.com/v1"),
+        HPA_V2("autoscaling/v2"),
+        VPA("autoscaling.k8s.io/v1"),
+        GATEWAY_API("gateway.networking.k8s.io/v1"),
+        VOLUME_SNAPSHOT("snapshot.storage.k8s.io/v1"),
+        KEYCLOAK("k8s.keycloak.org/v2alpha1");
+
+        private final String groupVersion;
+
+        Capability(String groupVersion) {
+            this.groupVersion = groupVersion;
+        }
+
+        public String groupVersion() {
+            return groupVersion;
+        }
+    }
+
+    private record Snapshot(Set<Capability> capabilities, Instant refreshed) {
+    }
+
+    @Inject
+    KubernetesClient k8sClient;
+
+    @Inject
+    TrustifyConfig trustifyConfig;
+
+    private final List<Consumer<Set<Capability>>> changeListeners = new CopyOnWriteArrayList<>();
+
+    private volatile Snapshot snapshot;
+    private ScheduledExecutorService scheduler;
+
+    void onStart(@Observes StartupEvent event) {
+        start();
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        stop();
+    }
+
+    synchronized void start() {
+        long refreshInterval = trustifyConfig.capabilities().refreshInterval().toMillis();
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        scheduler.scheduleWithFixedDelay(this::refresh, refreshInterval, refreshInterval, TimeUnit.MILLISECONDS);
+    }
+
+    synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Called with the new capabilities whenever a refresh finds them changed, not for the first discovery.
+     */
+    public void addChangeListener(Consumer<Set<Capability>> listener) {
+        changeListeners.add(listener);
+    }
+
+    public boolean supports(Capability capability) {
+        Snapshot current = snapshot;
+        if (current == null || isExpired(current)) {
+            current = refresh();
+        }
+        return current.capabilities().contains(capability);
+    }
+
+    /**
+     * Keeps the previous answers when the API server cannot be reached.
+     */
+    synchronized Snapshot refresh() {
+        try {
+            Set<String> groupVersions = Optional.ofNullable(k8sClient.getApiGroups())
+                    .map(APIGroupList::getGroups)
+                    .stream()
+                    .flatMap(groups -> groups.stream().map(APIGroup::getVersions))
+                    .flatMap(versions -> versions.stream().map(GroupVersionForDiscovery::getGroupVersion))
+                    .collect(Collectors.toSet());
+            Set<Capability> capabilities = Arrays.stream(Capability.values())
+                    .filter(capability -> groupVersions.contains(capability.groupVersion()))
+                    .collect(Collectors.toCollection(() -> EnumSet.noneOf(Capability.class)));
+
+            Snapshot previous = snapshot;
+            snapshot = new Snapshot(capabilities, Instant.now());
+            if (previous == null || !previous.capabilities().equals(capabilities)) {
+                logger.infof("Cluster capabilities: %s", capabilities);
+            }
+            if (previous != null && !previous.capabilities().equals(capabilities)) {
+                changeListeners.forEach(listener -> listener.accept(capabilities));
+            }
+        } catch (KubernetesClientException e) {
+            logger.warnf("Could not discover the cluster capabilities: %s", e.getMessage());
+            if (snapshot == null) {
+                snapshot = new Snapshot(EnumSet.noneOf(Capability.class), Instant.now());
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * The background refresh keeps the answers fresh, reconciliations only send the discovery request themselves when
+     * it stopped running.
+     */
+    private boolean isExpired(Snapshot current) {
+        Duration age = Duration.between(current.refreshed(), Instant.now());
+        return age.compareTo(trustifyConfig.capabilities().refreshInterval().multipliedBy(2)) > 0;
+    }
+}
@@ -1,6 +1,7 @@
 package org.trustify.operator.services;
 
 import io.fabric8.kubernetes.api.model.Secret;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
 import org.trustify.operator.Constants;
 import org.trustify.operator.TrustifyConfig;
 import org.trustify.operator.cdrs.v2alpha1.Trustify;
@@ -10,7 +11,7 @@ import java.util.Optional;
 public interface Cluster {
     Optional<String> getAutoGeneratedIngressHost(Trustify cr);
 
-    Optional<Secret> getAutoGeneratedServerTlsSecret(Trustify cr);
+    Optional<Secret> getAutoGeneratedServerTlsSecret(Trustify cr, Context<Trustify> context);
 
     TrustifyConfig.KeycloakSubscriptionConfig getKeycloakSubscriptionConfig();
 
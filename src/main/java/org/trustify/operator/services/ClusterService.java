@@ -11,11 +11,14 @@ public class ClusterService {
     @Inject
     KubernetesClient k8sClient;
 
+    @Inject
+    CapabilityService capabilityService;
+
     private Cluster cluster;
 
     @PostConstruct
     void init() {
-        boolean isOpenshift = k8sClient.supports("route.openshift.io/v1", "Route");
+        boolean isOpenshift = capabilityService.supports(CapabilityService.Capability.ROUTES);
         if (isOpenshift) {
             cluster = new OpenshiftCluster(k8sClient);
         } else {
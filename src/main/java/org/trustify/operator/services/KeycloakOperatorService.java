@@ -1,23 +1,33 @@
 package org.trustify.operator.services;
 
-import io.fabric8.kubernetes.api.model.apiextensions.v1.CustomResourceDefinition;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.openshift.api.model.operatorhub.v1.OperatorGroup;
 import io.fabric8.openshift.api.model.operatorhub.v1.OperatorGroupBuilder;
 import io.fabric8.openshift.api.model.operatorhub.v1alpha1.*;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.trustify.operator.TrustifyConfig;
 import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.cdrs.v2alpha1.keycloak.operator.KeycloakSubscriptionDiscriminator;
+import org.trustify.operator.controllers.TrustifyReconciler;
+import org.trustify.operator.metrics.ApiCaller;
+import org.trustify.operator.utils.InformerUtils;
 
+import java.net.HttpURLConnection;
 import java.util.AbstractMap;
-import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
+@ApiCaller
 @ApplicationScoped
 public class KeycloakOperatorService {
 
+    public static final String SUBSCRIPTION_NAME = "keycloak-operator";
+    public static final String COPIED_FROM_LABEL = "olm.copiedFrom";
+
     @Inject
     KubernetesClient k8sClient;
 
@@ -27,37 +37,37 @@ public class KeycloakOperatorService {
     @Inject
     ClusterService clusterService;
 
+    @Inject
+    CapabilityService capabilityService;
+
     private Subscription subscription(Trustify cr) {
         TrustifyConfig.KeycloakSubscriptionConfig subscriptionConfig = trustifyConfig.keycloakSubscriptionConfig()
                 .orElseGet(() -> clusterService.getCluster().getKeycloakSubscriptionConfig());
 
         return new SubscriptionBuilder()
                 .withNewMetadata()
-                .withName("keycloak-operator")
+                .withName(SUBSCRIPTION_NAME)
                 .withNamespace(cr.getMetadata().getNamespace())
                 .endMetadata()
                 .withNewSpec()
                 .withChannel(subscriptionConfig.channel())
-                .withName("keycloak-operator")
+                .withName(SUBSCRIPTION_NAME)
                 .withSource(subscriptionConfig.source())
                 .withSourceNamespace(subscriptionConfig.namespace())
                 .endSpec()
                 .build();
     }
 
-    public Optional<Subscription> getCurrentInstance(Trustify cr) {
-        Subscription subscription = k8sClient.resource(subscription(cr))
-                .inNamespace(cr.getMetadata().getNamespace())
-                .get();
-        return Optional.ofNullable(subscription);
+    public static boolean isClusterServiceVersionOfSubscription(String clusterServiceVersionName) {
+        return clusterServiceVersionName.startsWith(SUBSCRIPTION_NAME);
     }
 
-    public void createSubscription(Trustify cr) {
-        // List all CustomResourceDefinitions
-        List<CustomResourceDefinition> crds = k8sClient.apiextensions().v1().customResourceDefinitions().list().getItems();
-        boolean isOlmInstalled = crds.stream().anyMatch(crd -> "clusterserviceversions.operators.coreos.com".equals(crd.getMetadata().getName()));
+    public Optional<Subscription> getCurrentInstance(Trustify cr, Context<Trustify> context) {
+        return context.getSecondaryResource(Subscription.class, new KeycloakSubscriptionDiscriminator());
+    }
 
-        if (!isOlmInstalled) {
+    public void createSubscription(Trustify cr, Context<Trustify> context) {
+        if (!capabilityService.supports(CapabilityService.Capability.OLM)) {
             throw new IllegalStateException("The Kubernetes Cluster does not have OLM");
         }
 
@@ -82,16 +92,29 @@ public class KeycloakOperatorService {
                     .create();
         }
 
-        Subscription subscription = subscription(cr);
-        k8sClient.resource(subscription)
-                .inNamespace(cr.getMetadata().getNamespace())
-                .create();
+        Subscription subscription = createOrGetSubscription(cr);
+        InformerUtils.getInformerEventSource(context, Subscription.class, TrustifyReconciler.SUBSCRIPTION_EVENT_SOURCE)
+                .ifPresent(informerEventSource -> informerEventSource.handleRecentResourceCreate(ResourceID.fromResource(subscription), subscription));
     }
 
-    public AbstractMap.SimpleEntry<Boolean, String> isSubscriptionReady(Trustify cr) {
-        Subscription subscription = k8sClient.resource(subscription(cr))
-                .inNamespace(cr.getMetadata().getNamespace())
-                .get();
+    private Subscription createOrGetSubscription(Trustify cr) {
+        try {
+            return k8sClient.resource(subscription(cr))
+                    .inNamespace(cr.getMetadata().getNamespace())
+                    .create();
+        } catch (KubernetesClientException e) {
+            // The informer might not have seen a Subscription created by a previous reconciliation yet
+            if (e.getCode() != HttpURLConnection.HTTP_CONFLICT) {
+                throw e;
+            }
+            return k8sClient.resource(subscription(cr))
+                    .inNamespace(cr.getMetadata().getNamespace())
+                    .get();
+        }
+    }
+
+    public AbstractMap.SimpleEntry<Boolean, String> isSubscriptionReady(Trustify cr, Context<Trustify> context) {
+        Subscription subscription = getCurrentInstance(cr, context).orElse(null);
         boolean isSubscriptionHealthy = subscription != null && subscription.getStatus() != null && subscription.getStatus()
                 .getCatalogHealth()
                 .stream().anyMatch(SubscriptionCatalogHealth::getHealthy);
@@ -104,19 +127,15 @@ public class KeycloakOperatorService {
             return new AbstractMap.SimpleEntry<>(false, "Subscription does not have currentCSV");
         }
 
-        ClusterServiceVersion clusterServiceVersion = new ClusterServiceVersionBuilder()
-                .withNewMetadata()
-                .withName(currentCSV)
-                .endMetadata()
-                .build();
-        clusterServiceVersion = k8sClient.resource(clusterServiceVersion)
-                .inNamespace(cr.getMetadata().getNamespace())
-                .get();
+        ResourceID clusterServiceVersionID = new ResourceID(currentCSV, cr.getMetadata().getNamespace());
+        ClusterServiceVersion clusterServiceVersion = InformerUtils.getInformerEventSource(context, ClusterServiceVersion.class, TrustifyReconciler.CLUSTER_SERVICE_VERSION_EVENT_SOURCE)
+                .flatMap(informerEventSource -> informerEventSource.get(clusterServiceVersionID))
+                .orElse(null);
         if (clusterServiceVersion == null) {
             return new AbstractMap.SimpleEntry<>(false, "ClusterServiceVersion does not exist");
         }
 
-        String phase = clusterServiceVersion.getStatus().getPhase();
+        String phase = clusterServiceVersion.getStatus() != null ? clusterServiceVersion.getStatus().getPhase() : null;
         if (!Objects.equals(phase, "Succeeded")) {
             return new AbstractMap.SimpleEntry<>(false, "CSV has not Succeeded yet. Waiting for it.");
         }
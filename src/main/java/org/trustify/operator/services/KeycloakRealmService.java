@@ -1,9 +1,14 @@
 package org.trustify.operator.services;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.keycloak.k8s.v2alpha1.KeycloakRealmImport;
@@ -11,26 +16,55 @@ import org.keycloak.k8s.v2alpha1.KeycloakRealmImportSpec;
 import org.keycloak.k8s.v2alpha1.keycloakrealmimportspec.Realm;
 import org.keycloak.k8s.v2alpha1.keycloakrealmimportspec.realm.*;
 import org.keycloak.k8s.v2alpha1.keycloakrealmimportspec.realm.users.Credentials;
+import org.trustify.operator.Constants;
 import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.cdrs.v2alpha1.keycloak.realmimport.KeycloakRealmImportDiscriminator;
+import org.trustify.operator.cdrs.v2alpha1.keycloak.utils.KeycloakUtils;
+import org.trustify.operator.controllers.TrustifyReconciler;
+import org.trustify.operator.metrics.ApiCaller;
+import org.trustify.operator.utils.InformerUtils;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+@ApiCaller
 @ApplicationScoped
 public class KeycloakRealmService {
 
+    public static final String REALM_HASH_ANNOTATION = "trustify-operator/realm-hash";
+
+    private static final ObjectMapper hashObjectMapper = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
     @Inject
     KubernetesClient k8sClient;
 
     @Inject
     ObjectMapper objectMapper;
 
+    // realm.json, parsed once
+    JsonNode realmTemplate;
+
+    // The realm only depends on the CR, its hash is computed once per generation
+    private record RealmHash(Long generation, String hash) {
+    }
+
+    private final Map<String, RealmHash> realmHashes = new ConcurrentHashMap<>();
+
     Function<String, ClientScopes> generateClientScope = scope -> {
         ClientScopes scopeRepresentation = new ClientScopes();
         scopeRepresentation.setName(scope);
@@ -38,8 +72,17 @@ public class KeycloakRealmService {
         return scopeRepresentation;
     };
 
+    @PostConstruct
+    void init() {
+        try (InputStream defaultRealmInputStream = KeycloakRealmService.class.getClassLoader().getResourceAsStream("realm.json")) {
+            realmTemplate = objectMapper.readTree(defaultRealmInputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     public static String getKeycloakRealmImportName(Trustify cr) {
-        return cr.getMetadata().getName() + "-realm-import";
+        return cr.getMetadata().getName() + Constants.KEYCLOAK_REALM_IMPORT_SUFFIX;
     }
 
     public static String getRealmName(Trustify cr) {
@@ -66,19 +109,55 @@ public class KeycloakRealmService {
         return String.format("%s/realms/%s", KeycloakServerService.RELATIVE_PATH, KeycloakRealmService.getRealmName(cr));
     }
 
-    public Optional<KeycloakRealmImport> getCurrentInstance(Trustify cr) {
-        KeycloakRealmImport realmImport = k8sClient.resources(KeycloakRealmImport.class)
+    public Optional<KeycloakRealmImport> getCurrentInstance(Trustify cr, Context<Trustify> context) {
+        return context.getSecondaryResource(KeycloakRealmImport.class, new KeycloakRealmImportDiscriminator());
+    }
+
+    public KeycloakRealmImport initInstance(Trustify cr, Context<Trustify> context) {
+        KeycloakRealmImport createdRealmImport = k8sClient.resource(desired(cr))
                 .inNamespace(cr.getMetadata().getNamespace())
-                .withName(getKeycloakRealmImportName(cr))
-                .get();
-        return Optional.ofNullable(realmImport);
+                .create();
+        InformerUtils.getInformerEventSource(context, KeycloakRealmImport.class, TrustifyReconciler.KEYCLOAK_REALM_IMPORT_EVENT_SOURCE)
+                .ifPresent(informerEventSource -> informerEventSource.handleRecentResourceCreate(ResourceID.fromResource(createdRealmImport), createdRealmImport));
+        return createdRealmImport;
+    }
+
+    /**
+     * Replaces the spec of a realm import that was not imported yet. The Keycloak Operator skips realms that already
+     * exist, so an imported realm is left with its outdated hash, see {@link #isOutdated}.
+     */
+    public KeycloakRealmImport updateInstance(Trustify cr, KeycloakRealmImport realmImport, Context<Trustify> context) {
+        if (!isOutdated(cr, realmImport) || KeycloakUtils.isKeycloakRealmImportDone(realmImport)) {
+            return realmImport;
+        }
+
+        KeycloakRealmImport desiredRealmImport = desired(cr);
+        KeycloakRealmImport updatedRealmImport = k8sClient.resource(realmImport).edit(actual -> {
+            Map<String, String> annotations = new HashMap<>(Optional.ofNullable(actual.getMetadata().getAnnotations()).orElse(Map.of()));
+            annotations.putAll(desiredRealmImport.getMetadata().getAnnotations());
+            actual.getMetadata().setAnnotations(annotations);
+            actual.setSpec(desiredRealmImport.getSpec());
+            return actual;
+        });
+        InformerUtils.getInformerEventSource(context, KeycloakRealmImport.class, TrustifyReconciler.KEYCLOAK_REALM_IMPORT_EVENT_SOURCE)
+                .ifPresent(informerEventSource -> informerEventSource.handleRecentResourceUpdate(ResourceID.fromResource(updatedRealmImport), updatedRealmImport, realmImport));
+        return updatedRealmImport;
     }
 
-    public KeycloakRealmImport initInstance(Trustify cr) {
+    /**
+     * Whether the realm import differs from the desired realm. The change of an imported realm needs the admin API of
+     * Keycloak or a new import of the realm.
+     */
+    public boolean isOutdated(Trustify cr, KeycloakRealmImport realmImport) {
+        return getRealmHash(realmImport).filter(getDesiredRealmHash(cr)::equals).isEmpty();
+    }
+
+    KeycloakRealmImport desired(Trustify cr) {
         KeycloakRealmImport realmImport = new KeycloakRealmImport();
 
         realmImport.setMetadata(new ObjectMeta());
         realmImport.getMetadata().setName(getKeycloakRealmImportName(cr));
+        realmImport.getMetadata().setNamespace(cr.getMetadata().getNamespace());
         realmImport.setSpec(new KeycloakRealmImportSpec());
 
         KeycloakRealmImportSpec spec = realmImport.getSpec();
@@ -211,24 +290,57 @@ public class KeycloakRealmService {
                 deleteDocumentScope.getName()
         ));
 
-        return k8sClient.resource(realmImport)
-                .inNamespace(cr.getMetadata().getNamespace())
-                .create();
+        realmImport.getMetadata().setAnnotations(new HashMap<>(Map.of(
+                REALM_HASH_ANNOTATION, computeRealmHash(spec)
+        )));
+        return realmImport;
+    }
+
+    String getDesiredRealmHash(Trustify cr) {
+        Long generation = cr.getMetadata().getGeneration();
+        RealmHash realmHash = realmHashes.get(cr.getMetadata().getUid());
+        if (realmHash == null || !Objects.equals(realmHash.generation(), generation)) {
+            realmHash = new RealmHash(generation, getRealmHash(desired(cr)).orElseThrow());
+            if (cr.getMetadata().getUid() != null) {
+                realmHashes.put(cr.getMetadata().getUid(), realmHash);
+            }
+        }
+        return realmHash.hash();
+    }
+
+    public static Optional<String> getRealmHash(KeycloakRealmImport realmImport) {
+        return Optional.ofNullable(realmImport.getMetadata().getAnnotations())
+                .map(annotations -> annotations.get(REALM_HASH_ANNOTATION));
+    }
+
+    /**
+     * Independent of the map orders, so the same realm always gets the same hash.
+     */
+    static String computeRealmHash(KeycloakRealmImportSpec spec) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(hashObjectMapper.writeValueAsBytes(spec));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not compute the hash of the realm", e);
+        }
     }
 
+    /**
+     * A new realm bound from the parsed template, which is never modified.
+     */
     private Realm getDefaultRealm() {
         try {
-            InputStream defaultRealmInputStream = KeycloakRealmService.class.getClassLoader().getResourceAsStream("realm.json");
-            ObjectReader objectReader = objectMapper.readerFor(Realm.class);
-            return objectReader.readValue(defaultRealmInputStream);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+            return objectMapper.treeToValue(realmTemplate, Realm.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not bind the realm template", e);
         }
     }
 
     public void cleanupDependentResources(Trustify cr) {
-        getCurrentInstance(cr).ifPresent(keycloakRealmImport -> {
-            k8sClient.resource(keycloakRealmImport).delete();
-        });
+        realmHashes.remove(cr.getMetadata().getUid());
+        k8sClient.resources(KeycloakRealmImport.class)
+                .inNamespace(cr.getMetadata().getNamespace())
+                .withName(getKeycloakRealmImportName(cr))
+                .delete();
     }
 }
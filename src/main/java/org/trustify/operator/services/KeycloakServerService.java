@@ -5,13 +5,16 @@ import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.SecretKeySelector;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.keycloak.k8s.v2alpha1.Keycloak;
+import org.keycloak.k8s.v2alpha1.KeycloakRealmImport;
 import org.keycloak.k8s.v2alpha1.KeycloakSpec;
 import org.keycloak.k8s.v2alpha1.keycloakspec.*;
 import org.keycloak.k8s.v2alpha1.keycloakspec.db.PasswordSecret;
 import org.keycloak.k8s.v2alpha1.keycloakspec.db.UsernameSecret;
+import org.trustify.operator.Constants;
 import org.trustify.operator.TrustifyConfig;
 import org.trustify.operator.TrustifyImagesConfig;
 import org.trustify.operator.cdrs.v2alpha1.Trustify;
@@ -20,12 +23,20 @@ import org.trustify.operator.cdrs.v2alpha1.ingress.AppIngressDiscriminator;
 import org.trustify.operator.cdrs.v2alpha1.keycloak.db.deployment.KeycloakDBDeployment;
 import org.trustify.operator.cdrs.v2alpha1.keycloak.db.secret.KeycloakDBSecret;
 import org.trustify.operator.cdrs.v2alpha1.keycloak.db.service.KeycloakDBService;
+import org.trustify.operator.cdrs.v2alpha1.keycloak.realmimport.KeycloakRealmImportDiscriminator;
+import org.trustify.operator.cdrs.v2alpha1.keycloak.server.KeycloakServerDiscriminator;
+import org.trustify.operator.cdrs.v2alpha1.keycloak.utils.KeycloakUtils;
+import org.trustify.operator.controllers.ReconcileCache;
+import org.trustify.operator.controllers.TrustifyReconciler;
+import org.trustify.operator.metrics.ApiCaller;
 import org.trustify.operator.utils.CRDUtils;
+import org.trustify.operator.utils.InformerUtils;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
 
+@ApiCaller
 @ApplicationScoped
 public class KeycloakServerService {
 
@@ -41,7 +52,7 @@ public class KeycloakServerService {
     TrustifyConfig trustifyConfig;
 
     public static String getKeycloakName(Trustify cr) {
-        return cr.getMetadata().getName() + "-keycloak";
+        return cr.getMetadata().getName() + Constants.KEYCLOAK_SUFFIX;
     }
 
     public Keycloak initInstance(Trustify cr, Context<Trustify> context) {
@@ -179,23 +190,43 @@ public class KeycloakServerService {
                 httpManagementRelativePath
         ));
 
-        return k8sClient.resource(keycloak)
+        Keycloak createdKeycloak = k8sClient.resource(keycloak)
                 .inNamespace(cr.getMetadata().getNamespace())
                 .create();
+        InformerUtils.getInformerEventSource(context, Keycloak.class, TrustifyReconciler.KEYCLOAK_EVENT_SOURCE)
+                .ifPresent(informerEventSource -> informerEventSource.handleRecentResourceCreate(ResourceID.fromResource(createdKeycloak), createdKeycloak));
+        return createdKeycloak;
     }
 
-    public Optional<Keycloak> getCurrentInstance(Trustify cr) {
-        Keycloak keycloak = k8sClient.resources(Keycloak.class)
-                .inNamespace(cr.getMetadata().getNamespace())
-                .withName(getKeycloakName(cr))
-                .get();
-        return Optional.ofNullable(keycloak);
+    public Optional<Keycloak> getCurrentInstance(Trustify cr, Context<Trustify> context) {
+        return context.getSecondaryResource(Keycloak.class, new KeycloakServerDiscriminator());
     }
 
     public static String getServiceHost(Trustify cr) {
         return String.format("%s.%s.svc", cr.getMetadata().getName() + "-keycloak-service", cr.getMetadata().getNamespace());
     }
 
+    /**
+     * The Keycloak server of the CR once both the server and its realm import are ready. Read from the informer caches
+     * once per reconciliation and shared by every dependent waiting for Keycloak.
+     */
+    public static Optional<Keycloak> getReadyInstance(Trustify cr, Context<Trustify> context) {
+        return ReconcileCache.get(context).computeIfAbsent(cr, ReconcileCache.READY_KEYCLOAK, () -> context
+                .getSecondaryResource(Keycloak.class, new KeycloakServerDiscriminator())
+                .filter(KeycloakUtils::isKeycloakServerReady)
+                .filter(keycloak -> context.getSecondaryResource(KeycloakRealmImport.class, new KeycloakRealmImportDiscriminator())
+                        .map(KeycloakUtils::isKeycloakRealmImportReady)
+                        .orElse(false)
+                )
+        );
+    }
+
+    public static Optional<String> getServiceUrl(Trustify cr, Context<Trustify> context) {
+        return ReconcileCache.get(context).computeIfAbsent(cr, ReconcileCache.KEYCLOAK_URL, () -> getReadyInstance(cr, context)
+                .map(keycloak -> getServiceUrl(cr, keycloak))
+        );
+    }
+
     public static String getServiceUrl(Trustify cr, Keycloak keycloak) {
         String protocol = keycloak.getSpec().getHttp().getHttpEnabled() ? "http" : "https";
         int port = keycloak.getSpec().getHttp().getHttpEnabled() ? 8080 : 8443;
@@ -203,9 +234,10 @@ public class KeycloakServerService {
     }
 
     public void cleanupDependentResources(Trustify cr) {
-        getCurrentInstance(cr).ifPresent(keycloak -> {
-            k8sClient.resource(keycloak).delete();
-        });
+        k8sClient.resources(Keycloak.class)
+                .inNamespace(cr.getMetadata().getNamespace())
+                .withName(getKeycloakName(cr))
+                .delete();
     }
 
 }
@@ -2,13 +2,14 @@ package org.trustify.operator.services;
 
 import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
 import io.fabric8.kubernetes.api.model.Secret;
-import io.fabric8.kubernetes.api.model.SecretBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.dsl.base.CustomResourceDefinitionContext;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
 import org.jboss.logging.Logger;
 import org.trustify.operator.TrustifyConfig;
 import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.utils.InformerUtils;
 
 import java.util.Collections;
 import java.util.Map;
@@ -37,16 +38,8 @@ public class OpenshiftCluster implements Cluster {
     }
 
     @Override
-    public Optional<Secret> getAutoGeneratedServerTlsSecret(Trustify cr) {
-        Secret selfGeneratedSecret = new SecretBuilder()
-                .withNewMetadata()
-                .withName(Cluster.getServerSelfGeneratedTlsSecretName(cr))
-                .endMetadata()
-                .build();
-        Secret secret = k8sClient.resource(selfGeneratedSecret)
-                .inNamespace(cr.getMetadata().getNamespace())
-                .get();
-        return Optional.ofNullable(secret);
+    public Optional<Secret> getAutoGeneratedServerTlsSecret(Trustify cr, Context<Trustify> context) {
+        return InformerUtils.getReferencedSecret(cr, context, Cluster.getServerSelfGeneratedTlsSecretName(cr));
     }
 
     @Override
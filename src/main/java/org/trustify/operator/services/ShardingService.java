@@ -0,0 +1,353 @@
+package org.trustify.operator.services;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.coordination.v1.Lease;
+import io.fabric8.kubernetes.api.model.coordination.v1.LeaseBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.dsl.base.PatchContext;
+import io.fabric8.kubernetes.client.dsl.base.PatchType;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.javaoperatorsdk.operator.processing.event.source.SecondaryToPrimaryMapper;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
+import org.jboss.logging.Logger;
+import org.trustify.operator.Constants;
+import org.trustify.operator.TrustifyConfig;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.utils.ConsistentHashRing;
+
+import java.net.HttpURLConnection;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Splits the Trustify CRs between the operator replicas when sharding is enabled. Every replica keeps a Lease alive in
+ * the operator namespace; replicas with a live Lease form a consistent hash ring, and a CR belongs to the replica owning
+ * the hash of its namespace and name. A member gives up the CRs it loses as soon as it sees a new ring, but only takes
+ * over the CRs it gains once the ring has been stable for one lease duration, by when the other members have seen the
+ * same ring or their Lease has expired. A member that could not renew its Lease for one lease duration owns no CR.
+ * Independently, a replica given a shard only watches the CRs carrying the {@link #SHARD_LABEL} of that shard, which is
+ * copied to their secondary resources.
+ */
+@ApplicationScoped
+public class ShardingService {
+
+    private static final Logger logger = Logger.getLogger(ShardingService.class);
+
+    public static final String SHARD_MEMBER_LABEL = "trustify-operator/shard-member";
+    public static final String LEASE_PREFIX = "trustify-operator-shard-";
+    public static final String SHARD_LABEL = "trustify-operator/shard";
+
+    @Inject
+    KubernetesClient k8sClient;
+
+    @Inject
+    TrustifyConfig trustifyConfig;
+
+    private final List<Consumer<Predicate<ResourceID>>> rebalanceListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * The primaries owned before the ring changed stay owned during the handover, those gained wait for its end.
+     */
+    private record Handover(ConsistentHashRing ring, Predicate<ResourceID> ownedBefore, long startNanos) {
+    }
+
+    private volatile Handover handover;
+    private volatile long leaseRenewNanos;
+    private String memberId;
+    private String namespace;
+    private SharedIndexInformer<Lease> leaseInformer;
+    private ScheduledThreadPoolExecutor scheduler;
+
+    // Runs before the operator starts so that the first events of the primary informer are already filtered
+    void onStart(@Observes @Priority(Interceptor.Priority.PLATFORM_BEFORE) StartupEvent event) {
+        if (trustifyConfig.sharding().enabled()) {
+            start();
+        }
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        stop();
+    }
+
+    synchronized void start() {
+        memberId = trustifyConfig.sharding().memberId()
+                .or(() -> Optional.ofNullable(System.getenv("HOSTNAME")))
+                .orElseGet(() -> UUID.randomUUID().toString());
+        namespace = k8sClient.getNamespace();
+
+        scheduler = new ScheduledThreadPoolExecutor(1);
+        scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        renewLease();
+        leaseInformer = k8sClient.leases()
+                .inNamespace(namespace)
+                .withLabel(SHARD_MEMBER_LABEL)
+                .inform(new ResourceEventHandler<>() {
+                    @Override
+                    public void onAdd(Lease lease) {
+                        updateMembers();
+                    }
+
+                    @Override
+                    public void onUpdate(Lease oldLease, Lease newLease) {
+                        updateMembers();
+                    }
+
+                    @Override
+                    public void onDelete(Lease lease, boolean deletedFinalStateUnknown) {
+                        updateMembers();
+                    }
+                });
+        updateMembers();
+
+        long renewPeriod = Math.max(1, trustifyConfig.sharding().leaseDuration().toMillis() / 3);
+        scheduler.scheduleAtFixedRate(() -> {
+            try {
+                boolean wasLeaseHeld = isLeaseHeld();
+                renewLease();
+                if (!wasLeaseHeld) {
+                    // The other members might have taken over the CRs of this member meanwhile
+                    restartHandover();
+                }
+                updateMembers();
+            } catch (RuntimeException e) {
+                logger.error("Could not renew the shard Lease", e);
+            }
+        }, renewPeriod, renewPeriod, TimeUnit.MILLISECONDS);
+
+        logger.infof("Sharding enabled, member %s", memberId);
+    }
+
+    void stop() {
+        ScheduledThreadPoolExecutor stoppedScheduler;
+        SharedIndexInformer<Lease> stoppedLeaseInformer;
+        // Not held while waiting for the scheduler and deleting the Lease, the renewal and the Lease events wait for it
+        synchronized (this) {
+            stoppedScheduler = scheduler;
+            scheduler = null;
+            handover = null;
+            stoppedLeaseInformer = leaseInformer;
+            leaseInformer = null;
+        }
+        if (stoppedScheduler != null) {
+            // A renewal still running would create the Lease again once deleted
+            stoppedScheduler.shutdown();
+            try {
+                stoppedScheduler.awaitTermination(trustifyConfig.sharding().leaseDuration().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (memberId != null) {
+            // Lets the other members take over right away instead of waiting for the Lease to expire
+            k8sClient.leases().inNamespace(namespace).withName(getLeaseName()).delete();
+        }
+        if (stoppedLeaseInformer != null) {
+            stoppedLeaseInformer.close();
+        }
+    }
+
+    public boolean isEnabled() {
+        return trustifyConfig.sharding().enabled();
+    }
+
+    public boolean isOwned(ResourceID primary) {
+        if (!isEnabled()) {
+            return true;
+        }
+
+        Handover currentHandover = handover;
+        return currentHandover != null && isLeaseHeld() && isOwned(currentHandover.ring(), primary) &&
+                (isComplete(currentHandover) || currentHandover.ownedBefore().test(primary));
+    }
+
+    public boolean isOwned(Trustify cr) {
+        return isInShard(cr) && isOwned(ResourceID.fromResource(cr));
+    }
+
+    /**
+     * The primary informer is narrowed by the selector of the controller, set along with the shard.
+     */
+    private boolean isInShard(Trustify cr) {
+        return trustifyConfig.sharding().shard()
+                .map(shard -> shard.equals(Optional.ofNullable(cr.getMetadata().getLabels()).map(labels -> labels.get(SHARD_LABEL)).orElse(null)))
+                .orElse(true);
+    }
+
+    /**
+     * Narrows the label selector of an informer of secondary resources to the shard of this replica.
+     */
+    public String getLabelSelector(String labelSelector) {
+        return trustifyConfig.sharding().shard()
+                .map(shard -> SHARD_LABEL + "=" + shard)
+                .map(shardSelector -> {
+                    if (labelSelector == null || labelSelector.isBlank()) {
+                        return shardSelector;
+                    }
+                    return labelSelector.contains(shardSelector) ? labelSelector : labelSelector + "," + shardSelector;
+                })
+                .orElse(labelSelector);
+    }
+
+    /**
+     * Secondary resources without a Trustify owner are accepted, their mappers decide.
+     */
+    public boolean isOwnerOwned(HasMetadata resource) {
+        List<ResourceID> owners = resource.getMetadata().getOwnerReferences().stream()
+                .filter(ownerReference -> Objects.equals(ownerReference.getKind(), HasMetadata.getKind(Trustify.class)))
+                .map(ownerReference -> new ResourceID(ownerReference.getName(), resource.getMetadata().getNamespace()))
+                .toList();
+        return owners.isEmpty() || owners.stream().anyMatch(this::isOwned);
+    }
+
+    public <R extends HasMetadata> SecondaryToPrimaryMapper<R> ownedPrimariesMapper(SecondaryToPrimaryMapper<R> mapper) {
+        return resource -> mapper.toPrimaryResourceIDs(resource).stream()
+                .filter(this::isOwned)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * The listener receives the CRs this member gained once their handover is complete, they have not been reconciled
+     * here yet.
+     */
+    public void addRebalanceListener(Consumer<Predicate<ResourceID>> listener) {
+        rebalanceListeners.add(listener);
+    }
+
+    synchronized void updateMembers() {
+        // Events of the Lease informer might still be delivered once stopped
+        if (scheduler == null) {
+            return;
+        }
+
+        ZonedDateTime now = ZonedDateTime.now();
+        Set<String> members = new HashSet<>();
+        members.add(memberId);
+        if (leaseInformer != null) {
+            leaseInformer.getStore().list().stream()
+                    .filter(lease -> isAlive(lease, now))
+                    .map(lease -> lease.getSpec().getHolderIdentity())
+                    .forEach(members::add);
+        }
+
+        Handover previousHandover = handover;
+        if (previousHandover != null && previousHandover.ring().getMembers().equals(members)) {
+            return;
+        }
+
+        ConsistentHashRing newRing = new ConsistentHashRing(members, trustifyConfig.sharding().virtualNodes());
+        logger.infof("Shard members changed to %s", new TreeSet<>(members));
+        startHandover(newRing, getOwned(previousHandover));
+    }
+
+    /**
+     * The primaries of an ongoing handover that were not owned before are not owned yet either.
+     */
+    private Predicate<ResourceID> getOwned(Handover previousHandover) {
+        if (previousHandover == null) {
+            return primary -> false;
+        }
+        if (isComplete(previousHandover)) {
+            return primary -> isOwned(previousHandover.ring(), primary);
+        }
+        return primary -> isOwned(previousHandover.ring(), primary) && previousHandover.ownedBefore().test(primary);
+    }
+
+    private synchronized void restartHandover() {
+        if (handover != null) {
+            startHandover(handover.ring(), primary -> false);
+        }
+    }
+
+    private void startHandover(ConsistentHashRing newRing, Predicate<ResourceID> ownedBefore) {
+        Handover newHandover = new Handover(newRing, ownedBefore, System.nanoTime());
+        handover = newHandover;
+        scheduler.schedule(() -> completeHandover(newHandover), trustifyConfig.sharding().leaseDuration().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void completeHandover(Handover completedHandover) {
+        // A newer handover replaced it, the gained primaries are notified at its end
+        if (handover != completedHandover) {
+            return;
+        }
+
+        Predicate<ResourceID> gained = primary -> isOwned(completedHandover.ring(), primary) && !completedHandover.ownedBefore().test(primary);
+        rebalanceListeners.forEach(listener -> listener.accept(gained));
+    }
+
+    private boolean isComplete(Handover handover) {
+        return System.nanoTime() - handover.startNanos() >= trustifyConfig.sharding().leaseDuration().toNanos();
+    }
+
+    /**
+     * The other members consider the Lease expired one lease duration after its renew time, set before it is sent.
+     */
+    private boolean isLeaseHeld() {
+        return System.nanoTime() - leaseRenewNanos < trustifyConfig.sharding().leaseDuration().toNanos();
+    }
+
+    private boolean isOwned(ConsistentHashRing ring, ResourceID primary) {
+        return ring.getOwner(getShardKey(primary))
+                .map(memberId::equals)
+                .orElse(false);
+    }
+
+    private void renewLease() {
+        long renewNanos = System.nanoTime();
+        Lease lease = new LeaseBuilder()
+                .withNewMetadata()
+                .withName(getLeaseName())
+                .withNamespace(namespace)
+                .withLabels(Map.of(
+                        SHARD_MEMBER_LABEL, "true",
+                        "app.kubernetes.io/managed-by", Constants.FIELD_MANAGER
+                ))
+                .endMetadata()
+                .withNewSpec()
+                .withHolderIdentity(memberId)
+                .withLeaseDurationSeconds((int) trustifyConfig.sharding().leaseDuration().toSeconds())
+                .withRenewTime(ZonedDateTime.now())
+                .endSpec()
+                .build();
+
+        try {
+            k8sClient.leases().inNamespace(namespace).withName(getLeaseName()).patch(PatchContext.of(PatchType.JSON_MERGE), lease);
+        } catch (KubernetesClientException e) {
+            if (e.getCode() != HttpURLConnection.HTTP_NOT_FOUND) {
+                throw e;
+            }
+            k8sClient.leases().inNamespace(namespace).resource(lease).create();
+        }
+        leaseRenewNanos = renewNanos;
+    }
+
+    private String getLeaseName() {
+        return LEASE_PREFIX + memberId;
+    }
+
+    private static boolean isAlive(Lease lease, ZonedDateTime now) {
+        return lease.getSpec() != null &&
+                lease.getSpec().getHolderIdentity() != null &&
+                lease.getSpec().getRenewTime() != null &&
+                lease.getSpec().getLeaseDurationSeconds() != null &&
+                lease.getSpec().getRenewTime().plusSeconds(lease.getSpec().getLeaseDurationSeconds()).isAfter(now);
+    }
+
+    public static String getShardKey(ResourceID primary) {
+        return primary.getNamespace().orElse("") + "/" + primary.getName();
+    }
+}
@@ -2,6 +2,7 @@ package org.trustify.operator.services;
 
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
 import org.trustify.operator.TrustifyConfig;
 import org.trustify.operator.cdrs.v2alpha1.Trustify;
 
@@ -21,7 +22,7 @@ public class VanillaCluster implements Cluster {
     }
 
     @Override
-    public Optional<Secret> getAutoGeneratedServerTlsSecret(Trustify cr) {
+    public Optional<Secret> getAutoGeneratedServerTlsSecret(Trustify cr, Context<Trustify> context) {
         return Optional.empty();
     }
 
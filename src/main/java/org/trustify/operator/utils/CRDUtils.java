@@ -69,6 +69,13 @@ public class CRDUtils {
                 .build();
     }
 
+    /**
+     * "3" is a number of instances and "25%" a percentage of them.
+     */
+    public static IntOrString getIntOrString(String value) {
+        return value.matches("\\d+") ? new IntOrString(Integer.parseInt(value)) : new IntOrString(value);
+    }
+
     public static String generateRandomString(int targetStringLength) {
         int leftLimit = 48; // numeral '0'
         int rightLimit = 122; // letter 'z'
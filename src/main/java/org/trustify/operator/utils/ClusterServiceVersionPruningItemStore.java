@@ -0,0 +1,16 @@
+package org.trustify.operator.utils;
+
+import io.fabric8.openshift.api.model.operatorhub.v1alpha1.ClusterServiceVersion;
+
+/**
+ * Informer store for CSVs the operator only checks the phase of, it drops their spec on top of managedFields. The spec
+ * embeds the whole install strategy and the descriptions of the owned CRDs.
+ */
+public class ClusterServiceVersionPruningItemStore extends ManagedFieldsPruningItemStore<ClusterServiceVersion> {
+
+    @Override
+    public ClusterServiceVersion put(String key, ClusterServiceVersion obj) {
+        obj.setSpec(null);
+        return super.put(key, obj);
+    }
+}
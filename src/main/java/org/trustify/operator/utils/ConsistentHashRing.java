@@ -0,0 +1,48 @@
+package org.trustify.operator.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Assigns keys to members so that a member joining or leaving only moves the keys of its own segments of the ring.
+ * Every member is placed several times on the ring (virtual nodes) to even out the share of each member.
+ */
+public class ConsistentHashRing {
+
+    private final Set<String> members;
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+    public ConsistentHashRing(Collection<String> members, int virtualNodes) {
+        this.members = Set.copyOf(members);
+        for (String member : this.members) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(member + "#" + i), member);
+            }
+        }
+    }
+
+    public Set<String> getMembers() {
+        return members;
+    }
+
+    public Optional<String> getOwner(String key) {
+        if (ring.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(key));
+        return Optional.of(entry != null ? entry.getValue() : ring.firstEntry().getValue());
+    }
+
+    static long hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.trustify.operator.utils;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.javaoperatorsdk.operator.processing.event.source.informer.InformerEventSource;
+import org.trustify.operator.Constants;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.controllers.ReconcileCache;
+import org.trustify.operator.controllers.TrustifyReconciler;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+public class InformerUtils {
+
+    /**
+     * Event sources for CRDs owned by other operators (Keycloak, OLM) might not be registered yet, so lookups must not fail.
+     */
+    @SuppressWarnings("unchecked")
+    public static <R extends HasMetadata> Optional<InformerEventSource<R, Trustify>> getInformerEventSource(Context<Trustify> context, Class<R> resourceClass, String eventSourceName) {
+        try {
+            return Optional.of((InformerEventSource<R, Trustify>) context.eventSourceRetriever().getResourceEventSourceFor(resourceClass, eventSourceName));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Secrets referenced by name from the CR (e.g. TLS secrets), served from the informer cache. A secret missing from
+     * the cache is fetched once per reconciliation and labelled, so that the informer watches it from then on.
+     */
+    public static Optional<Secret> getReferencedSecret(Trustify cr, Context<Trustify> context, String name) {
+        String namespace = cr.getMetadata().getNamespace();
+        return getInformerEventSource(context, Secret.class, TrustifyReconciler.REFERENCED_SECRET_EVENT_SOURCE)
+                .flatMap(informerEventSource -> informerEventSource.get(new ResourceID(name, namespace)))
+                .or(() -> ReconcileCache.get(context).computeIfAbsent(cr, ReconcileCache.REFERENCED_SECRET + name, () ->
+                        Optional.ofNullable(context.getClient().secrets().inNamespace(namespace).withName(name).get())
+                                .map(secret -> addReferencedLabel(context, secret))
+                ));
+    }
+
+    private static Secret addReferencedLabel(Context<Trustify> context, Secret secret) {
+        Map<String, String> labels = Optional.ofNullable(secret.getMetadata().getLabels()).orElse(Map.of());
+        if (Boolean.parseBoolean(labels.get(Constants.REFERENCED_LABEL))) {
+            return secret;
+        }
+        return context.getClient().resource(secret).edit(actual -> {
+            Map<String, String> actualLabels = new HashMap<>(Optional.ofNullable(actual.getMetadata().getLabels()).orElse(Map.of()));
+            actualLabels.put(Constants.REFERENCED_LABEL, Boolean.TRUE.toString());
+            actual.getMetadata().setLabels(actualLabels);
+            return actual;
+        });
+    }
+
+}
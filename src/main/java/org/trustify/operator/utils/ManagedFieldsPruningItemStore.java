@@ -0,0 +1,51 @@
+package org.trustify.operator.utils;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.ManagedFieldsEntry;
+import io.fabric8.kubernetes.client.informers.cache.BasicItemStore;
+import io.fabric8.kubernetes.client.informers.cache.Cache;
+import io.javaoperatorsdk.operator.processing.dependent.kubernetes.SSABasedGenericKubernetesResourceMatcher;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Informer store that drops metadata.managedFields, which the operator never reads but is usually the biggest part of the metadata.
+ * The Apply entry of the field manager of the operator is kept when given, server-side apply compares the desired state
+ * against the fields it owns and would find every dependent changed without it.
+ */
+public class ManagedFieldsPruningItemStore<R extends HasMetadata> extends BasicItemStore<R> {
+
+    private final String keptFieldManager;
+
+    public ManagedFieldsPruningItemStore() {
+        this(null);
+    }
+
+    public ManagedFieldsPruningItemStore(String keptFieldManager) {
+        super(Cache::metaNamespaceKeyFunc);
+        this.keptFieldManager = keptFieldManager;
+    }
+
+    @Override
+    public R put(String key, R obj) {
+        if (obj.getMetadata() != null) {
+            obj.getMetadata().setManagedFields(getKeptManagedFields(obj.getMetadata().getManagedFields()));
+        }
+        return super.put(key, obj);
+    }
+
+    private List<ManagedFieldsEntry> getKeptManagedFields(List<ManagedFieldsEntry> managedFields) {
+        if (keptFieldManager == null) {
+            return null;
+        }
+        // The matcher expects a list, even when the operator has not applied the object yet
+        return Optional.ofNullable(managedFields)
+                .orElse(List.of())
+                .stream()
+                .filter(entry -> keptFieldManager.equals(entry.getManager()))
+                .filter(entry -> SSABasedGenericKubernetesResourceMatcher.APPLY_OPERATION.equals(entry.getOperation()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,16 @@
+package org.trustify.operator.utils;
+
+import io.fabric8.kubernetes.api.model.Secret;
+
+/**
+ * Informer store for secrets the operator only checks the existence of, it drops their data on top of managedFields.
+ */
+public class SecretDataPruningItemStore extends ManagedFieldsPruningItemStore<Secret> {
+
+    @Override
+    public Secret put(String key, Secret obj) {
+        obj.setData(null);
+        obj.setStringData(null);
+        return super.put(key, obj);
+    }
+}
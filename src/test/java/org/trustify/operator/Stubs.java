@@ -0,0 +1,37 @@
+package org.trustify.operator;
+
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Stubs of interfaces like the config mappings or the reconcile context for plain unit tests. Methods answer by name,
+ * and methods without an answer fail so that a test notices when the code under test reads something unexpected.
+ */
+public final class Stubs {
+
+    private Stubs() {
+    }
+
+    public static <T> T stub(Class<T> type, Map<String, ?> answers) {
+        return stub(type, answers::get);
+    }
+
+    public static <T> T stub(Class<T> type, Function<String, ?> answers) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Object answer = answers.apply(method.getName());
+            if (answer == null) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            return answer;
+        }));
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Context<Trustify> context(Map<String, ?> answers) {
+        return stub(Context.class, answers);
+    }
+}
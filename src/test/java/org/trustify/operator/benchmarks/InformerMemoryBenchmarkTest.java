@@ -0,0 +1,115 @@
+package org.trustify.operator.benchmarks;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.FieldsV1Builder;
+import io.fabric8.kubernetes.api.model.ManagedFieldsEntryBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.fabric8.kubernetes.client.informers.cache.ItemStore;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.trustify.operator.Constants;
+import org.trustify.operator.controllers.TestTags;
+import org.trustify.operator.utils.CRDUtils;
+import org.trustify.operator.utils.ManagedFieldsPruningItemStore;
+
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the footprint of an unfiltered informer against the label-filtered and pruned informers the operator uses,
+ * in a namespace full of objects that do not belong to the operator.
+ */
+@Tag(TestTags.benchmark)
+@EnableKubernetesMockClient(crud = true)
+public class InformerMemoryBenchmarkTest {
+
+    static final String NAMESPACE = "benchmark";
+    static final int UNRELATED_OBJECTS = 10_000;
+    static final int MANAGED_OBJECTS = 20;
+
+    static KubernetesClient client;
+
+    @BeforeAll
+    static void beforeAll() {
+        IntStream.range(0, UNRELATED_OBJECTS).parallel().forEach(i -> client.resource(configMap("unrelated-" + i, Map.of("app", "unrelated"))).create());
+        IntStream.range(0, MANAGED_OBJECTS).forEach(i -> client.resource(configMap("managed-" + i, CRDUtils.getLabelsFromString(Constants.MANAGED_BY_LABEL_SELECTOR))).create());
+    }
+
+    @Test
+    public void labelSelectorAndPruningReduceCacheFootprint() throws Exception {
+        Footprint unfiltered = measure(false, null);
+        Footprint filtered = measure(true, null);
+        Footprint filteredAndPruned = measure(true, new ManagedFieldsPruningItemStore<>());
+
+        System.out.printf("informer footprint (objects / serialized bytes / heap delta bytes)%n");
+        System.out.printf("  unfiltered:          %d / %d / %d%n", unfiltered.objects, unfiltered.serializedBytes, unfiltered.heapDelta);
+        System.out.printf("  label selector:      %d / %d / %d%n", filtered.objects, filtered.serializedBytes, filtered.heapDelta);
+        System.out.printf("  selector + pruning:  %d / %d / %d%n", filteredAndPruned.objects, filteredAndPruned.serializedBytes, filteredAndPruned.heapDelta);
+
+        Assertions.assertEquals(UNRELATED_OBJECTS + MANAGED_OBJECTS, unfiltered.objects);
+        Assertions.assertEquals(MANAGED_OBJECTS, filtered.objects);
+        Assertions.assertEquals(MANAGED_OBJECTS, filteredAndPruned.objects);
+        Assertions.assertTrue(filteredAndPruned.serializedBytes < filtered.serializedBytes);
+    }
+
+    private Footprint measure(boolean useLabelSelector, ItemStore<ConfigMap> itemStore) throws Exception {
+        long heapBefore = usedHeap();
+
+        var resources = client.configMaps().inNamespace(NAMESPACE);
+        SharedIndexInformer<ConfigMap> informer = useLabelSelector ?
+                resources.withLabelSelector(Constants.MANAGED_BY_LABEL_SELECTOR).runnableInformer(0) :
+                resources.runnableInformer(0);
+        if (itemStore != null) {
+            informer.itemStore(itemStore);
+        }
+        informer.start().toCompletableFuture().get();
+
+        try {
+            long heapDelta = usedHeap() - heapBefore;
+            long serializedBytes = informer.getStore().list().stream()
+                    .mapToLong(configMap -> Serialization.asJson(configMap).length())
+                    .sum();
+            return new Footprint(informer.getStore().list().size(), serializedBytes, heapDelta);
+        } finally {
+            informer.close();
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static ConfigMap configMap(String name, Map<String, String> labels) {
+        return new ConfigMapBuilder()
+                .withNewMetadata()
+                .withName(name)
+                .withNamespace(NAMESPACE)
+                .withLabels(labels)
+                .addToManagedFields(new ManagedFieldsEntryBuilder()
+                        .withManager("kubectl-client-side-apply")
+                        .withOperation("Update")
+                        .withApiVersion("v1")
+                        .withFieldsType("FieldsV1")
+                        .withFieldsV1(new FieldsV1Builder()
+                                .addToAdditionalProperties("f:data", Map.of("f:application.properties", Map.of()))
+                                .addToAdditionalProperties("f:metadata", Map.of("f:labels", Map.of("f:app", Map.of())))
+                                .build()
+                        )
+                        .build()
+                )
+                .endMetadata()
+                .withData(Map.of("application.properties", "key=value"))
+                .build();
+    }
+
+    record Footprint(int objects, long serializedBytes, long heapDelta) {
+    }
+}
@@ -0,0 +1,149 @@
+package org.trustify.operator.benchmarks;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
+import io.javaoperatorsdk.operator.api.config.ConfigurationService;
+import io.quarkiverse.operatorsdk.runtime.QuarkusConfigurationService;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.kubernetes.client.KubernetesTestServer;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.trustify.operator.TrustifyConfig;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.cdrs.v2alpha1.TrustifySpec;
+import org.trustify.operator.controllers.ReconcileExecutorConfigurer;
+import org.trustify.operator.controllers.setup.K3sConfigProducer;
+import org.trustify.operator.scale.ReadinessSimulator;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Provisions Trustify CRs with the operator as wired by Quarkus, reconciling with the executor set by
+ * {@link ReconcileExecutorConfigurer} for the mode of the subclass, and compares time-to-ready, heap and threads
+ * between the platform and the virtual thread executors. Workloads are made ready by {@link ReadinessSimulator}.
+ * <p>
+ * Run with {@code mvn test -Pbenchmark}, the mode benchmarked last is compared with the other one.
+ */
+public abstract class ReconcileExecutorBenchmarkTest {
+
+    private static final Logger logger = Logger.getLogger(ReconcileExecutorBenchmarkTest.class);
+
+    static final int CRS = 200;
+    static final Duration READINESS_DELAY = Duration.ofSeconds(1);
+
+    // Both modes see the same mock server latencies, a slower virtual executor beyond the noise is a regression
+    static final double TOLERANCE = 1.25;
+
+    static final Map<TrustifyConfig.ReconcileExecutorConfig.Mode, Duration> TIMES_TO_READY = new ConcurrentHashMap<>();
+
+    public abstract static class Profile implements QuarkusTestProfile {
+
+        abstract TrustifyConfig.ReconcileExecutorConfig.Mode mode();
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    // The k3s config producer of the other tests would replace the mock server config
+                    "quarkus.arc.exclude-types", K3sConfigProducer.class.getName(),
+                    "quarkus.operator-sdk.controllers.trustify.namespaces", getNamespace(mode()),
+                    "quarkus.operator-sdk.crd.validate", "false",
+                    "trustify.reconcile-executor.mode", mode().name().toLowerCase(),
+                    "trustify.reconcile-executor.threads", Integer.toString(ConfigurationService.DEFAULT_RECONCILIATION_THREADS_NUMBER)
+            );
+        }
+
+        @Override
+        public boolean disableGlobalTestResources() {
+            return true;
+        }
+    }
+
+    @KubernetesTestServer
+    KubernetesServer mockServer;
+
+    @Inject
+    TrustifyConfig trustifyConfig;
+
+    @Inject
+    QuarkusConfigurationService configurationService;
+
+    @Test
+    public void provision() throws Exception {
+        TrustifyConfig.ReconcileExecutorConfig.Mode mode = trustifyConfig.reconcileExecutor().mode();
+        ExecutorService reconcileExecutorService = configurationService.getExecutorServiceManager().reconcileExecutorService();
+        Assertions.assertTrue(ReconcileExecutorConfigurer.getThreadName(reconcileExecutorService).startsWith(ReconcileExecutorConfigurer.RECONCILER_THREAD_PREFIX));
+        Assertions.assertEquals(mode == TrustifyConfig.ReconcileExecutorConfig.Mode.VIRTUAL, reconcileExecutorService.submit(() -> Thread.currentThread().isVirtual()).get());
+
+        String namespace = getNamespace(mode);
+        // Not the operator client, so that the requests of the test do not go through the executor under test
+        KubernetesClient client = mockServer.getClient();
+        ReadinessSimulator readinessSimulator = new ReadinessSimulator(client, namespace, READINESS_DELAY);
+        readinessSimulator.start();
+
+        System.gc();
+        ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+        AtomicLong peakHeap = new AtomicLong();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> peakHeap.accumulateAndGet(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(), Math::max), 0, 100, TimeUnit.MILLISECONDS);
+
+        try {
+            long start = System.nanoTime();
+            IntStream.range(0, CRS).parallel().forEach(i -> client.resource(trustify(namespace, "trustify-" + i)).create());
+            await().atMost(Duration.ofMinutes(10))
+                    .pollInterval(Duration.ofMillis(500))
+                    .until(() -> client.resources(Trustify.class).inNamespace(namespace).list().getItems().stream()
+                            .filter(cr -> cr.getStatus() != null && cr.getStatus().isAvailable())
+                            .count() == CRS
+                    );
+            Duration timeToReady = Duration.ofNanos(System.nanoTime() - start);
+            TIMES_TO_READY.put(mode, timeToReady);
+
+            logger.infof("%d CRs with %s threads: time-to-ready %d ms, peak heap %d MiB, peak threads %d",
+                    CRS, mode.name().toLowerCase(), timeToReady.toMillis(), peakHeap.get() >> 20, ManagementFactory.getThreadMXBean().getPeakThreadCount());
+
+            Duration platform = TIMES_TO_READY.get(TrustifyConfig.ReconcileExecutorConfig.Mode.PLATFORM);
+            Duration virtual = TIMES_TO_READY.get(TrustifyConfig.ReconcileExecutorConfig.Mode.VIRTUAL);
+            if (platform != null && virtual != null) {
+                Assertions.assertTrue(virtual.toMillis() <= platform.toMillis() * TOLERANCE,
+                        () -> "Virtual threads: " + virtual.toMillis() + " ms, platform threads: " + platform.toMillis() + " ms");
+            }
+        } finally {
+            sampler.shutdownNow();
+            readinessSimulator.close();
+
+            client.resources(Trustify.class).inNamespace(namespace).delete();
+            await().atMost(Duration.ofMinutes(5))
+                    .pollInterval(Duration.ofSeconds(1))
+                    .until(() -> client.resources(Trustify.class).inNamespace(namespace).list().getItems().isEmpty());
+        }
+    }
+
+    static String getNamespace(TrustifyConfig.ReconcileExecutorConfig.Mode mode) {
+        return "benchmark-" + mode.name().toLowerCase();
+    }
+
+    private static Trustify trustify(String namespace, String name) {
+        Trustify cr = new Trustify();
+        cr.setMetadata(new ObjectMetaBuilder()
+                .withName(name)
+                .withNamespace(namespace)
+                .build()
+        );
+        cr.setSpec(new TrustifySpec());
+        return cr;
+    }
+}
@@ -0,0 +1,22 @@
+package org.trustify.operator.benchmarks;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.kubernetes.client.WithKubernetesTestServer;
+import org.junit.jupiter.api.Tag;
+import org.trustify.operator.TrustifyConfig;
+import org.trustify.operator.controllers.TestTags;
+
+@Tag(TestTags.benchmark)
+@QuarkusTest
+@TestProfile(VirtualReconcileExecutorBenchmarkTest.Profile.class)
+@WithKubernetesTestServer(crud = true)
+public class VirtualReconcileExecutorBenchmarkTest extends ReconcileExecutorBenchmarkTest {
+
+    public static class Profile extends ReconcileExecutorBenchmarkTest.Profile {
+        @Override
+        TrustifyConfig.ReconcileExecutorConfig.Mode mode() {
+            return TrustifyConfig.ReconcileExecutorConfig.Mode.VIRTUAL;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package org.trustify.operator.cdrs.v2alpha1;
+
+import io.fabric8.kubernetes.api.model.EnvVar;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceRequirements;
+import io.fabric8.kubernetes.api.model.ResourceRequirementsBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.trustify.operator.Stubs;
+import org.trustify.operator.TrustifyConfig;
+import org.trustify.operator.cdrs.v2alpha1.server.db.DBConnectionBudget;
+import org.trustify.operator.cdrs.v2alpha1.server.db.pooler.deployment.DBPoolerDeployment;
+import org.trustify.operator.cdrs.v2alpha1.server.db.pooler.service.DBPoolerService;
+import org.trustify.operator.controllers.ResourceConfigurator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class TrustifyConfigurationTest {
+
+    @Test
+    public void cpusAreRoundedUpFromTheLimit() {
+        Assertions.assertEquals(2, TrustifyConfiguration.getAvailableCpus(resources("500m", "1500m")));
+        Assertions.assertEquals(1, TrustifyConfiguration.getAvailableCpus(resources("100m", "200m")));
+        Assertions.assertEquals(3, TrustifyConfiguration.getAvailableCpus(resources("3", null)));
+        Assertions.assertEquals(1, TrustifyConfiguration.getAvailableCpus(new ResourceRequirements()));
+    }
+
+    @Test
+    public void runtimeIsDerivedFromTheCpu() {
+        Map<String, String> envVars = configureRuntime(new TrustifySpec(), resources("1", "2"), null);
+
+        Assertions.assertEquals("2", envVars.get(TrustifyConfiguration.WORKER_THREADS_ENV));
+        Assertions.assertEquals("2", envVars.get(TrustifyConfiguration.DB_MIN_CONN_ENV));
+        Assertions.assertEquals("8", envVars.get(TrustifyConfiguration.DB_MAX_CONN_ENV));
+    }
+
+    @Test
+    public void explicitValuesWin() {
+        TrustifySpec spec = databaseSpec(new TrustifySpec.DatabaseSpec(
+                true,
+                new TrustifySpec.ExternalDatabaseSpec(null, null, "db", "5432", "trustify", 3, 30, null),
+                null,
+                null,
+                null
+        ));
+
+        Map<String, String> fromDatabase = configureRuntime(spec, resources("1", "2"), null);
+        Assertions.assertEquals("3", fromDatabase.get(TrustifyConfiguration.DB_MIN_CONN_ENV));
+        Assertions.assertEquals("30", fromDatabase.get(TrustifyConfiguration.DB_MAX_CONN_ENV));
+
+        Map<String, String> fromRuntime = configureRuntime(spec, resources("1", "2"), new TrustifySpec.RuntimeSpec(6, 10, 5));
+        Assertions.assertEquals("6", fromRuntime.get(TrustifyConfiguration.WORKER_THREADS_ENV));
+        // The minimum never exceeds the maximum
+        Assertions.assertEquals("5", fromRuntime.get(TrustifyConfiguration.DB_MIN_CONN_ENV));
+        Assertions.assertEquals("5", fromRuntime.get(TrustifyConfiguration.DB_MAX_CONN_ENV));
+    }
+
+    @Test
+    public void derivedPoolsShareTheBudget() {
+        // 100 - 10 reserved connections shared by 2 + 4 pods
+        DBConnectionBudget budget = new DBConnectionBudget(100, 10, 90, 2, 4);
+        Assertions.assertEquals(15, budget.getPoolMaxSizeLimit());
+
+        Map<String, String> envVars = configureRuntime(new TrustifySpec(), resources("1", "8"), null, budget);
+        Assertions.assertEquals("8", envVars.get(TrustifyConfiguration.WORKER_THREADS_ENV));
+        Assertions.assertEquals("8", envVars.get(TrustifyConfiguration.DB_MIN_CONN_ENV));
+        Assertions.assertEquals("15", envVars.get(TrustifyConfiguration.DB_MAX_CONN_ENV));
+        Assertions.assertTrue(budget.allocated(15, 15) <= budget.clientConnections());
+
+        // Every pod keeps a connection, even above max_connections
+        Assertions.assertEquals(1, new DBConnectionBudget(20, 10, 10, 10, 10).getPoolMaxSizeLimit());
+    }
+
+    @Test
+    public void pooledDatabaseGoesThroughThePooler() {
+        Trustify cr = new Trustify();
+        cr.setMetadata(new ObjectMetaBuilder()
+                .withName("trustify")
+                .withNamespace("pooler")
+                .build()
+        );
+        cr.setSpec(databaseSpec(new TrustifySpec.DatabaseSpec(
+                true,
+                new TrustifySpec.ExternalDatabaseSpec(null, null, "db", "5432", "trustify", null, null, "require"),
+                null,
+                new TrustifySpec.DatabasePoolerSpec(true, 2, null, 500, null),
+                null
+        )));
+
+        ResourceConfigurator.Config config = new ResourceConfigurator.Config(
+                null, null, List.of(), new ResourceRequirements(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>()
+        );
+        new TrustifyConfiguration().configureDatabase(config, cr);
+        Map<String, String> envVars = config.allEnvVars().stream().collect(Collectors.toMap(EnvVar::getName, EnvVar::getValue));
+        Assertions.assertEquals(DBPoolerService.getServiceHost(cr), envVars.get("TRUSTD_DB_HOST"));
+        Assertions.assertEquals("6432", envVars.get("TRUSTD_DB_PORT"));
+        Assertions.assertFalse(envVars.containsKey("TRUSTD_DB_SSLMODE"));
+
+        // The migration and the pooler itself connect to the database
+        Map<String, String> databaseEnvVars = TrustifyConfiguration.getDatabaseEnvVars(cr).stream().collect(Collectors.toMap(EnvVar::getName, EnvVar::getValue));
+        Assertions.assertEquals("db", databaseEnvVars.get("TRUSTD_DB_HOST"));
+        Assertions.assertEquals("require", databaseEnvVars.get("TRUSTD_DB_SSLMODE"));
+
+        // The pods share the client connections of both pooler instances, which share the database
+        DBConnectionBudget budget = DBConnectionBudget.of(cr, trustifyConfig(100, 10));
+        Assertions.assertEquals(1000, budget.clientConnections());
+        Assertions.assertEquals(500, budget.getPoolMaxSizeLimit());
+        Assertions.assertEquals(45, DBPoolerDeployment.getPoolSize(cr, budget));
+    }
+
+    private static TrustifySpec databaseSpec(TrustifySpec.DatabaseSpec databaseSpec) {
+        return new TrustifySpec(
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                databaseSpec,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null
+        );
+    }
+
+    private static TrustifyConfig trustifyConfig(int maxConnections, int reservedConnections) {
+        TrustifyConfig.DatabaseConfig databaseConfig = Stubs.stub(TrustifyConfig.DatabaseConfig.class, Map.of(
+                "maxConnections", maxConnections,
+                "reservedConnections", reservedConnections
+        ));
+        return Stubs.stub(TrustifyConfig.class, Map.of("database", databaseConfig));
+    }
+
+    private static Map<String, String> configureRuntime(TrustifySpec spec, ResourceRequirements resources, TrustifySpec.RuntimeSpec runtimeSpec) {
+        return configureRuntime(spec, resources, runtimeSpec, new DBConnectionBudget(1000, 0, 1000, 1, 1));
+    }
+
+    private static Map<String, String> configureRuntime(TrustifySpec spec, ResourceRequirements resources, TrustifySpec.RuntimeSpec runtimeSpec, DBConnectionBudget budget) {
+        Trustify cr = new Trustify();
+        cr.setSpec(spec);
+
+        ResourceConfigurator.Config config = new ResourceConfigurator.Config(
+                null, null, List.of(), resources, new ArrayList<>(), new ArrayList<>(), new ArrayList<>()
+        );
+        new TrustifyConfiguration().configureRuntime(config, cr, runtimeSpec, budget);
+        return config.allEnvVars().stream().collect(Collectors.toMap(EnvVar::getName, EnvVar::getValue));
+    }
+
+    private static ResourceRequirements resources(String cpuRequest, String cpuLimit) {
+        ResourceRequirementsBuilder builder = new ResourceRequirementsBuilder()
+                .withRequests(Map.of("cpu", new Quantity(cpuRequest)));
+        if (cpuLimit != null) {
+            builder.withLimits(Map.of("cpu", new Quantity(cpuLimit)));
+        }
+        return builder.build();
+    }
+}
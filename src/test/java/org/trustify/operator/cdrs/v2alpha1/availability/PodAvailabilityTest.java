@@ -0,0 +1,102 @@
+package org.trustify.operator.cdrs.v2alpha1.availability;
+
+import io.fabric8.kubernetes.api.model.IntOrString;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.TopologySpreadConstraint;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.cdrs.v2alpha1.TrustifySpec;
+import org.trustify.operator.cdrs.v2alpha1.server.deployment.ServerDeployment;
+
+import java.util.List;
+import java.util.Map;
+
+public class PodAvailabilityTest {
+
+    private static final Map<String, String> POD_SELECTOR_LABELS = Map.of("trustify-operator/group", "server");
+
+    @Test
+    public void singleInstanceIsLeftAlone() {
+        PodAvailability availability = new PodAvailability(null, 1, POD_SELECTOR_LABELS);
+
+        Assertions.assertNull(availability.getTopologySpreadConstraints());
+        Assertions.assertNull(availability.getAffinity());
+        Assertions.assertFalse(availability.isPodDisruptionBudgetEnabled());
+    }
+
+    @Test
+    public void instancesAreSpreadByDefault() {
+        PodAvailability availability = new PodAvailability(null, 3, POD_SELECTOR_LABELS);
+
+        List<TopologySpreadConstraint> constraints = availability.getTopologySpreadConstraints();
+        Assertions.assertEquals(
+                List.of(PodAvailability.ZONE_TOPOLOGY_KEY, PodAvailability.HOSTNAME_TOPOLOGY_KEY),
+                constraints.stream().map(TopologySpreadConstraint::getTopologyKey).toList()
+        );
+        constraints.forEach(constraint -> {
+            Assertions.assertEquals("ScheduleAnyway", constraint.getWhenUnsatisfiable());
+            Assertions.assertEquals(POD_SELECTOR_LABELS, constraint.getLabelSelector().getMatchLabels());
+        });
+
+        var podAntiAffinity = availability.getAffinity().getPodAntiAffinity();
+        Assertions.assertEquals(1, podAntiAffinity.getPreferredDuringSchedulingIgnoredDuringExecution().size());
+        Assertions.assertTrue(podAntiAffinity.getRequiredDuringSchedulingIgnoredDuringExecution().isEmpty());
+
+        Assertions.assertTrue(availability.isPodDisruptionBudgetEnabled());
+        var podDisruptionBudgetSpec = availability.getPodDisruptionBudgetSpec();
+        Assertions.assertEquals(new IntOrString(1), podDisruptionBudgetSpec.getMaxUnavailable());
+        Assertions.assertEquals(POD_SELECTOR_LABELS, podDisruptionBudgetSpec.getSelector().getMatchLabels());
+    }
+
+    @Test
+    public void explicitValuesWin() {
+        PodAvailability availability = new PodAvailability(
+                new TrustifySpec.AvailabilitySpec(false, TrustifySpec.PodAntiAffinityType.HARD, true, "50%"),
+                1,
+                POD_SELECTOR_LABELS
+        );
+
+        Assertions.assertNull(availability.getTopologySpreadConstraints());
+        var podAntiAffinity = availability.getAffinity().getPodAntiAffinity();
+        Assertions.assertEquals(1, podAntiAffinity.getRequiredDuringSchedulingIgnoredDuringExecution().size());
+        Assertions.assertTrue(availability.isPodDisruptionBudgetEnabled());
+        Assertions.assertEquals(new IntOrString("50%"), availability.getMaxUnavailable());
+
+        PodAvailability none = new PodAvailability(
+                new TrustifySpec.AvailabilitySpec(null, TrustifySpec.PodAntiAffinityType.NONE, false, null),
+                3,
+                POD_SELECTOR_LABELS
+        );
+        Assertions.assertNotNull(none.getTopologySpreadConstraints());
+        Assertions.assertNull(none.getAffinity());
+        Assertions.assertFalse(none.isPodDisruptionBudgetEnabled());
+    }
+
+    @Test
+    public void instancesOfOtherCRsAreNotSelected() {
+        Trustify first = trustify("first");
+        Trustify second = trustify("second");
+
+        Map<String, String> firstSelector = PodAvailability.server(first).getPodDisruptionBudgetSpec().getSelector().getMatchLabels();
+        Map<String, String> secondSelector = PodAvailability.server(second).getPodDisruptionBudgetSpec().getSelector().getMatchLabels();
+        Assertions.assertEquals("first", firstSelector.get(PodAvailability.INSTANCE_LABEL));
+        Assertions.assertNotEquals(firstSelector, secondSelector);
+
+        // The pods of a CR carry the labels its selectors match
+        Map<String, String> podLabels = PodAvailability.getPodLabels(first, ServerDeployment.getPodSelectorLabels(first));
+        Assertions.assertTrue(podLabels.entrySet().containsAll(firstSelector.entrySet()));
+        Assertions.assertFalse(podLabels.entrySet().containsAll(secondSelector.entrySet()));
+    }
+
+    private static Trustify trustify(String name) {
+        Trustify cr = new Trustify();
+        cr.setMetadata(new ObjectMetaBuilder()
+                .withName(name)
+                .withNamespace("namespace")
+                .build()
+        );
+        cr.setSpec(new TrustifySpec());
+        return cr;
+    }
+}
@@ -0,0 +1,71 @@
+package org.trustify.operator.cdrs.v2alpha1.server.migration;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import io.fabric8.kubernetes.api.model.batch.v1.JobBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+
+import java.time.Duration;
+import java.time.Instant;
+
+public class ServerMigrationJobTest {
+
+    private static final Duration RETRY_DELAY = Duration.ofMinutes(5);
+    private static final Instant FAILURE_TIME = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Test
+    public void runningJobIsKept() {
+        Job job = job("2", null);
+
+        Assertions.assertTrue(ServerMigrationJob.getFailureTime(job).isEmpty());
+        Assertions.assertFalse(ServerMigrationJob.isRetryDue(job, trustify(3L), RETRY_DELAY, FAILURE_TIME.plus(RETRY_DELAY)));
+    }
+
+    @Test
+    public void failedJobIsRecreatedOnceTheCRChanges() {
+        Job job = job("2", "True");
+
+        Assertions.assertFalse(ServerMigrationJob.isRetryDue(job, trustify(2L), RETRY_DELAY, FAILURE_TIME));
+        Assertions.assertTrue(ServerMigrationJob.isRetryDue(job, trustify(3L), RETRY_DELAY, FAILURE_TIME));
+    }
+
+    @Test
+    public void failedJobIsRecreatedAfterTheRetryDelay() {
+        Job job = job("2", "True");
+
+        Assertions.assertEquals(Duration.ofMinutes(4), ServerMigrationJob.getRetryDelay(job, RETRY_DELAY, FAILURE_TIME.plus(Duration.ofMinutes(1))));
+        Assertions.assertFalse(ServerMigrationJob.isRetryDue(job, trustify(2L), RETRY_DELAY, FAILURE_TIME.plus(Duration.ofMinutes(1))));
+        Assertions.assertEquals(Duration.ZERO, ServerMigrationJob.getRetryDelay(job, RETRY_DELAY, FAILURE_TIME.plus(Duration.ofMinutes(6))));
+        Assertions.assertTrue(ServerMigrationJob.isRetryDue(job, trustify(2L), RETRY_DELAY, FAILURE_TIME.plus(Duration.ofMinutes(6))));
+    }
+
+    private static Job job(String generation, String failed) {
+        JobBuilder builder = new JobBuilder()
+                .withNewMetadata()
+                .withName("trustify-migration")
+                .addToAnnotations(ServerMigrationJob.GENERATION_ANNOTATION, generation)
+                .endMetadata();
+        if (failed != null) {
+            builder.withNewStatus()
+                    .addNewCondition()
+                    .withType("Failed")
+                    .withStatus(failed)
+                    .withLastTransitionTime(FAILURE_TIME.toString())
+                    .endCondition()
+                    .endStatus();
+        }
+        return builder.build();
+    }
+
+    private static Trustify trustify(Long generation) {
+        Trustify cr = new Trustify();
+        cr.setMetadata(new ObjectMetaBuilder()
+                .withName("trustify")
+                .withGeneration(generation)
+                .build()
+        );
+        return cr;
+    }
+}
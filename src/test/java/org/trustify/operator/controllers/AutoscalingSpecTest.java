@@ -0,0 +1,106 @@
+package org.trustify.operator.controllers;
+
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.cdrs.v2alpha1.TrustifySpec;
+import org.trustify.operator.cdrs.v2alpha1.server.autoscaler.ServerHorizontalPodAutoscaler;
+import org.trustify.operator.cdrs.v2alpha1.server.deployment.ServerDeployment;
+import org.trustify.operator.controllers.setup.K3sResource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@QuarkusTestResource(K3sResource.class)
+@QuarkusTest
+public class AutoscalingSpecTest extends ReconcilerBaseTest {
+
+    @Test
+    public void serverAutoscaling() throws InterruptedException {
+        // Create
+        final Trustify trustify = generateTrustify("server-autoscaling");
+        trustify.setSpec(new TrustifySpec(
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                new TrustifySpec.AutoscalingSpec(
+                        true,
+                        1,
+                        3,
+                        70,
+                        null,
+                        List.of(new TrustifySpec.PodsMetricSpec("http_requests_per_second", "100"))
+                ),
+                null,
+                null,
+                null,
+                null,
+                null,
+                null
+        ));
+
+        createTrustify(trustify);
+
+        // Verify resources
+        Awaitility.await()
+                .ignoreException(NullPointerException.class)
+                .atMost(3, TimeUnit.MINUTES)
+                .untilAsserted(() -> {
+                    verifyDatabase(trustify);
+                    verifyTrustify(trustify);
+                    verifyUI(trustify);
+
+                    final var autoscaler = client.autoscaling().v2().horizontalPodAutoscalers()
+                            .inNamespace(getNamespaceName())
+                            .withName(ServerHorizontalPodAutoscaler.getAutoscalerName(trustify))
+                            .get();
+                    Assertions.assertEquals(ServerDeployment.getDeploymentName(trustify), autoscaler.getSpec().getScaleTargetRef().getName());
+                    Assertions.assertEquals(1, autoscaler.getSpec().getMinReplicas());
+                    Assertions.assertEquals(3, autoscaler.getSpec().getMaxReplicas());
+                    Assertions.assertEquals(2, autoscaler.getSpec().getMetrics().size());
+                });
+
+        // Scale as the autoscaler would, then make the operator reconcile
+        client.apps().deployments()
+                .inNamespace(getNamespaceName())
+                .withName(ServerDeployment.getDeploymentName(trustify))
+                .scale(2);
+        client.resources(Trustify.class)
+                .inNamespace(getNamespaceName())
+                .withName(trustify.getMetadata().getName())
+                .edit(cr -> {
+                    cr.getMetadata().setAnnotations(Map.of("trustify-operator/test", "reconcile"));
+                    return cr;
+                });
+
+        Awaitility.await()
+                .during(10, TimeUnit.SECONDS)
+                .atMost(1, TimeUnit.MINUTES)
+                .untilAsserted(() -> {
+                    final var serverDeployment = client.apps().deployments()
+                            .inNamespace(getNamespaceName())
+                            .withName(ServerDeployment.getDeploymentName(trustify))
+                            .get();
+                    Assertions.assertEquals(2, serverDeployment.getSpec().getReplicas(), "The replicas of the autoscaler were reverted");
+                });
+    }
+
+}
@@ -74,6 +74,8 @@ public class DatabaseSpecTest extends ReconcilerBaseTest {
                                 null,
                                 null
                         ),
+                        null,
+                        null,
                         null
                 ),
                 null,
@@ -81,6 +83,13 @@ public class DatabaseSpecTest extends ReconcilerBaseTest {
                 null,
                 null,
                 null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
                 null
         ));
 
@@ -123,6 +132,8 @@ public class DatabaseSpecTest extends ReconcilerBaseTest {
                 new TrustifySpec.DatabaseSpec(
                         false,
                         null,
+                        null,
+                        null,
                         null
                 ),
                 null,
@@ -130,6 +141,13 @@ public class DatabaseSpecTest extends ReconcilerBaseTest {
                 null,
                 null,
                 null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
                 null
         ));
 
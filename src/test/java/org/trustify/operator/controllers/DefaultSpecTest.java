@@ -3,8 +3,10 @@ package org.trustify.operator.controllers;
 import io.quarkus.test.common.QuarkusTestResource;
 import io.quarkus.test.junit.QuarkusTest;
 import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.cdrs.v2alpha1.TrustifyStatusDatabaseConnections;
 import org.trustify.operator.controllers.setup.K3sResource;
 
 import java.util.concurrent.TimeUnit;
@@ -28,6 +30,18 @@ public class DefaultSpecTest extends ReconcilerBaseTest {
                     verifyUI(trustify);
                     verifyIngress(trustify, true, false);
                 });
+
+        // The pools of the server and the importer stay within max_connections
+        Awaitility.await()
+                .ignoreException(NullPointerException.class)
+                .atMost(1, TimeUnit.MINUTES)
+                .untilAsserted(() -> {
+                    TrustifyStatusDatabaseConnections databaseConnections = client.resource(trustify).get()
+                            .getStatus()
+                            .getDatabaseConnections();
+                    Assertions.assertEquals(100, databaseConnections.getMaxConnections());
+                    Assertions.assertTrue(databaseConnections.getAllocatedConnections() <= databaseConnections.getMaxConnections() - databaseConnections.getReservedConnections());
+                });
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,135 @@
+package org.trustify.operator.controllers;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.PodTemplateSpec;
+import io.fabric8.kubernetes.api.model.PodTemplateSpecBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class PodTemplateHashCacheTest {
+
+    @Test
+    public void hashDoesNotDependOnMapOrder() {
+        Map<String, String> labels = new LinkedHashMap<>();
+        labels.put("a", "1");
+        labels.put("b", "2");
+
+        Map<String, String> reversedLabels = new LinkedHashMap<>();
+        reversedLabels.put("b", "2");
+        reversedLabels.put("a", "1");
+
+        Assertions.assertEquals(
+                PodTemplateHashCache.computeHash(podTemplate(labels, "image:1")),
+                PodTemplateHashCache.computeHash(podTemplate(reversedLabels, "image:1"))
+        );
+        Assertions.assertNotEquals(
+                PodTemplateHashCache.computeHash(podTemplate(labels, "image:1")),
+                PodTemplateHashCache.computeHash(podTemplate(labels, "image:2"))
+        );
+    }
+
+    @Test
+    public void hashIsReusedUntilGenerationOrInputsChange() {
+        PodTemplateHashCache cache = new PodTemplateHashCache();
+        Trustify cr = trustify(1L);
+
+        String hash = cache.store("server", cr, List.of(Optional.of("tls")), podTemplate(Map.of(), "image:1"));
+
+        Assertions.assertEquals(Optional.of(hash), cache.lookup("server", cr, List.of(Optional.of("tls"))));
+        Assertions.assertEquals(Optional.empty(), cache.lookup("server", cr, List.of(Optional.empty())));
+        Assertions.assertEquals(Optional.empty(), cache.lookup("server", trustify(2L), List.of(Optional.of("tls"))));
+        Assertions.assertEquals(Optional.empty(), cache.lookup("ui", cr, List.of(Optional.of("tls"))));
+
+        cache.evict(cr);
+        Assertions.assertEquals(Optional.empty(), cache.lookup("server", cr, List.of(Optional.of("tls"))));
+    }
+
+    @Test
+    public void editedLiveTemplateIsUpdated() {
+        PodTemplateHashCache cache = new PodTemplateHashCache();
+        Trustify cr = trustify(1L);
+        PodTemplateSpec desired = new PodTemplateSpecBuilder(podTemplate(Map.of("app", "server"), "image:1"))
+                .editSpec()
+                .editFirstContainer()
+                .addNewEnv().withName("DEBUG").withValue("").endEnv()
+                .withNewResources().addToRequests("cpu", new Quantity("0.5")).endResources()
+                .addNewVolumeMount().withName("data").withMountPath("/data").withReadOnly(false).endVolumeMount()
+                .endContainer()
+                .endSpec()
+                .build();
+        String hash = cache.store("server", cr, List.of(), desired);
+
+        // As returned by the API server, with its defaults and without the empty values
+        PodTemplateSpec live = new PodTemplateSpecBuilder(podTemplate(Map.of("app", "server"), "image:1"))
+                .editSpec()
+                .withDnsPolicy("ClusterFirst")
+                .editFirstContainer()
+                .withImagePullPolicy("IfNotPresent")
+                .withTerminationMessagePath("/dev/termination-log")
+                .addNewEnv().withName("DEBUG").endEnv()
+                .withNewResources().addToRequests("cpu", new Quantity("500m")).endResources()
+                .addNewVolumeMount().withName("data").withMountPath("/data").endVolumeMount()
+                .endContainer()
+                .endSpec()
+                .build();
+        Assertions.assertTrue(cache.matches("server", cr, List.of(), Assertions::fail, workload("1", hash, live), live));
+
+        // The annotation is left as is by an out-of-band edit
+        PodTemplateSpec editedImage = new PodTemplateSpecBuilder(live)
+                .editSpec().editFirstContainer().withImage("image:2").endContainer().endSpec()
+                .build();
+        Assertions.assertFalse(cache.matches("server", cr, List.of(), Assertions::fail, workload("2", hash, editedImage), editedImage));
+
+        PodTemplateSpec addedEnv = new PodTemplateSpecBuilder(live)
+                .editSpec().editFirstContainer().addNewEnv().withName("EXTRA").withValue("1").endEnv().endContainer().endSpec()
+                .build();
+        Assertions.assertFalse(cache.matches("server", cr, List.of(), Assertions::fail, workload("3", hash, addedEnv), addedEnv));
+    }
+
+    private static Deployment workload(String resourceVersion, String hash, PodTemplateSpec template) {
+        return new DeploymentBuilder()
+                .withNewMetadata()
+                .withName("server")
+                .withResourceVersion(resourceVersion)
+                .addToAnnotations(PodTemplateHashCache.DESIRED_STATE_HASH_ANNOTATION, hash)
+                .endMetadata()
+                .withNewSpec()
+                .withTemplate(template)
+                .endSpec()
+                .build();
+    }
+
+    private static Trustify trustify(long generation) {
+        Trustify cr = new Trustify();
+        cr.setMetadata(new ObjectMetaBuilder()
+                .withName("trustify")
+                .withUid("uid")
+                .withGeneration(generation)
+                .build()
+        );
+        return cr;
+    }
+
+    private static PodTemplateSpec podTemplate(Map<String, String> labels, String image) {
+        return new PodTemplateSpecBuilder()
+                .withNewMetadata()
+                .withLabels(labels)
+                .endMetadata()
+                .withNewSpec()
+                .addNewContainer()
+                .withName("app")
+                .withImage(image)
+                .endContainer()
+                .endSpec()
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package org.trustify.operator.controllers;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.trustify.operator.Stubs;
+import org.trustify.operator.TrustifyConfig;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.cdrs.v2alpha1.TrustifyStatus;
+
+import java.time.Duration;
+import java.util.Map;
+
+public class ReconcileBackoffTest {
+
+    static final TrustifyConfig.BackoffConfig BACKOFF = new TrustifyConfig.BackoffConfig() {
+        @Override
+        public Duration initialDelay() {
+            return Duration.ofSeconds(5);
+        }
+
+        @Override
+        public Duration maxDelay() {
+            return Duration.ofMinutes(5);
+        }
+
+        @Override
+        public double multiplier() {
+            return 2;
+        }
+
+        @Override
+        public double jitter() {
+            return 0.2;
+        }
+    };
+
+    @Test
+    public void delayGrowsExponentiallyUpToTheMaximum() {
+        Assertions.assertEquals(Duration.ofSeconds(5), ReconcileBackoff.getDelay(BACKOFF, 1, 0.5));
+        Assertions.assertEquals(Duration.ofSeconds(10), ReconcileBackoff.getDelay(BACKOFF, 2, 0.5));
+        Assertions.assertEquals(Duration.ofSeconds(40), ReconcileBackoff.getDelay(BACKOFF, 4, 0.5));
+        Assertions.assertEquals(Duration.ofMinutes(5), ReconcileBackoff.getDelay(BACKOFF, 10, 0.5));
+        Assertions.assertEquals(Duration.ofMinutes(5), ReconcileBackoff.getDelay(BACKOFF, 1000, 0.5));
+    }
+
+    @Test
+    public void jitterStaysWithinBounds() {
+        Assertions.assertEquals(Duration.ofSeconds(8), ReconcileBackoff.getDelay(BACKOFF, 2, 0));
+        Assertions.assertEquals(Duration.ofSeconds(12), ReconcileBackoff.getDelay(BACKOFF, 2, 1));
+        Assertions.assertEquals(Duration.ofMinutes(4), ReconcileBackoff.getDelay(BACKOFF, 20, 0));
+        Assertions.assertEquals(Duration.ofMinutes(5), ReconcileBackoff.getDelay(BACKOFF, 20, 1));
+    }
+
+    @Test
+    public void attemptsRestartWhenTheReasonChangesAndAreClearedOnReset() {
+        ReconcileBackoff backoff = new ReconcileBackoff();
+        backoff.trustifyConfig = Stubs.stub(TrustifyConfig.class, Map.of("backoff", BACKOFF));
+        backoff.meterRegistry = new SimpleMeterRegistry();
+
+        Trustify cr = new Trustify();
+        cr.setStatus(new TrustifyStatus());
+
+        backoff.retry(cr, "KeycloakServerNotReady");
+        backoff.retry(cr, "KeycloakServerNotReady");
+        Assertions.assertEquals(2, cr.getStatus().getRetryAttempts());
+        Assertions.assertTrue(backoff.retry(cr, "KeycloakServerNotReady").getScheduleDelay().isPresent());
+        Assertions.assertEquals(3, cr.getStatus().getRetryAttempts());
+
+        backoff.retry(cr, "KeycloakRealmImportNotReady");
+        Assertions.assertEquals(1, cr.getStatus().getRetryAttempts());
+        Assertions.assertEquals("KeycloakRealmImportNotReady", cr.getStatus().getRetryReason());
+
+        Assertions.assertEquals(3, backoff.meterRegistry.get(ReconcileBackoff.RETRIES).tag("reason", "KeycloakServerNotReady").counter().count());
+
+        Assertions.assertTrue(backoff.reset(cr));
+        Assertions.assertNull(cr.getStatus().getRetryAttempts());
+        Assertions.assertFalse(backoff.reset(cr));
+    }
+}
@@ -0,0 +1,89 @@
+package org.trustify.operator.controllers;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ReconcileCacheTest {
+
+    static class CountingConfigurator implements ResourceConfigurator {
+        final AtomicInteger invocations = new AtomicInteger();
+
+        @Override
+        public Config configureDeployment(Trustify cr, Context<Trustify> context) {
+            invocations.incrementAndGet();
+            return new Config("image", "Always", new ArrayList<>(), null, new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        }
+    }
+
+    @Test
+    public void configuratorRunsOncePerReconcile() {
+        Trustify cr = trustify("1");
+        CountingConfigurator configurator = new CountingConfigurator();
+
+        ReconcileCache cache = new ReconcileCache(cr);
+        ResourceConfigurator.Config config = cache.config(configurator, cr, null);
+        Assertions.assertSame(config, cache.config(configurator, cr, null));
+        Assertions.assertSame(config, cache.config(configurator, cr, null));
+        Assertions.assertEquals(1, configurator.invocations.get());
+
+        // Next reconciliation gets a new cache
+        new ReconcileCache(cr).config(configurator, cr, null);
+        Assertions.assertEquals(2, configurator.invocations.get());
+    }
+
+    @Test
+    public void valuesAreOnlyServedForTheSameResourceVersion() {
+        Trustify cr = trustify("1");
+        AtomicInteger invocations = new AtomicInteger();
+
+        ReconcileCache cache = new ReconcileCache(cr);
+        cache.computeIfAbsent(cr, ReconcileCache.HOSTNAME, () -> Optional.of("host-" + invocations.incrementAndGet()));
+        Assertions.assertEquals(Optional.of("host-1"), cache.computeIfAbsent(cr, ReconcileCache.HOSTNAME, () -> Optional.of("host-" + invocations.incrementAndGet())));
+        Assertions.assertEquals(Optional.of("host-2"), cache.computeIfAbsent(trustify("2"), ReconcileCache.HOSTNAME, () -> Optional.of("host-" + invocations.incrementAndGet())));
+
+        ReconcileCache disabled = new ReconcileCache(null);
+        disabled.computeIfAbsent(cr, ReconcileCache.HOSTNAME, () -> Optional.of("host-" + invocations.incrementAndGet()));
+        Assertions.assertEquals(3, invocations.get());
+    }
+
+    @Test
+    public void suppliersCanReadOtherCachedValues() {
+        Trustify cr = trustify("1");
+        ReconcileCache cache = new ReconcileCache(cr);
+
+        String url = cache.computeIfAbsent(cr, ReconcileCache.KEYCLOAK_URL, () ->
+                "https://" + cache.computeIfAbsent(cr, ReconcileCache.HOSTNAME, () -> "host")
+        );
+        Assertions.assertEquals("https://host", url);
+        Assertions.assertEquals("host", cache.computeIfAbsent(cr, ReconcileCache.HOSTNAME, () -> "other"));
+    }
+
+    @Test
+    public void valuesComputedBeforeTheWorkflowAreRead() {
+        Trustify cr = trustify("1");
+        ReconcileCache cache = new ReconcileCache(cr);
+        Assertions.assertEquals(Optional.empty(), cache.get(cr, ReconcileCache.SERVER_MIGRATION_JOB_NAME));
+
+        cache.computeIfAbsent(cr, ReconcileCache.SERVER_MIGRATION_JOB_NAME, () -> "job");
+        Assertions.assertEquals(Optional.of("job"), cache.get(cr, ReconcileCache.SERVER_MIGRATION_JOB_NAME));
+        Assertions.assertEquals(Optional.empty(), cache.get(trustify("2"), ReconcileCache.SERVER_MIGRATION_JOB_NAME));
+    }
+
+    private static Trustify trustify(String resourceVersion) {
+        Trustify cr = new Trustify();
+        cr.setMetadata(new ObjectMetaBuilder()
+                .withName("trustify")
+                .withUid("uid")
+                .withResourceVersion(resourceVersion)
+                .build()
+        );
+        return cr;
+    }
+}
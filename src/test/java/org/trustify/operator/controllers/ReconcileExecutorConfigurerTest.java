@@ -0,0 +1,40 @@
+package org.trustify.operator.controllers;
+
+import io.quarkiverse.operatorsdk.runtime.QuarkusConfigurationService;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.trustify.operator.controllers.setup.K3sResource;
+
+import java.util.Map;
+
+/**
+ * The executors are only replaced if the configurer observes the startup before the operator starts.
+ */
+@QuarkusTestResource(K3sResource.class)
+@QuarkusTest
+@TestProfile(ReconcileExecutorConfigurerTest.Profile.class)
+public class ReconcileExecutorConfigurerTest {
+
+    public static class Profile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("trustify.reconcile-executor.mode", "virtual");
+        }
+    }
+
+    @Inject
+    QuarkusConfigurationService configurationService;
+
+    @Test
+    public void reconcilesOnVirtualThreads() throws Exception {
+        var reconcileExecutorService = configurationService.getExecutorServiceManager().reconcileExecutorService();
+
+        Assertions.assertTrue(ReconcileExecutorConfigurer.getThreadName(reconcileExecutorService).startsWith(ReconcileExecutorConfigurer.RECONCILER_THREAD_PREFIX));
+        Assertions.assertTrue(reconcileExecutorService.submit(() -> Thread.currentThread().isVirtual()).get());
+    }
+}
@@ -219,6 +219,16 @@ public abstract class ReconcilerBaseTest {
     }
 
     protected void verifyServer(Trustify cr) {
+        // Server migration
+        final var migrationJobs = client.batch().v1().jobs()
+                .inNamespace(cr.getMetadata().getNamespace())
+                .withLabel("component", "server-migration")
+                .withLabel("app.kubernetes.io/part-of", cr.getMetadata().getName())
+                .list()
+                .getItems();
+        Assertions.assertEquals(1, migrationJobs.size(), "Expected a single Server migration job");
+        Assertions.assertEquals(1, migrationJobs.getFirst().getStatus().getSucceeded(), "Server migration job did not succeed");
+
         // Server Deployment
         final var serverDeployment = client.apps()
                 .deployments()
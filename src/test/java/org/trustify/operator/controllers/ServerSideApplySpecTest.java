@@ -0,0 +1,84 @@
+package org.trustify.operator.controllers;
+
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.cdrs.v2alpha1.TrustifySpec;
+import org.trustify.operator.controllers.setup.K3sResource;
+import org.trustify.operator.metrics.ApiRequestMetrics;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * With server-side apply, dependents without their own matcher are compared to the fields the operator applied, so
+ * reconciling an unchanged CR must not patch any of them.
+ */
+@QuarkusTestResource(K3sResource.class)
+@QuarkusTest
+@TestProfile(ServerSideApplySpecTest.Profile.class)
+public class ServerSideApplySpecTest extends ReconcilerBaseTest {
+
+    public static class Profile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("trustify.server-side-apply", "true");
+        }
+    }
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Inject
+    ApiRequestMetrics apiRequestMetrics;
+
+    @Test
+    public void steadyStateReconcileSendsNoPatch() throws InterruptedException {
+        // Create
+        final Trustify trustify = generateTrustify("server-side-apply");
+        trustify.setSpec(new TrustifySpec());
+
+        createTrustify(trustify);
+
+        // Verify resources
+        Awaitility.await()
+                .ignoreException(NullPointerException.class)
+                .atMost(3, TimeUnit.MINUTES)
+                .untilAsserted(() -> {
+                    verifyDatabase(trustify);
+                    verifyTrustify(trustify);
+                    verifyUI(trustify);
+                });
+
+        // Reconcile the unchanged CR, then wait for a reconciliation started after the edit to finish
+        double reconciliations = countReconciliations();
+        client.resources(Trustify.class)
+                .inNamespace(getNamespaceName())
+                .withName(trustify.getMetadata().getName())
+                .edit(cr -> {
+                    cr.getMetadata().setAnnotations(Map.of("trustify-operator/test", "reconcile"));
+                    return cr;
+                });
+        Awaitility.await()
+                .atMost(1, TimeUnit.MINUTES)
+                .until(() -> countReconciliations() >= reconciliations + 2);
+
+        Map<String, Integer> requests = apiRequestMetrics.getLastReconcileRequests(ResourceID.fromResource(trustify)).orElseThrow();
+        Assertions.assertEquals(0, requests.getOrDefault("patch", 0), () -> "Requests: " + requests);
+    }
+
+    private double countReconciliations() {
+        return meterRegistry.find("operator.sdk.reconciliations.started").counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+}
@@ -2,4 +2,6 @@ package org.trustify.operator.controllers;
 
 public interface TestTags {
     String heavy = "heavy";
+    String benchmark = "benchmark";
+    String scale = "scale";
 }
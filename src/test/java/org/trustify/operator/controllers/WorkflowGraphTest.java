@@ -0,0 +1,23 @@
+package org.trustify.operator.controllers;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.trustify.operator.cdrs.v2alpha1.keycloak.KeycloakReadyPreCondition;
+
+import java.util.Map;
+import java.util.Set;
+
+public class WorkflowGraphTest {
+
+    @Test
+    public void predecessorsIncludeDependsOnAndConditions() {
+        Map<String, Set<String>> predecessors = WorkflowGraph.predecessors(TrustifyReconciler.class);
+
+        Assertions.assertEquals(Set.of("DBPersistentVolumeClaim", "DBSecret"), predecessors.get("DBDeployment"));
+        Assertions.assertEquals(Set.of("DBDeployment"), predecessors.get("ServerMigrationJob"));
+        Assertions.assertEquals(Set.of("ServerConfigMap", "ServerService", "ServerMigrationJob", KeycloakReadyPreCondition.KEYCLOAK), predecessors.get("ServerDeployment"));
+        Assertions.assertEquals(Set.of("ServerMigrationJob"), predecessors.get("ImporterStatefulSet"));
+        Assertions.assertEquals(Set.of(KeycloakReadyPreCondition.KEYCLOAK), predecessors.get("UIDeployment"));
+        Assertions.assertEquals(Set.of(), predecessors.get("AppIngress"));
+    }
+}
@@ -0,0 +1,229 @@
+package org.trustify.operator.metrics;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.client.ConfigBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientBuilder;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.trustify.operator.Constants;
+import org.trustify.operator.Stubs;
+import org.trustify.operator.TrustifyConfig;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@EnableKubernetesMockClient(crud = true)
+public class ApiRequestMetricsTest {
+
+    static final String NAMESPACE = "metrics";
+
+    KubernetesMockServer server;
+    KubernetesClient mockClient;
+
+    AtomicBoolean serverSideApply = new AtomicBoolean();
+    ApiRequestMetrics apiRequestMetrics;
+    KubernetesClient client;
+
+    @BeforeEach
+    public void beforeEach() {
+        apiRequestMetrics = new ApiRequestMetrics();
+        apiRequestMetrics.meterRegistry = new SimpleMeterRegistry();
+        apiRequestMetrics.trustifyConfig = Stubs.stub(TrustifyConfig.class, name -> name.equals("serverSideApply") ? serverSideApply.get() : null);
+
+        client = new KubernetesClientBuilder()
+                .withConfig(mockClient.getConfiguration())
+                .withHttpClientBuilderConsumer(builder -> builder.addOrReplaceInterceptor(ApiRequestMetrics.NAME, apiRequestMetrics))
+                .build();
+    }
+
+    @Test
+    public void resourceIsTakenFromThePath() {
+        Assertions.assertEquals("secrets", ApiRequestMetrics.getResource(URI.create("https://k8s/api/v1/namespaces/ns/secrets/name")));
+        Assertions.assertEquals("deployments", ApiRequestMetrics.getResource(URI.create("https://k8s/apis/apps/v1/namespaces/ns/deployments")));
+        Assertions.assertEquals("namespaces", ApiRequestMetrics.getResource(URI.create("https://k8s/api/v1/namespaces/ns")));
+        Assertions.assertEquals("customresourcedefinitions", ApiRequestMetrics.getResource(URI.create("https://k8s/apis/apiextensions.k8s.io/v1/customresourcedefinitions")));
+        Assertions.assertEquals("unknown", ApiRequestMetrics.getResource(URI.create("https://k8s/version")));
+    }
+
+    @Test
+    public void verbIsTakenFromTheMethodAndThePath() {
+        Assertions.assertEquals("get", ApiRequestMetrics.getVerb("GET", URI.create("https://k8s/api/v1/namespaces/ns/secrets/name")));
+        Assertions.assertEquals("list", ApiRequestMetrics.getVerb("GET", URI.create("https://k8s/apis/apps/v1/namespaces/ns/deployments?labelSelector=app")));
+        Assertions.assertEquals("list", ApiRequestMetrics.getVerb("GET", URI.create("https://k8s/apis/apiextensions.k8s.io/v1/customresourcedefinitions")));
+        Assertions.assertEquals("watch", ApiRequestMetrics.getVerb("GET", URI.create("https://k8s/apis/apps/v1/namespaces/ns/deployments?resourceVersion=1&watch=true")));
+        Assertions.assertEquals("create", ApiRequestMetrics.getVerb("POST", URI.create("https://k8s/api/v1/namespaces/ns/secrets")));
+        Assertions.assertEquals("update", ApiRequestMetrics.getVerb("PUT", URI.create("https://k8s/api/v1/namespaces/ns/secrets/name")));
+        Assertions.assertEquals("patch", ApiRequestMetrics.getVerb("PATCH", URI.create("https://k8s/api/v1/namespaces/ns/secrets/name/status")));
+        Assertions.assertEquals("delete", ApiRequestMetrics.getVerb("DELETE", URI.create("https://k8s/api/v1/namespaces/ns/secrets/name")));
+        Assertions.assertEquals("deletecollection", ApiRequestMetrics.getVerb("DELETE", URI.create("https://k8s/api/v1/namespaces/ns/secrets")));
+    }
+
+    @Test
+    public void requestsAreAttributedToTheCallerAndAddedUpPerReconciliation() {
+        Trustify cr = trustify("attributed");
+        Trustify otherCr = trustify("other");
+
+        apiRequestMetrics.beginReconcile(cr);
+        ApiRequestContext.call(cr, "ServerConfigMap", () -> client.resource(configMap("attributed", Map.of())).create());
+        ApiRequestContext.call(cr, "ServerConfigMap", () -> client.configMaps().inNamespace(NAMESPACE).withName("attributed").get());
+        // Another CR and requests sent outside of a caller are not part of the budget
+        ApiRequestContext.call(otherCr, "ServerConfigMap", () -> client.configMaps().inNamespace(NAMESPACE).list());
+        client.configMaps().inNamespace(NAMESPACE).list();
+        apiRequestMetrics.endReconcile(cr);
+
+        Assertions.assertEquals(
+                Optional.of(Map.of("create", 1, "get", 1)),
+                apiRequestMetrics.getLastReconcileRequests(ResourceID.fromResource(cr))
+        );
+        Assertions.assertTrue(apiRequestMetrics.getLastReconcileRequests(ResourceID.fromResource(otherCr)).isEmpty());
+
+        var requests = apiRequestMetrics.meterRegistry.get(ApiRequestMetrics.RECONCILE_REQUESTS)
+                .tags("namespace", NAMESPACE, "name", "attributed")
+                .summary();
+        var uncachedReads = apiRequestMetrics.meterRegistry.get(ApiRequestMetrics.RECONCILE_UNCACHED_READS)
+                .tags("namespace", NAMESPACE, "name", "attributed")
+                .summary();
+        Assertions.assertEquals(2, requests.totalAmount());
+        Assertions.assertEquals(1, uncachedReads.totalAmount());
+
+        Assertions.assertEquals(1, apiRequestMetrics.meterRegistry.get(ApiRequestMetrics.REQUESTS)
+                .tags("verb", "list", "component", ApiRequestMetrics.UNKNOWN_COMPONENT)
+                .counter()
+                .count()
+        );
+        Assertions.assertEquals(1, apiRequestMetrics.meterRegistry.get(ApiRequestMetrics.REQUESTS)
+                .tags("verb", "list", "component", "ServerConfigMap")
+                .counter()
+                .count()
+        );
+
+        apiRequestMetrics.evict(cr);
+        Assertions.assertTrue(apiRequestMetrics.getLastReconcileRequests(ResourceID.fromResource(cr)).isEmpty());
+        Assertions.assertNull(apiRequestMetrics.meterRegistry.find(ApiRequestMetrics.RECONCILE_REQUESTS)
+                .tags("name", "attributed")
+                .summary()
+        );
+    }
+
+    @Test
+    public void latencyIsMeasuredUntilTheResponse() throws InterruptedException {
+        ApiRequestContext.call(null, "ServerConfigMap", () -> client.resource(configMap("timed", Map.of())).create());
+
+        var duration = apiRequestMetrics.meterRegistry.get(ApiRequestMetrics.DURATION)
+                .tags("verb", "create", "resource", "configmaps", "component", "ServerConfigMap", "status", "201")
+                .timer();
+        Assertions.assertEquals(1, duration.count());
+        Assertions.assertTrue(duration.totalTime(TimeUnit.NANOSECONDS) > 0);
+
+        // The request is matched with its response without adding a header to it
+        Assertions.assertTrue(apiRequestMetrics.pendingRequests.isEmpty());
+        Assertions.assertTrue(server.getLastRequest().getHeaders().names().stream().noneMatch(name -> name.toLowerCase().contains("trustify")));
+    }
+
+    @Test
+    public void connectionFailuresAreCounted() {
+        try (KubernetesClient unreachableClient = new KubernetesClientBuilder()
+                .withConfig(new ConfigBuilder()
+                        .withMasterUrl("http://localhost:1")
+                        // The client reports connection failures when it decides whether to retry
+                        .withRequestRetryBackoffLimit(1)
+                        .withRequestRetryBackoffInterval(1)
+                        .build()
+                )
+                .withHttpClientBuilderConsumer(builder -> builder.addOrReplaceInterceptor(ApiRequestMetrics.NAME, apiRequestMetrics))
+                .build()) {
+            Assertions.assertThrows(KubernetesClientException.class, () -> unreachableClient.configMaps().inNamespace(NAMESPACE).withName("unreachable").get());
+        }
+
+        Assertions.assertEquals(1, apiRequestMetrics.meterRegistry.get(ApiRequestMetrics.CONNECTION_FAILURES)
+                .tags("verb", "get", "resource", "configmaps")
+                .counter()
+                .count()
+        );
+    }
+
+    @Test
+    public void bodySizeIsTheEncodedLength() {
+        for (String body : List.of("", "{\"key\":\"value\"}", "caf\u00e9", "\u20ac", "\ud83d\ude00")) {
+            Assertions.assertEquals(body.getBytes(StandardCharsets.UTF_8).length, ApiRequestMetrics.getUtf8Length(body), body);
+        }
+    }
+
+    @Test
+    public void serverSideApplySendsOnlyTheDesiredFields() {
+        // Another controller owns a large annotation of the object
+        String foreignAnnotation = "x".repeat(4096);
+        client.resource(configMap("update", Map.of("other-controller/state", foreignAnnotation))).create();
+        client.resource(configMap("apply", Map.of("other-controller/state", foreignAnnotation))).create();
+
+        // Full update: the desired state is merged into the actual object and the whole object is sent back
+        serverSideApply.set(false);
+        ConfigMap actual = client.configMaps().inNamespace(NAMESPACE).withName("update").get();
+        actual.getData().put("key", "changed");
+        client.resource(actual).update();
+
+        // Server-side apply: only the fields the operator manages are sent.
+        // The mock server rejects apply patches, the request is measured before being sent anyway.
+        serverSideApply.set(true);
+        ConfigMap desired = configMap("apply", Map.of());
+        desired.getData().put("key", "changed");
+        Assertions.assertThrows(KubernetesClientException.class, () -> client.resource(desired)
+                .fieldManager(Constants.FIELD_MANAGER)
+                .forceConflicts()
+                .serverSideApply()
+        );
+
+        var updates = apiRequestMetrics.meterRegistry.get(ApiRequestMetrics.PAYLOAD)
+                .tags("method", "PUT", "resource", "configmaps", "mode", ApiRequestMetrics.UPDATE_MODE)
+                .summary();
+        var applies = apiRequestMetrics.meterRegistry.get(ApiRequestMetrics.PAYLOAD)
+                .tags("method", "PATCH", "resource", "configmaps", "mode", ApiRequestMetrics.SERVER_SIDE_APPLY_MODE)
+                .summary();
+
+        Assertions.assertEquals(1, updates.count());
+        Assertions.assertEquals(1, applies.count());
+        Assertions.assertTrue(applies.totalAmount() < updates.totalAmount());
+        Assertions.assertEquals(1, apiRequestMetrics.meterRegistry.get(ApiRequestMetrics.REQUESTS)
+                .tags("method", "GET", "mode", ApiRequestMetrics.UPDATE_MODE)
+                .counter()
+                .count()
+        );
+    }
+
+    private static Trustify trustify(String name) {
+        Trustify cr = new Trustify();
+        cr.setMetadata(new ObjectMetaBuilder()
+                .withName(name)
+                .withNamespace(NAMESPACE)
+                .build()
+        );
+        return cr;
+    }
+
+    private static ConfigMap configMap(String name, Map<String, String> annotations) {
+        return new ConfigMapBuilder()
+                .withNewMetadata()
+                .withName(name)
+                .withNamespace(NAMESPACE)
+                .withAnnotations(annotations)
+                .endMetadata()
+                .withData(new HashMap<>(Map.of("key", "value")))
+                .build();
+    }
+}
@@ -0,0 +1,106 @@
+package org.trustify.operator.metrics;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.api.reconciler.dependent.DependentResource;
+import io.javaoperatorsdk.operator.processing.dependent.workflow.WorkflowReconcileResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.cdrs.v2alpha1.server.configmap.ServerConfigMap;
+import org.trustify.operator.cdrs.v2alpha1.server.db.secret.DBSecret;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class DependentMetricsTest {
+
+    static class ServerConfigMap_Subclass extends ServerConfigMap {
+    }
+
+    @Test
+    public void phasesAreTheMethodsJosdkCalls() throws Exception {
+        Assertions.assertEquals("desired", DependentMetricsInterceptor.getPhase(ServerConfigMap.class.getDeclaredMethod("desired", Trustify.class, Context.class)));
+        Assertions.assertEquals("match", DependentMetricsInterceptor.getPhase(ServerConfigMap.class.getMethod("match", ConfigMap.class, Trustify.class, Context.class)));
+        Assertions.assertEquals("create", DependentMetricsInterceptor.getPhase(ServerConfigMap.class.getMethod("create", HasMetadata.class, HasMetadata.class, Context.class)));
+        Assertions.assertNull(DependentMetricsInterceptor.getPhase(ServerConfigMap.class.getMethod("getAuthValue", Trustify.class, Context.class)));
+    }
+
+    @Test
+    public void dependentNamesIgnoreGeneratedSubclasses() {
+        Assertions.assertEquals("ServerConfigMap", DependentMetrics.getDependentName(new ServerConfigMap_Subclass()));
+        Assertions.assertEquals("DBSecret", DependentMetrics.getDependentName(new DBSecret()));
+    }
+
+    @Test
+    public void timeToReadyIsRecordedOncePerComponent() {
+        DependentMetrics dependentMetrics = new DependentMetrics();
+        dependentMetrics.meterRegistry = new SimpleMeterRegistry();
+
+        Trustify cr = new Trustify();
+        cr.setMetadata(new ObjectMetaBuilder()
+                .withName("trustify")
+                .withNamespace("namespace")
+                .withUid("uid")
+                .withCreationTimestamp(Instant.now().minus(90, ChronoUnit.SECONDS).toString())
+                .build()
+        );
+
+        DependentResource<?, ?> configMap = new ServerConfigMap_Subclass();
+        DependentResource<?, ?> secret = new DBSecret();
+
+        dependentMetrics.recordWorkflow(cr, new WorkflowReconcileResult(List.of(configMap, secret), List.of(secret), Map.of(), Map.of()), true);
+        Assertions.assertTrue(dependentMetrics.meterRegistry.get(DependentMetrics.TIME_TO_READY).tag("component", "ServerConfigMap").gauge().value() >= 90);
+        Assertions.assertNull(dependentMetrics.meterRegistry.find(DependentMetrics.TIME_TO_READY).tag("component", "DBSecret").gauge());
+        Assertions.assertNotNull(dependentMetrics.meterRegistry.find(DependentMetrics.TIME_TO_RECONCILE).tag("component", "DBSecret").gauge());
+        Assertions.assertNull(dependentMetrics.meterRegistry.find(DependentMetrics.TIME_TO_READY).tag("component", DependentMetrics.ALL_COMPONENTS).gauge());
+
+        dependentMetrics.recordWorkflow(cr, new WorkflowReconcileResult(List.of(configMap, secret), List.of(), Map.of(), Map.of()), true);
+        Assertions.assertNotNull(dependentMetrics.meterRegistry.find(DependentMetrics.TIME_TO_READY).tag("component", DependentMetrics.ALL_COMPONENTS).gauge());
+        Assertions.assertEquals(1, dependentMetrics.meterRegistry.get(DependentMetrics.READY).tag("dependent", "DBSecret").tag("outcome", "ready").counter().count());
+        Assertions.assertEquals(1, dependentMetrics.meterRegistry.get(DependentMetrics.READY).tag("dependent", "DBSecret").tag("outcome", "not-ready").counter().count());
+
+        Assertions.assertTrue(dependentMetrics.getTimeline(cr).orElseThrow().getReady("DBSecret").isPresent());
+
+        dependentMetrics.evict(cr);
+        Assertions.assertTrue(dependentMetrics.meterRegistry.find(DependentMetrics.TIME_TO_READY).gauges().isEmpty());
+        Assertions.assertTrue(dependentMetrics.getTimeline(cr).isEmpty());
+    }
+
+    @Test
+    public void criticalPathFollowsThePredecessorReadyLast() {
+        Instant creation = Instant.parse("2024-01-01T00:00:00Z");
+        ProvisioningTimeline timeline = new ProvisioningTimeline(creation);
+        timeline.recordReady("DBSecret", creation.plusSeconds(1));
+        timeline.recordReady("ServerConfigMap", creation.plusSeconds(1));
+        timeline.recordReconciled("DBDeployment", creation.plusSeconds(1));
+        timeline.recordReconciled("ServerDeployment", creation.plusSeconds(1));
+        timeline.recordReady("DBDeployment", creation.plusSeconds(20));
+        timeline.recordReady("ServerDeployment", creation.plusSeconds(45));
+        timeline.recordReconciled("ImporterStatefulSet", creation.plusSeconds(45));
+        timeline.recordReady("UIDeployment", creation.plusSeconds(30));
+        timeline.recordReady("ImporterStatefulSet", creation.plusSeconds(60));
+
+        Map<String, Set<String>> predecessors = Map.of(
+                "DBDeployment", Set.of("DBSecret"),
+                "ServerDeployment", Set.of("ServerConfigMap", "DBDeployment"),
+                "ImporterStatefulSet", Set.of("ServerDeployment")
+        );
+
+        List<ProvisioningTimeline.Step> criticalPath = timeline.getCriticalPath(predecessors);
+        Assertions.assertEquals(List.of("DBSecret", "DBDeployment", "ServerDeployment", "ImporterStatefulSet"), criticalPath.stream().map(ProvisioningTimeline.Step::component).toList());
+        Assertions.assertEquals(Duration.ofSeconds(45), criticalPath.get(2).ready());
+        Assertions.assertEquals(Duration.ofSeconds(45), criticalPath.get(3).reconciled());
+        Assertions.assertEquals(
+                "DBSecret [reconciled +1s, ready +1s] -> DBDeployment [reconciled +1s, ready +20s] -> ServerDeployment [reconciled +1s, ready +45s] -> ImporterStatefulSet [reconciled +45s, ready +60s]",
+                ProvisioningTimeline.toString(criticalPath)
+        );
+    }
+}
@@ -0,0 +1,109 @@
+package org.trustify.operator.scale;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.kubernetes.client.KubernetesTestServer;
+import io.quarkus.test.kubernetes.client.WithKubernetesTestServer;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.cdrs.v2alpha1.TrustifySpec;
+import org.trustify.operator.controllers.TestTags;
+import org.trustify.operator.controllers.TrustifyReconciler;
+import org.trustify.operator.controllers.setup.K3sConfigProducer;
+import org.trustify.operator.metrics.DependentMetrics;
+import org.trustify.operator.metrics.ProvisioningTimeline;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Every workload of the operator becomes ready {@link #READINESS_DELAY} after being created, so the time-to-ready of a
+ * CR is the number of workloads on its critical path times the delay. DB, migration Job, UI and Ingress start together
+ * and the server and the importer both wait for the migration only: two delays, where waiting for the DB then the
+ * server took three.
+ */
+@Tag(TestTags.scale)
+@QuarkusTest
+@TestProfile(ProvisioningCriticalPathTest.Profile.class)
+@WithKubernetesTestServer(crud = true)
+public class ProvisioningCriticalPathTest {
+
+    private static final Logger logger = Logger.getLogger(ProvisioningCriticalPathTest.class);
+
+    static final String NAMESPACE = "critical-path";
+    static final Duration READINESS_DELAY = Duration.ofSeconds(4);
+
+    public static class Profile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    // The k3s config producer of the other tests would replace the mock server config
+                    "quarkus.arc.exclude-types", K3sConfigProducer.class.getName(),
+                    "quarkus.operator-sdk.controllers.trustify.namespaces", NAMESPACE,
+                    "quarkus.operator-sdk.crd.validate", "false"
+            );
+        }
+
+        @Override
+        public boolean disableGlobalTestResources() {
+            return true;
+        }
+    }
+
+    @KubernetesTestServer
+    KubernetesServer mockServer;
+
+    @Inject
+    DependentMetrics dependentMetrics;
+
+    @Test
+    public void workloadsStartConcurrently() {
+        KubernetesClient client = mockServer.getClient();
+
+        Trustify cr = new Trustify();
+        cr.setMetadata(new ObjectMetaBuilder()
+                .withName("critical-path")
+                .withNamespace(NAMESPACE)
+                .build()
+        );
+        cr.setSpec(new TrustifySpec());
+
+        try (ReadinessSimulator readinessSimulator = new ReadinessSimulator(client, NAMESPACE, READINESS_DELAY)) {
+            readinessSimulator.start();
+            Trustify created = client.resource(cr).create();
+
+            await().atMost(Duration.ofMinutes(2))
+                    .pollInterval(Duration.ofMillis(500))
+                    .until(() -> dependentMetrics.getTimeline(created)
+                            .flatMap(timeline -> timeline.getReady(DependentMetrics.ALL_COMPONENTS))
+                            .isPresent()
+                    );
+
+            ProvisioningTimeline timeline = dependentMetrics.getTimeline(created).orElseThrow();
+            List<ProvisioningTimeline.Step> criticalPath = timeline.getCriticalPath(TrustifyReconciler.WORKFLOW_PREDECESSORS);
+            logger.infof("Critical path: %s", ProvisioningTimeline.toString(criticalPath));
+
+            // The migration pod waits for the DB itself
+            Assertions.assertTrue(timeline.getReconciled("ServerMigrationJob").orElseThrow().compareTo(timeline.getReady("DBDeployment").orElseThrow()) < 0);
+            Assertions.assertTrue(timeline.getReconciled("UIDeployment").orElseThrow().compareTo(timeline.getReady("ServerDeployment").orElseThrow()) < 0);
+            Assertions.assertTrue(timeline.getReconciled("ImporterStatefulSet").orElseThrow().compareTo(timeline.getReady("ServerDeployment").orElseThrow()) < 0);
+            Assertions.assertTrue(criticalPath.stream().anyMatch(step -> step.component().equals("ServerMigrationJob")));
+
+            Duration timeToReady = timeline.getReady(DependentMetrics.ALL_COMPONENTS).orElseThrow();
+            Assertions.assertTrue(timeToReady.compareTo(READINESS_DELAY.multipliedBy(5).dividedBy(2)) < 0, () -> "Time-to-ready: " + timeToReady);
+        } finally {
+            client.resource(cr).delete();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package org.trustify.operator.scale;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.fabric8.kubernetes.api.model.apps.StatefulSetBuilder;
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import io.fabric8.kubernetes.api.model.batch.v1.JobBuilder;
+import io.fabric8.kubernetes.api.model.networking.v1.Ingress;
+import io.fabric8.kubernetes.api.model.networking.v1.IngressBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Plays the part of the kubelet and the ingress controller, which a mock API server does not have: Deployments and
+ * StatefulSets of the operator get all their replicas ready, Jobs succeed and Ingresses get a load balancer address
+ * after a delay.
+ */
+public class ReadinessSimulator implements AutoCloseable {
+
+    private static final Logger logger = Logger.getLogger(ReadinessSimulator.class);
+
+    private final KubernetesClient client;
+    private final String namespace;
+    private final Duration delay;
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
+
+    private List<SharedIndexInformer<?>> informers = List.of();
+
+    public ReadinessSimulator(KubernetesClient client, String namespace, Duration delay) {
+        this.client = client;
+        this.namespace = namespace;
+        this.delay = delay;
+    }
+
+    public void start() {
+        informers = List.of(
+                client.apps().deployments().inNamespace(namespace)
+                        .withLabel("app.kubernetes.io/managed-by", "trustify-operator")
+                        .inform(handler(ReadinessSimulator::isReady, this::markReady)),
+                client.apps().statefulSets().inNamespace(namespace)
+                        .withLabel("app.kubernetes.io/managed-by", "trustify-operator")
+                        .inform(handler(ReadinessSimulator::isReady, this::markReady)),
+                client.batch().v1().jobs().inNamespace(namespace)
+                        .withLabel("app.kubernetes.io/managed-by", "trustify-operator")
+                        .inform(handler(ReadinessSimulator::isReady, this::markReady)),
+                client.network().v1().ingresses().inNamespace(namespace)
+                        .withLabel("app.kubernetes.io/managed-by", "trustify-operator")
+                        .inform(handler(ReadinessSimulator::isReady, this::markReady))
+        );
+    }
+
+    @Override
+    public void close() {
+        informers.forEach(SharedIndexInformer::close);
+        scheduler.shutdownNow();
+    }
+
+    private <R extends HasMetadata> ResourceEventHandler<R> handler(Predicate<R> isReady, Consumer<R> markReady) {
+        return new ResourceEventHandler<>() {
+            @Override
+            public void onAdd(R resource) {
+                schedule(resource);
+            }
+
+            @Override
+            public void onUpdate(R oldResource, R newResource) {
+                schedule(newResource);
+            }
+
+            @Override
+            public void onDelete(R resource, boolean deletedFinalStateUnknown) {
+            }
+
+            private void schedule(R resource) {
+                if (isReady.test(resource)) {
+                    return;
+                }
+                scheduler.schedule(() -> {
+                    try {
+                        markReady.accept(resource);
+                    } catch (KubernetesClientException e) {
+                        // Deleted in the meantime, or updated by the operator and retried with the next event
+                        logger.debugf("Could not mark %s ready: %s", resource.getMetadata().getName(), e.getMessage());
+                    }
+                }, delay.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        };
+    }
+
+    private void markReady(Deployment deployment) {
+        client.apps().deployments().inNamespace(namespace).withName(deployment.getMetadata().getName()).editStatus(current -> {
+            int replicas = getReplicas(current.getSpec().getReplicas());
+            return new DeploymentBuilder(current)
+                    .editOrNewStatus()
+                    .withObservedGeneration(current.getMetadata().getGeneration())
+                    .withReplicas(replicas)
+                    .withUpdatedReplicas(replicas)
+                    .withReadyReplicas(replicas)
+                    .withAvailableReplicas(replicas)
+                    .endStatus()
+                    .build();
+        });
+    }
+
+    private void markReady(StatefulSet statefulSet) {
+        client.apps().statefulSets().inNamespace(namespace).withName(statefulSet.getMetadata().getName()).editStatus(current -> {
+            int replicas = getReplicas(current.getSpec().getReplicas());
+            return new StatefulSetBuilder(current)
+                    .editOrNewStatus()
+                    .withObservedGeneration(current.getMetadata().getGeneration())
+                    .withReplicas(replicas)
+                    .withUpdatedReplicas(replicas)
+                    .withReadyReplicas(replicas)
+                    .withAvailableReplicas(replicas)
+                    .endStatus()
+                    .build();
+        });
+    }
+
+    private void markReady(Job job) {
+        client.batch().v1().jobs().inNamespace(namespace).withName(job.getMetadata().getName()).editStatus(current -> new JobBuilder(current)
+                .editOrNewStatus()
+                .withSucceeded(1)
+                .endStatus()
+                .build()
+        );
+    }
+
+    private void markReady(Ingress ingress) {
+        client.network().v1().ingresses().inNamespace(namespace).withName(ingress.getMetadata().getName()).editStatus(current -> new IngressBuilder(current)
+                .withNewStatus()
+                .withNewLoadBalancer()
+                .addNewIngress()
+                .withIp("127.0.0.1")
+                .endIngress()
+                .endLoadBalancer()
+                .endStatus()
+                .build()
+        );
+    }
+
+    private static boolean isReady(Deployment deployment) {
+        return deployment.getStatus() != null &&
+                Objects.equals(deployment.getStatus().getObservedGeneration(), deployment.getMetadata().getGeneration()) &&
+                Objects.equals(deployment.getStatus().getReadyReplicas(), getReplicas(deployment.getSpec().getReplicas()));
+    }
+
+    private static boolean isReady(StatefulSet statefulSet) {
+        return statefulSet.getStatus() != null &&
+                Objects.equals(statefulSet.getStatus().getObservedGeneration(), statefulSet.getMetadata().getGeneration()) &&
+                Objects.equals(statefulSet.getStatus().getReadyReplicas(), getReplicas(statefulSet.getSpec().getReplicas()));
+    }
+
+    private static boolean isReady(Job job) {
+        return job.getStatus() != null &&
+                job.getStatus().getSucceeded() != null &&
+                job.getStatus().getSucceeded() >= 1;
+    }
+
+    private static boolean isReady(Ingress ingress) {
+        return ingress.getStatus() != null &&
+                ingress.getStatus().getLoadBalancer() != null &&
+                !ingress.getStatus().getLoadBalancer().getIngress().isEmpty();
+    }
+
+    private static int getReplicas(Integer replicas) {
+        return Optional.ofNullable(replicas).orElse(1);
+    }
+}
@@ -0,0 +1,183 @@
+package org.trustify.operator.scale;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.kubernetes.client.KubernetesTestServer;
+import io.quarkus.test.kubernetes.client.WithKubernetesTestServer;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.cdrs.v2alpha1.TrustifySpec;
+import org.trustify.operator.controllers.TestTags;
+import org.trustify.operator.controllers.setup.K3sConfigProducer;
+import org.trustify.operator.metrics.ApiRequestMetrics;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Runs the operator against the fabric8 mock API server with hundreds to thousands of Trustify CRs, to size the
+ * operator replicas of a fleet. The mock server answers right away and has no kubelet, so workloads are made ready by
+ * {@link ReadinessSimulator} and the numbers are a lower bound of what a real cluster gives.
+ * <p>
+ * Run with {@code mvn test -Pscale}; heap figures include the mock server, which lives in the same JVM.
+ */
+@Tag(TestTags.scale)
+@QuarkusTest
+@TestProfile(ScaleTest.Profile.class)
+@WithKubernetesTestServer(crud = true)
+public class ScaleTest {
+
+    static final Duration READINESS_DELAY = Duration.ofSeconds(1);
+
+    public static class Profile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    // The k3s config producer of the other tests would replace the mock server config
+                    "quarkus.arc.exclude-types", K3sConfigProducer.class.getName(),
+                    "quarkus.operator-sdk.controllers.trustify.namespaces", "JOSDK_ALL_NAMESPACES",
+                    "quarkus.operator-sdk.crd.validate", "false"
+            );
+        }
+
+        @Override
+        public boolean disableGlobalTestResources() {
+            return true;
+        }
+    }
+
+    @KubernetesTestServer
+    KubernetesServer mockServer;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ParameterizedTest
+    @ValueSource(ints = {100, 1000, 5000})
+    public void provision(int crs) {
+        String namespace = "scale-" + crs;
+        // Not the operator client, so that the requests of the test are not counted
+        KubernetesClient client = mockServer.getClient();
+
+        Map<String, Long> createdAt = new ConcurrentHashMap<>();
+        Map<String, Long> timeToReady = new ConcurrentHashMap<>();
+        SharedIndexInformer<Trustify> trustifyInformer = client.resources(Trustify.class).inNamespace(namespace).inform(new ResourceEventHandler<>() {
+            @Override
+            public void onAdd(Trustify cr) {
+                onUpdate(null, cr);
+            }
+
+            @Override
+            public void onUpdate(Trustify oldCr, Trustify cr) {
+                Long created = createdAt.get(cr.getMetadata().getName());
+                if (created != null && cr.getStatus() != null && cr.getStatus().isAvailable()) {
+                    timeToReady.putIfAbsent(cr.getMetadata().getName(), System.nanoTime() - created);
+                }
+            }
+
+            @Override
+            public void onDelete(Trustify cr, boolean deletedFinalStateUnknown) {
+            }
+        });
+
+        ReadinessSimulator readinessSimulator = new ReadinessSimulator(client, namespace, READINESS_DELAY);
+        readinessSimulator.start();
+
+        long heapBefore = usedHeapAfterGc();
+        AtomicLong peakHeap = new AtomicLong();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> peakHeap.accumulateAndGet(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(), Math::max), 0, 100, TimeUnit.MILLISECONDS);
+
+        double requestsBefore = count(ApiRequestMetrics.REQUESTS);
+        double reconciliationsBefore = count("operator.sdk.reconciliations.started");
+
+        try {
+            long start = System.nanoTime();
+            IntStream.range(0, crs).parallel().forEach(i -> {
+                Trustify cr = trustify(namespace, "trustify-" + i);
+                createdAt.put(cr.getMetadata().getName(), System.nanoTime());
+                client.resource(cr).create();
+            });
+            await().atMost(Duration.ofMinutes(30))
+                    .pollInterval(Duration.ofSeconds(1))
+                    .until(() -> timeToReady.size() == crs);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            double requests = count(ApiRequestMetrics.REQUESTS) - requestsBefore;
+            double reconciliations = count("operator.sdk.reconciliations.started") - reconciliationsBefore;
+            long retainedHeap = usedHeapAfterGc() - heapBefore;
+            List<Long> sortedTimeToReady = timeToReady.values().stream().sorted().toList();
+
+            System.out.printf("%d CRs ready in %d s%n", crs, elapsed.toSeconds());
+            System.out.printf("  reconcile throughput:    %.1f reconciliations/s, %.1f CRs ready/s%n", reconciliations / toSeconds(elapsed), crs / toSeconds(elapsed));
+            System.out.printf("  time-to-ready p50 / p99: %d ms / %d ms%n", percentile(sortedTimeToReady, 0.5), percentile(sortedTimeToReady, 0.99));
+            System.out.printf("  API requests per CR:     %.1f (%.1f reconciliations per CR)%n", requests / crs, reconciliations / crs);
+            System.out.printf("  heap retained / peak:    %d MiB / %d MiB%n", retainedHeap >> 20, peakHeap.get() >> 20);
+
+            Assertions.assertEquals(crs, timeToReady.size());
+        } finally {
+            sampler.shutdownNow();
+            readinessSimulator.close();
+            trustifyInformer.close();
+
+            // The operator removes its finalizer, the next run must not pay for the CRs of this one
+            client.resources(Trustify.class).inNamespace(namespace).delete();
+            await().atMost(Duration.ofMinutes(10))
+                    .pollInterval(Duration.ofSeconds(1))
+                    .until(() -> client.resources(Trustify.class).inNamespace(namespace).list().getItems().isEmpty());
+        }
+    }
+
+    private double count(String meterName) {
+        return meterRegistry.find(meterName).counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static double toSeconds(Duration duration) {
+        return duration.toMillis() / 1000.0;
+    }
+
+    private static long percentile(List<Long> sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedNanos.size()) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sortedNanos.get(Math.max(0, index)));
+    }
+
+    private static Trustify trustify(String namespace, String name) {
+        Trustify cr = new Trustify();
+        cr.setMetadata(new ObjectMetaBuilder()
+                .withName(name)
+                .withNamespace(namespace)
+                .build()
+        );
+        cr.setSpec(new TrustifySpec());
+        return cr;
+    }
+}
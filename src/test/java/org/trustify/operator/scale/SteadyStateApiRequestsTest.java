@@ -0,0 +1,105 @@
+package org.trustify.operator.scale;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.kubernetes.client.KubernetesTestServer;
+import io.quarkus.test.kubernetes.client.WithKubernetesTestServer;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.cdrs.v2alpha1.TrustifySpec;
+import org.trustify.operator.controllers.setup.K3sConfigProducer;
+import org.trustify.operator.metrics.ApiRequestMetrics;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Once the workloads of a CR are ready, reconciling it again must be served by the informer caches alone.
+ */
+@QuarkusTest
+@TestProfile(SteadyStateApiRequestsTest.Profile.class)
+@WithKubernetesTestServer(crud = true)
+public class SteadyStateApiRequestsTest {
+
+    static final String NAMESPACE = "steady-state";
+
+    public static class Profile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    // The k3s config producer of the other tests would replace the mock server config
+                    "quarkus.arc.exclude-types", K3sConfigProducer.class.getName(),
+                    "quarkus.operator-sdk.controllers.trustify.namespaces", NAMESPACE,
+                    "quarkus.operator-sdk.controllers.trustify.max-reconciliation-interval", "PT2S",
+                    "quarkus.operator-sdk.crd.validate", "false"
+            );
+        }
+
+        @Override
+        public boolean disableGlobalTestResources() {
+            return true;
+        }
+    }
+
+    @KubernetesTestServer
+    KubernetesServer mockServer;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Inject
+    ApiRequestMetrics apiRequestMetrics;
+
+    @Test
+    public void steadyStateReconcileSendsNoUncachedReads() {
+        KubernetesClient client = mockServer.getClient();
+
+        Trustify cr = new Trustify();
+        cr.setMetadata(new ObjectMetaBuilder()
+                .withName("steady-state")
+                .withNamespace(NAMESPACE)
+                .build()
+        );
+        cr.setSpec(new TrustifySpec());
+
+        try (ReadinessSimulator readinessSimulator = new ReadinessSimulator(client, NAMESPACE, Duration.ofMillis(100))) {
+            readinessSimulator.start();
+            client.resource(cr).create();
+
+            await().atMost(Duration.ofMinutes(2))
+                    .pollInterval(Duration.ofMillis(500))
+                    .until(() -> {
+                        Trustify current = client.resource(cr).get();
+                        return current.getStatus() != null && current.getStatus().isAvailable();
+                    });
+
+            // The max reconciliation interval triggers reconciliations without any change, wait for one to finish
+            double reconciliations = countReconciliations();
+            await().atMost(Duration.ofSeconds(30))
+                    .pollInterval(Duration.ofMillis(500))
+                    .until(() -> countReconciliations() >= reconciliations + 2);
+
+            Map<String, Integer> requests = apiRequestMetrics.getLastReconcileRequests(ResourceID.fromResource(cr)).orElseThrow();
+            Assertions.assertEquals(0, ApiRequestMetrics.getUncachedReads(requests), () -> "Uncached reads: " + requests);
+        } finally {
+            client.resource(cr).delete();
+        }
+    }
+
+    private double countReconciliations() {
+        return meterRegistry.find("operator.sdk.reconciliations.started").counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+}
@@ -0,0 +1,92 @@
+package org.trustify.operator.services;
+
+import io.fabric8.kubernetes.api.model.APIGroupBuilder;
+import io.fabric8.kubernetes.api.model.APIGroupListBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.trustify.operator.Stubs;
+import org.trustify.operator.TrustifyConfig;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.awaitility.Awaitility.await;
+
+@EnableKubernetesMockClient
+public class CapabilityServiceTest {
+
+    KubernetesMockServer server;
+    KubernetesClient client;
+
+    CapabilityService capabilityService;
+
+    @BeforeEach
+    public void beforeEach() {
+        TrustifyConfig.CapabilitiesConfig capabilitiesConfig = Stubs.stub(TrustifyConfig.CapabilitiesConfig.class, Map.of(
+                "refreshInterval", Duration.ofMillis(200)
+        ));
+
+        capabilityService = new CapabilityService();
+        capabilityService.k8sClient = client;
+        capabilityService.trustifyConfig = Stubs.stub(TrustifyConfig.class, Map.of("capabilities", capabilitiesConfig));
+    }
+
+    @AfterEach
+    public void afterEach() {
+        capabilityService.stop();
+    }
+
+    @Test
+    public void capabilitiesAreDiscoveredOnceAndRefreshed() {
+        expectApiGroups(1, "route.openshift.io/v1", "autoscaling/v2", "autoscaling/v1");
+
+        Assertions.assertTrue(capabilityService.supports(CapabilityService.Capability.ROUTES));
+        Assertions.assertTrue(capabilityService.supports(CapabilityService.Capability.HPA_V2));
+        Assertions.assertFalse(capabilityService.supports(CapabilityService.Capability.OLM));
+        Assertions.assertFalse(capabilityService.supports(CapabilityService.Capability.VPA));
+        Assertions.assertEquals(1, server.getRequestCount(), "Answers are shared until the next refresh");
+
+        // OLM gets installed while the operator runs, the listeners are told once
+        List<Set<CapabilityService.Capability>> changes = new CopyOnWriteArrayList<>();
+        capabilityService.addChangeListener(changes::add);
+        expectApiGroups(100, "route.openshift.io/v1", "autoscaling/v2", "operators.coreos.com/v1alpha1");
+        capabilityService.start();
+        await().atMost(Duration.ofSeconds(10)).until(() -> capabilityService.supports(CapabilityService.Capability.OLM));
+        await().during(Duration.ofMillis(500)).atMost(Duration.ofSeconds(5)).until(() -> changes.size() == 1);
+        Assertions.assertTrue(changes.getFirst().contains(CapabilityService.Capability.OLM));
+    }
+
+    @Test
+    public void unreachableApiServerKeepsPreviousAnswers() {
+        expectApiGroups(1, "route.openshift.io/v1");
+        Assertions.assertTrue(capabilityService.supports(CapabilityService.Capability.ROUTES));
+
+        server.expect().get().withPath("/apis").andReturn(403, "").always();
+        capabilityService.refresh();
+        Assertions.assertTrue(capabilityService.supports(CapabilityService.Capability.ROUTES));
+    }
+
+    private void expectApiGroups(int times, String... groupVersions) {
+        APIGroupListBuilder apiGroups = new APIGroupListBuilder();
+        for (String groupVersion : groupVersions) {
+            String[] parts = groupVersion.split("/");
+            apiGroups.addToGroups(new APIGroupBuilder()
+                    .withName(parts[0])
+                    .addNewVersion()
+                    .withGroupVersion(groupVersion)
+                    .withVersion(parts[1])
+                    .endVersion()
+                    .build()
+            );
+        }
+        server.expect().get().withPath("/apis").andReturn(200, apiGroups.build()).times(times);
+    }
+}
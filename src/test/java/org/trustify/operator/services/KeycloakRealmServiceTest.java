@@ -0,0 +1,133 @@
+package org.trustify.operator.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.event.EventSourceRetriever;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.keycloak.k8s.v2alpha1.KeycloakRealmImport;
+import org.keycloak.k8s.v2alpha1.KeycloakRealmImportStatus;
+import org.keycloak.k8s.v2alpha1.keycloakrealmimportspec.realm.Users;
+import org.keycloak.k8s.v2alpha1.keycloakrealmimportstatus.Conditions;
+import org.trustify.operator.Stubs;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.cdrs.v2alpha1.keycloak.utils.KeycloakUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@EnableKubernetesMockClient(crud = true)
+public class KeycloakRealmServiceTest {
+
+    static final String NAMESPACE = "realm";
+
+    KubernetesClient client;
+
+    KeycloakRealmService keycloakRealmService;
+    Trustify cr;
+
+    @BeforeEach
+    public void beforeEach() {
+        keycloakRealmService = new KeycloakRealmService();
+        keycloakRealmService.k8sClient = client;
+        keycloakRealmService.objectMapper = new ObjectMapper();
+        keycloakRealmService.init();
+
+        cr = new Trustify();
+        cr.setMetadata(new ObjectMetaBuilder()
+                .withName("trustify")
+                .withNamespace(NAMESPACE)
+                .withUid("uid")
+                .withGeneration(1L)
+                .build()
+        );
+    }
+
+    @Test
+    public void desiredRealmsAreCopiesOfTheTemplate() {
+        KeycloakRealmImport first = keycloakRealmService.desired(cr);
+        KeycloakRealmImport second = keycloakRealmService.desired(cr);
+
+        Assertions.assertNotSame(first.getSpec().getRealm(), second.getSpec().getRealm());
+        Assertions.assertEquals(KeycloakRealmService.getRealmHash(first), KeycloakRealmService.getRealmHash(second));
+
+        List<Users> users = new ArrayList<>(first.getSpec().getRealm().getUsers());
+        users.add(new Users());
+        first.getSpec().getRealm().setUsers(users);
+        first.getSpec().getRealm().getClientScopes().clear();
+
+        KeycloakRealmImport third = keycloakRealmService.desired(cr);
+        Assertions.assertEquals(1, third.getSpec().getRealm().getUsers().size());
+        Assertions.assertEquals(KeycloakRealmService.getRealmHash(second), KeycloakRealmService.getRealmHash(third));
+    }
+
+    @Test
+    public void pendingRealmImportIsPatched() {
+        KeycloakRealmImport outdated = keycloakRealmService.desired(cr);
+        outdated.getSpec().getRealm().setLoginTheme("keycloak");
+        outdated.getMetadata().setAnnotations(Map.of(KeycloakRealmService.REALM_HASH_ANNOTATION, "outdated"));
+        KeycloakRealmImport actual = client.resource(outdated).create();
+        Assertions.assertTrue(keycloakRealmService.isOutdated(cr, actual));
+
+        KeycloakRealmImport updated = keycloakRealmService.updateInstance(cr, actual, context());
+        Assertions.assertEquals(KeycloakRealmService.getLoginTheme(cr), updated.getSpec().getRealm().getLoginTheme());
+        Assertions.assertEquals(KeycloakRealmService.getRealmHash(keycloakRealmService.desired(cr)), KeycloakRealmService.getRealmHash(updated));
+        Assertions.assertFalse(keycloakRealmService.isOutdated(cr, updated));
+
+        Assertions.assertSame(updated, keycloakRealmService.updateInstance(cr, updated, context()));
+    }
+
+    @Test
+    public void importedRealmIsReportedOutdated() {
+        KeycloakRealmImport outdated = keycloakRealmService.desired(cr);
+        outdated.getSpec().getRealm().setLoginTheme("keycloak");
+        outdated.getMetadata().setAnnotations(Map.of(KeycloakRealmService.REALM_HASH_ANNOTATION, "outdated"));
+        KeycloakRealmImportStatus status = new KeycloakRealmImportStatus();
+        status.setConditions(List.of(realmImportCondition("Done")));
+        outdated.setStatus(status);
+        KeycloakRealmImport actual = client.resource(outdated).create();
+
+        // Keycloak would skip the existing realm, the import is not changed
+        Assertions.assertSame(actual, keycloakRealmService.updateInstance(cr, actual, context()));
+        KeycloakRealmImport current = client.resource(actual).get();
+        Assertions.assertEquals("keycloak", current.getSpec().getRealm().getLoginTheme());
+        Assertions.assertTrue(keycloakRealmService.isOutdated(cr, current));
+        Assertions.assertTrue(KeycloakUtils.isKeycloakRealmImportReady(current));
+
+        // The import fails
+        actual.getStatus().setConditions(List.of(realmImportCondition("Done"), realmImportCondition("HasErrors")));
+        Assertions.assertFalse(KeycloakUtils.isKeycloakRealmImportReady(actual));
+    }
+
+    @Test
+    public void desiredRealmHashIsComputedOncePerGeneration() {
+        String hash = keycloakRealmService.getDesiredRealmHash(cr);
+        Assertions.assertEquals(KeycloakRealmService.getRealmHash(keycloakRealmService.desired(cr)).orElseThrow(), hash);
+
+        keycloakRealmService.realmTemplate = null;
+        Assertions.assertSame(hash, keycloakRealmService.getDesiredRealmHash(cr), "The realm is not built again");
+
+        cr.getMetadata().setGeneration(2L);
+        Assertions.assertThrows(RuntimeException.class, () -> keycloakRealmService.getDesiredRealmHash(cr));
+    }
+
+    private static Conditions realmImportCondition(String type) {
+        Conditions condition = new Conditions();
+        condition.setType(type);
+        condition.setStatus("True");
+        return condition;
+    }
+
+    private static Context<Trustify> context() {
+        EventSourceRetriever<?> eventSourceRetriever = Stubs.stub(EventSourceRetriever.class, name -> {
+            // No informer is registered
+            throw new IllegalArgumentException(name);
+        });
+        return Stubs.context(Map.of("eventSourceRetriever", eventSourceRetriever));
+    }
+}
@@ -0,0 +1,165 @@
+package org.trustify.operator.services;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.trustify.operator.Constants;
+import org.trustify.operator.Stubs;
+import org.trustify.operator.TrustifyConfig;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import static org.awaitility.Awaitility.await;
+
+@EnableKubernetesMockClient(crud = true)
+public class ShardingServiceTest {
+
+    static final List<ResourceID> PRIMARIES = IntStream.range(0, 200)
+            .mapToObj(i -> new ResourceID("trustify-" + i, "namespace-" + (i % 10)))
+            .toList();
+
+    static final Duration LEASE_DURATION = Duration.ofSeconds(3);
+
+    KubernetesClient client;
+
+    List<ShardingService> members = new ArrayList<>();
+
+    @AfterEach
+    public void afterEach() {
+        members.forEach(ShardingService::stop);
+    }
+
+    @Test
+    public void primariesAreSplitAndRebalanced() {
+        ShardingService a = member("a");
+        List<Predicate<ResourceID>> rebalancesOfA = new CopyOnWriteArrayList<>();
+        a.addRebalanceListener(rebalancesOfA::add);
+
+        // A replica of a previous deployment might still reconcile, a starting member waits for the handover
+        a.start();
+        Assertions.assertTrue(PRIMARIES.stream().noneMatch(a::isOwned));
+        await().atMost(Duration.ofSeconds(10)).until(() -> rebalancesOfA.size() == 1);
+        Assertions.assertTrue(PRIMARIES.stream().allMatch(a::isOwned));
+        Assertions.assertTrue(PRIMARIES.stream().allMatch(rebalancesOfA.get(0)), "a gained every primary");
+
+        ShardingService b = member("b");
+        b.start();
+        await().atMost(Duration.ofSeconds(10)).until(() -> rebalancesOfA.size() == 2 && PRIMARIES.stream().allMatch(primary -> a.isOwned(primary) ^ b.isOwned(primary)));
+
+        // Every primary has exactly one owner
+        Assertions.assertTrue(PRIMARIES.stream().anyMatch(b::isOwned));
+        Assertions.assertTrue(PRIMARIES.stream().noneMatch(rebalancesOfA.get(1)), "a only lost primaries");
+
+        // a gains back the primaries of b once b leaves
+        Set<ResourceID> primariesOfB = Set.copyOf(PRIMARIES.stream().filter(b::isOwned).toList());
+        b.stop();
+        members.remove(b);
+        await().atMost(Duration.ofSeconds(10)).until(() -> rebalancesOfA.size() == 3);
+        Assertions.assertTrue(PRIMARIES.stream().allMatch(a::isOwned));
+
+        Predicate<ResourceID> gained = rebalancesOfA.get(2);
+        PRIMARIES.forEach(primary -> Assertions.assertEquals(primariesOfB.contains(primary), gained.test(primary)));
+    }
+
+    @Test
+    public void ringChangesNeverGiveAPrimaryTwoOwners() throws InterruptedException {
+        ShardingService a = member("a");
+        ShardingService b = member("b");
+        a.start();
+        await().atMost(Duration.ofSeconds(10)).until(() -> PRIMARIES.stream().allMatch(a::isOwned));
+
+        List<ResourceID> sharedPrimaries = new CopyOnWriteArrayList<>();
+        Thread sampler = Thread.ofPlatform().start(() -> {
+            try {
+                while (true) {
+                    PRIMARIES.stream()
+                            .filter(primary -> a.isOwned(primary) && b.isOwned(primary))
+                            .forEach(sharedPrimaries::add);
+                    Thread.sleep(1);
+                }
+            } catch (InterruptedException e) {
+                // Sampled until the ring changes are done
+            }
+        });
+
+        try {
+            // b joins, a gives up the primaries of b before b takes them over
+            b.start();
+            await().atMost(Duration.ofSeconds(10)).until(() -> PRIMARIES.stream().allMatch(primary -> a.isOwned(primary) ^ b.isOwned(primary)));
+            Set<ResourceID> primariesOfB = Set.copyOf(PRIMARIES.stream().filter(b::isOwned).toList());
+            Assertions.assertFalse(primariesOfB.isEmpty());
+
+            // b leaves, a only takes over the primaries of b after a lease duration
+            b.stop();
+            members.remove(b);
+            Assertions.assertTrue(PRIMARIES.stream().noneMatch(b::isOwned));
+            Assertions.assertTrue(primariesOfB.stream().noneMatch(a::isOwned));
+            await().atMost(Duration.ofSeconds(10)).until(() -> PRIMARIES.stream().allMatch(a::isOwned));
+        } finally {
+            sampler.interrupt();
+            sampler.join();
+        }
+
+        Assertions.assertTrue(sharedPrimaries.isEmpty(), () -> "Owned by both members: " + Set.copyOf(sharedPrimaries));
+    }
+
+    @Test
+    public void shardScopesTheWatchedResources() {
+        // The shard is static, it does not need the Lease of the members
+        ShardingService member = member("a", false, "blue");
+
+        Assertions.assertEquals(Constants.MANAGED_BY_LABEL_SELECTOR + "," + ShardingService.SHARD_LABEL + "=blue",
+                member.getLabelSelector(Constants.MANAGED_BY_LABEL_SELECTOR));
+        Assertions.assertEquals(ShardingService.SHARD_LABEL + "=blue", member.getLabelSelector(null));
+        Assertions.assertTrue(member.isOwned(trustify("blue")));
+        Assertions.assertFalse(member.isOwned(trustify("green")));
+        Assertions.assertFalse(member.isOwned(trustify(null)));
+
+        ShardingService unscoped = member("b", false, null);
+        Assertions.assertEquals(Constants.MANAGED_BY_LABEL_SELECTOR, unscoped.getLabelSelector(Constants.MANAGED_BY_LABEL_SELECTOR));
+    }
+
+    private static Trustify trustify(String shard) {
+        Trustify cr = new Trustify();
+        cr.setMetadata(new ObjectMetaBuilder()
+                .withName("trustify")
+                .withNamespace("namespace")
+                .withLabels(shard != null ? Map.of(ShardingService.SHARD_LABEL, shard) : Map.of())
+                .build()
+        );
+        return cr;
+    }
+
+    private ShardingService member(String memberId) {
+        return member(memberId, true, null);
+    }
+
+    private ShardingService member(String memberId, boolean enabled, String shard) {
+        TrustifyConfig.ShardingConfig shardingConfig = Stubs.stub(TrustifyConfig.ShardingConfig.class, Map.of(
+                "enabled", enabled,
+                "memberId", Optional.of(memberId),
+                "leaseDuration", LEASE_DURATION,
+                "virtualNodes", 64,
+                "shard", Optional.ofNullable(shard)
+        ));
+
+        ShardingService member = new ShardingService();
+        member.k8sClient = client;
+        member.trustifyConfig = Stubs.stub(TrustifyConfig.class, Map.of("sharding", shardingConfig));
+        members.add(member);
+        return member;
+    }
+}
@@ -0,0 +1,55 @@
+package org.trustify.operator.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class ConsistentHashRingTest {
+
+    static final List<String> KEYS = IntStream.range(0, 3000)
+            .mapToObj(i -> "namespace-" + (i % 30) + "/trustify-" + i)
+            .toList();
+
+    @Test
+    public void emptyRingHasNoOwner() {
+        Assertions.assertEquals(Optional.empty(), new ConsistentHashRing(List.of(), 64).getOwner("ns/name"));
+    }
+
+    @Test
+    public void keysAreSpreadEvenly() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c"), 64);
+
+        Map<String, Long> share = KEYS.stream()
+                .collect(Collectors.groupingBy(key -> ring.getOwner(key).orElseThrow(), Collectors.counting()));
+
+        Assertions.assertEquals(3, share.size());
+        share.values().forEach(count -> Assertions.assertTrue(count > KEYS.size() / 3 / 2, "unbalanced share: " + share));
+    }
+
+    @Test
+    public void onlyKeysOfTheLeavingMemberMove() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("a", "b", "c"), 64);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("a", "b"), 64);
+
+        Map<String, String> ownersBefore = KEYS.stream().collect(Collectors.toMap(Function.identity(), key -> before.getOwner(key).orElseThrow()));
+        Map<String, String> ownersAfter = KEYS.stream().collect(Collectors.toMap(Function.identity(), key -> after.getOwner(key).orElseThrow()));
+
+        KEYS.stream()
+                .filter(key -> !ownersBefore.get(key).equals("c"))
+                .forEach(key -> Assertions.assertEquals(ownersBefore.get(key), ownersAfter.get(key)));
+    }
+
+    @Test
+    public void ownerDoesNotDependOnMemberOrder() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c"), 64);
+        ConsistentHashRing reversedRing = new ConsistentHashRing(List.of("c", "b", "a"), 64);
+
+        KEYS.forEach(key -> Assertions.assertEquals(ring.getOwner(key), reversedRing.getOwner(key)));
+    }
+}
@@ -0,0 +1,100 @@
+package org.trustify.operator.utils;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.api.reconciler.dependent.managed.DefaultManagedDependentResourceContext;
+import io.javaoperatorsdk.operator.api.reconciler.dependent.managed.ManagedDependentResourceContext;
+import io.javaoperatorsdk.operator.processing.event.EventSourceRetriever;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.trustify.operator.Constants;
+import org.trustify.operator.Stubs;
+import org.trustify.operator.cdrs.v2alpha1.Trustify;
+import org.trustify.operator.controllers.ReconcileCache;
+
+import java.util.Map;
+
+@EnableKubernetesMockClient
+public class InformerUtilsTest {
+
+    static final String NAMESPACE = "secrets";
+
+    KubernetesMockServer server;
+    KubernetesClient client;
+
+    @Test
+    public void referencedSecretIsFetchedOncePerReconcileWithoutInformer() {
+        server.expect().get()
+                .withPath("/api/v1/namespaces/" + NAMESPACE + "/secrets/tls")
+                .andReturn(200, secret(Map.of(Constants.REFERENCED_LABEL, "true")))
+                .always();
+        Trustify cr = trustify();
+
+        Context<Trustify> context = context(cr);
+        Assertions.assertTrue(InformerUtils.getReferencedSecret(cr, context, "tls").isPresent());
+        Assertions.assertTrue(InformerUtils.getReferencedSecret(cr, context, "tls").isPresent());
+        Assertions.assertEquals(1, server.getRequestCount());
+
+        // Next reconciliation
+        Assertions.assertTrue(InformerUtils.getReferencedSecret(cr, context(cr), "tls").isPresent());
+        Assertions.assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void referencedSecretIsLabelledToBeWatched() throws InterruptedException {
+        server.expect().get()
+                .withPath("/api/v1/namespaces/" + NAMESPACE + "/secrets/tls")
+                .andReturn(200, secret(Map.of("app", "tls")))
+                .always();
+        server.expect().patch()
+                .withPath("/api/v1/namespaces/" + NAMESPACE + "/secrets/tls")
+                .andReturn(200, secret(Map.of("app", "tls", Constants.REFERENCED_LABEL, "true")))
+                .once();
+        Trustify cr = trustify();
+
+        Secret secret = InformerUtils.getReferencedSecret(cr, context(cr), "tls").orElseThrow();
+        Assertions.assertEquals("true", secret.getMetadata().getLabels().get(Constants.REFERENCED_LABEL));
+        RecordedRequest patch = server.getLastRequest();
+        Assertions.assertEquals("PATCH", patch.getMethod());
+        // JSON pointer escaping of the label key
+        Assertions.assertTrue(patch.getBody().readUtf8().contains(Constants.REFERENCED_LABEL.replace("/", "~1")));
+    }
+
+    private Context<Trustify> context(Trustify cr) {
+        EventSourceRetriever<?> eventSourceRetriever = Stubs.stub(EventSourceRetriever.class, name -> {
+            // No informer is registered
+            throw new IllegalArgumentException(name);
+        });
+        ManagedDependentResourceContext managedDependentResourceContext = new DefaultManagedDependentResourceContext();
+        managedDependentResourceContext.put(Constants.RECONCILE_CACHE, new ReconcileCache(cr));
+        return Stubs.context(Map.of(
+                "eventSourceRetriever", eventSourceRetriever,
+                "managedDependentResourceContext", managedDependentResourceContext,
+                "getClient", client
+        ));
+    }
+
+    private static Secret secret(Map<String, String> labels) {
+        return new SecretBuilder()
+                .withNewMetadata().withName("tls").withNamespace(NAMESPACE).withLabels(labels).endMetadata()
+                .build();
+    }
+
+    private static Trustify trustify() {
+        Trustify cr = new Trustify();
+        cr.setMetadata(new ObjectMetaBuilder()
+                .withName("trustify")
+                .withNamespace(NAMESPACE)
+                .withUid("uid")
+                .withResourceVersion("1")
+                .build()
+        );
+        return cr;
+    }
+}
@@ -0,0 +1,125 @@
+package org.trustify.operator.utils;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.FieldsV1;
+import io.fabric8.kubernetes.api.model.ManagedFieldsEntryBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientBuilder;
+import io.fabric8.kubernetes.client.informers.cache.Cache;
+import io.javaoperatorsdk.operator.api.config.ControllerConfiguration;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.dependent.kubernetes.SSABasedGenericKubernetesResourceMatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.trustify.operator.Constants;
+import org.trustify.operator.Stubs;
+
+import java.util.Map;
+
+/**
+ * A dependent without its own matcher is patched whenever the server-side apply matcher finds it changed, so a
+ * steady-state reconciliation sends no PATCH only if the cached object still holds the Apply entry of the operator.
+ */
+public class ManagedFieldsPruningItemStoreTest {
+
+    KubernetesClient client;
+    Context<?> context;
+
+    @BeforeEach
+    public void beforeEach() {
+        client = new KubernetesClientBuilder().build();
+        ControllerConfiguration<?> controllerConfiguration = Stubs.stub(ControllerConfiguration.class, Map.of(
+                "fieldManager", Constants.FIELD_MANAGER
+        ));
+        context = Stubs.stub(Context.class, Map.of(
+                "getControllerConfiguration", controllerConfiguration,
+                "getClient", client
+        ));
+    }
+
+    @AfterEach
+    public void afterEach() {
+        client.close();
+    }
+
+    @Test
+    public void steadyStateMatchesWithServerSideApply() {
+        ConfigMap stored = store(new ManagedFieldsPruningItemStore<>(Constants.FIELD_MANAGER), applied());
+
+        Assertions.assertEquals(1, stored.getMetadata().getManagedFields().size());
+        Assertions.assertEquals(Constants.FIELD_MANAGER, stored.getMetadata().getManagedFields().getFirst().getManager());
+        Assertions.assertTrue(SSABasedGenericKubernetesResourceMatcher.<ConfigMap>getInstance().matches(stored, desired("value"), context));
+        Assertions.assertFalse(SSABasedGenericKubernetesResourceMatcher.<ConfigMap>getInstance().matches(stored, desired("changed"), context));
+    }
+
+    @Test
+    public void objectsNotAppliedByTheOperatorAreChanged() {
+        ConfigMap applied = applied();
+        applied.getMetadata().getManagedFields().removeFirst();
+        ConfigMap stored = store(new ManagedFieldsPruningItemStore<>(Constants.FIELD_MANAGER), applied);
+
+        Assertions.assertTrue(stored.getMetadata().getManagedFields().isEmpty());
+        Assertions.assertFalse(SSABasedGenericKubernetesResourceMatcher.<ConfigMap>getInstance().matches(stored, desired("value"), context));
+    }
+
+    @Test
+    public void everyEntryIsDroppedWithoutServerSideApply() {
+        ConfigMap stored = store(new ManagedFieldsPruningItemStore<>(), applied());
+
+        Assertions.assertNull(stored.getMetadata().getManagedFields());
+    }
+
+    private static ConfigMap store(ManagedFieldsPruningItemStore<ConfigMap> itemStore, ConfigMap configMap) {
+        itemStore.put(Cache.metaNamespaceKeyFunc(configMap), configMap);
+        return itemStore.get(Cache.metaNamespaceKeyFunc(configMap));
+    }
+
+    private static ConfigMap desired(String value) {
+        return new ConfigMapBuilder()
+                .withNewMetadata()
+                .withName("pruned")
+                .withNamespace("ssa")
+                .withLabels(Map.of("app", "trustify"))
+                .endMetadata()
+                .withData(Map.of("key", value))
+                .build();
+    }
+
+    /**
+     * The desired state as returned by the API server, with the fields set by another manager.
+     */
+    private static ConfigMap applied() {
+        FieldsV1 applyFields = new FieldsV1();
+        applyFields.setAdditionalProperty("f:data", Map.of("f:key", Map.of()));
+        applyFields.setAdditionalProperty("f:metadata", Map.of("f:labels", Map.of("f:app", Map.of())));
+        FieldsV1 updateFields = new FieldsV1();
+        updateFields.setAdditionalProperty("f:metadata", Map.of("f:labels", Map.of("f:team", Map.of())));
+
+        return new ConfigMapBuilder(desired("value"))
+                .editMetadata()
+                .addToLabels("team", "security")
+                .withResourceVersion("1")
+                .withUid("uid")
+                .addToManagedFields(new ManagedFieldsEntryBuilder()
+                        .withManager(Constants.FIELD_MANAGER)
+                        .withOperation(SSABasedGenericKubernetesResourceMatcher.APPLY_OPERATION)
+                        .withApiVersion("v1")
+                        .withFieldsType("FieldsV1")
+                        .withFieldsV1(applyFields)
+                        .build()
+                )
+                .addToManagedFields(new ManagedFieldsEntryBuilder()
+                        .withManager("kubectl-label")
+                        .withOperation("Update")
+                        .withApiVersion("v1")
+                        .withFieldsType("FieldsV1")
+                        .withFieldsV1(updateFields)
+                        .build()
+                )
+                .endMetadata()
+                .build();
+    }
+}